@@ -0,0 +1,127 @@
+package me.kecker.jsonparser.benchmark;
+
+import me.kecker.jsonparser.JsonBinder;
+import me.kecker.jsonparser.JsonCodec;
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonParser;
+import me.kecker.jsonparser.JsonReader;
+import me.kecker.jsonparser.Utf8JsonInput;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding the records of {@link Payload#writeRecord} with {@link JsonBinder} and with the codecs generated for
+ * {@link JsonCodec}, compared with parsing them into a tree and mapping the tree to the same records by hand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBinderBenchmark {
+
+    @JsonCodec
+    public record Address(String street, String city, String zip) {
+    }
+
+    @JsonCodec
+    public record Person(long id, String name, boolean active, double score, List<String> tags, Address address,
+                         String manager) {
+    }
+
+    @Param({"SMALL_DOCUMENT", "LARGE_DOCUMENT"})
+    public Payload payload;
+
+    private byte[] utf8;
+    private int byteCount;
+    private final JsonBinder<Person> binder = JsonBinder.of(Person.class);
+
+    @Setup
+    public void setUp() {
+        utf8 = payload.utf8();
+        byteCount = utf8.length;
+    }
+
+    @Benchmark
+    public Object bind(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        if (payload == Payload.SMALL_DOCUMENT) {
+            return binder.parse(utf8);
+        }
+        JsonReader reader = new JsonReader(new Utf8JsonInput(utf8));
+        List<Person> people = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            people.add(binder.read(reader));
+        }
+        reader.endArray();
+        return people;
+    }
+
+    @Benchmark
+    public Object codec(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        if (payload == Payload.SMALL_DOCUMENT) {
+            return JsonBinderBenchmark_PersonJsonCodec.parse(utf8);
+        }
+        JsonReader reader = new JsonReader(new Utf8JsonInput(utf8));
+        List<Person> people = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            people.add(JsonBinderBenchmark_PersonJsonCodec.read(reader));
+        }
+        reader.endArray();
+        return people;
+    }
+
+    @Benchmark
+    public Object parseAndMap(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        JsonElement document = JsonParser.parse(utf8);
+        if (payload == Payload.SMALL_DOCUMENT) {
+            return person((JsonElement.JsonObject) document);
+        }
+        List<JsonElement> elements = ((JsonElement.JsonArray) document).elements();
+        List<Person> people = new ArrayList<>(elements.size());
+        for (JsonElement element : elements) {
+            people.add(person((JsonElement.JsonObject) element));
+        }
+        return people;
+    }
+
+    private static Person person(JsonElement.JsonObject object) {
+        List<JsonElement> tagElements = ((JsonElement.JsonArray) object.get("tags")).elements();
+        List<String> tags = new ArrayList<>(tagElements.size());
+        for (JsonElement tag : tagElements) {
+            tags.add(((JsonElement.JsonString) tag).value());
+        }
+        JsonElement.JsonObject address = (JsonElement.JsonObject) object.get("address");
+        JsonElement manager = object.get("manager");
+        return new Person(
+                ((JsonElement.JsonNumber) object.get("id")).longValue(),
+                ((JsonElement.JsonString) object.get("name")).value(),
+                ((JsonElement.JsonBoolean) object.get("active")).value(),
+                ((JsonElement.JsonNumber) object.get("score")).doubleValue(),
+                tags,
+                new Address(
+                        ((JsonElement.JsonString) address.get("street")).value(),
+                        ((JsonElement.JsonString) address.get("city")).value(),
+                        ((JsonElement.JsonString) address.get("zip")).value()),
+                manager instanceof JsonElement.JsonString string ? string.value() : null);
+    }
+}
@@ -0,0 +1,81 @@
+package me.kecker.jsonparser.benchmark;
+
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonLines;
+import me.kecker.jsonparser.JsonParser;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a 4 MB newline-delimited file of {@link Payload#LARGE_DOCUMENT} records, once with {@link JsonLines} and once
+ * by reading lines with a {@link BufferedReader} and parsing each of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonLinesBenchmark {
+
+    private static final JsonLines PARALLEL = JsonLines.DEFAULT.withParallel(true);
+
+    private byte[] lines;
+    private int byteCount;
+
+    @Setup
+    public void setUp() {
+        StringBuilder out = new StringBuilder();
+        Random random = new Random(0x5EED_1234L);
+        for (int i = 0; out.length() < 4 * 1024 * 1024; i++) {
+            Payload.writeRecord(out, random, i);
+            out.append('\n');
+        }
+        lines = out.toString().getBytes(StandardCharsets.UTF_8);
+        byteCount = lines.length;
+    }
+
+    @Benchmark
+    public long stream(ThroughputCounter counter) {
+        counter.consumed(byteCount);
+        return JsonLines.DEFAULT.stream(new ByteArrayInputStream(lines)).count();
+    }
+
+    @Benchmark
+    public long parallelStream(ThroughputCounter counter) {
+        counter.consumed(byteCount);
+        return PARALLEL.stream(new ByteArrayInputStream(lines)).count();
+    }
+
+    @Benchmark
+    public long parseLineByLine(ThroughputCounter counter) throws IOException, JsonParseException {
+        counter.consumed(byteCount);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(lines), StandardCharsets.UTF_8));
+        long count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            JsonElement element = JsonParser.parse(line);
+            if (element != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,77 @@
+package me.kecker.jsonparser.benchmark;
+
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonParser;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member lookup in parsed objects compared to the same members in a {@link HashMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonObjectBenchmark {
+
+    @Param({"4", "8", "16", "64"})
+    public int memberCount;
+
+    private String json;
+    private JsonElement.JsonObject object;
+    private Map<String, JsonElement> hashMap;
+    private String[] names;
+
+    @Setup
+    public void setUp() throws JsonParseException {
+        StringBuilder builder = new StringBuilder("{");
+        names = new String[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("\"field").append(i).append("\":").append(i);
+            // equal to the parsed names, but not the same instances, like names in calling code
+            names[i] = new String("field" + i);
+        }
+        json = builder.append('}').toString();
+        object = (JsonElement.JsonObject) JsonParser.parse(json);
+        hashMap = new HashMap<>(object.members());
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(object.get(name));
+        }
+    }
+
+    @Benchmark
+    public void lookupHashMap(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(hashMap.get(name));
+        }
+    }
+
+    @Benchmark
+    public JsonElement parse() throws JsonParseException {
+        return JsonParser.parse(json);
+    }
+}
@@ -0,0 +1,79 @@
+package me.kecker.jsonparser.benchmark;
+
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonParseState;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the individual {@link JsonParseState} productions on inputs that consist of exactly one such production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonParseStateBenchmark {
+
+    private String plainString;
+    private String escapedString;
+    private String integer;
+    private String decimal;
+    private String object;
+    private String array;
+
+    @Setup
+    public void setUp() {
+        plainString = "\"The quick brown fox jumps over the lazy dog, again and again and again.\"";
+        escapedString = "\"Tab\\tnewline\\nquote\\\"backslash\\\\unicode\\u00e9\\u20ACsurrogates\\ud83d\\ude00\"";
+        integer = "-1234567890123";
+        decimal = "-12345.678901e-7";
+        StringBuilder out = new StringBuilder();
+        Payload.writeRecord(out, new Random(42), 7);
+        object = out.toString();
+        array = "[1,\"two\",3.0,true,false,null,{},[],\"eight\",9]";
+    }
+
+    @Benchmark
+    public JsonElement.JsonString plainString() throws JsonParseException {
+        return new JsonParseState(plainString).string();
+    }
+
+    @Benchmark
+    public JsonElement.JsonString escapedString() throws JsonParseException {
+        return new JsonParseState(escapedString).string();
+    }
+
+    @Benchmark
+    public JsonElement.JsonNumber integer() throws JsonParseException {
+        return new JsonParseState(integer).number();
+    }
+
+    @Benchmark
+    public JsonElement.JsonNumber decimal() throws JsonParseException {
+        return new JsonParseState(decimal).number();
+    }
+
+    @Benchmark
+    public JsonElement.JsonObject object() throws JsonParseException {
+        return new JsonParseState(object).object();
+    }
+
+    @Benchmark
+    public JsonElement.JsonArray array() throws JsonParseException {
+        return new JsonParseState(array).array();
+    }
+}
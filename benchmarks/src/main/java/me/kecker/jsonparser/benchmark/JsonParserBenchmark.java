@@ -0,0 +1,224 @@
+package me.kecker.jsonparser.benchmark;
+
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonParseOptions;
+import me.kecker.jsonparser.JsonParser;
+import me.kecker.jsonparser.JsonParserPool;
+import me.kecker.jsonparser.JsonPushParser;
+import me.kecker.jsonparser.JsonTape;
+import me.kecker.jsonparser.JsonTreeBuilder;
+import me.kecker.jsonparser.JsonVisitor;
+import me.kecker.jsonparser.ReusableJsonParser;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput of the {@link JsonParser} entry points for every {@link Payload} shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonParserBenchmark {
+
+    private static final JsonParseOptions LAZY_NUMBERS = JsonParseOptions.DEFAULT.withLazyNumbers(true);
+    private static final JsonParseOptions PARALLEL = JsonParseOptions.DEFAULT.withParallel(true);
+    private static final JsonParseOptions STRUCTURAL_INDEX = JsonParseOptions.DEFAULT.withStructuralIndex(true);
+    private static final int PUSH_CHUNK_SIZE = 1460;
+
+    @Param
+    public Payload payload;
+
+    private String json;
+    private byte[] utf8;
+    private int byteCount;
+    private Path file;
+    private final ReusableJsonParser reusableParser = new ReusableJsonParser();
+    private final JsonParserPool pool = new JsonParserPool();
+
+    @Setup
+    public void setUp() throws IOException {
+        json = payload.json();
+        utf8 = json.getBytes(StandardCharsets.UTF_8);
+        byteCount = utf8.length;
+        file = Files.createTempFile("payload", ".json");
+        Files.write(file, utf8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public JsonElement parse(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        return JsonParser.parse(json);
+    }
+
+    @Benchmark
+    public JsonElement parseBytes(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        return JsonParser.parse(utf8);
+    }
+
+    /**
+     * Scans the document for its tokens, quotes and escapes in a first pass, see {@link JsonParseOptions#structuralIndex()}.
+     */
+    @Benchmark
+    public JsonElement parseBytesStructuralIndex(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        return JsonParser.parse(utf8, STRUCTURAL_INDEX);
+    }
+
+    @Benchmark
+    public int validate(ThroughputCounter counter) {
+        counter.consumed(byteCount);
+        return JsonParser.validate(json);
+    }
+
+    @Benchmark
+    public int validateBytes(ThroughputCounter counter) {
+        counter.consumed(byteCount);
+        return JsonParser.validate(utf8);
+    }
+
+    @Benchmark
+    public JsonElement parseReusable(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        return reusableParser.parse(json);
+    }
+
+    @Benchmark
+    public JsonElement parsePooled(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        return pool.parse(json);
+    }
+
+    @Benchmark
+    public JsonElement parseWithLazyNumbers(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        return JsonParser.parse(json, LAZY_NUMBERS);
+    }
+
+    @Benchmark
+    public JsonTape parseTape(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        return JsonParser.parseTape(json);
+    }
+
+    /**
+     * Splits root arrays across the common pool, whose size can be set with
+     * {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism}.
+     */
+    @Benchmark
+    public JsonElement parseParallel(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        return JsonParser.parse(json, PARALLEL);
+    }
+
+    @Benchmark
+    public JsonElement parseFile(ThroughputCounter counter) throws JsonParseException, IOException {
+        counter.consumed(byteCount);
+        return JsonParser.parse(file);
+    }
+
+    @Benchmark
+    public JsonElement parseFileParallel(ThroughputCounter counter) throws JsonParseException, IOException {
+        counter.consumed(byteCount);
+        return JsonParser.parse(file, PARALLEL);
+    }
+
+    /**
+     * The usual way of parsing a file without a file-based entry point.
+     */
+    @Benchmark
+    public JsonElement parseFileAsString(ThroughputCounter counter) throws JsonParseException, IOException {
+        counter.consumed(byteCount);
+        return JsonParser.parse(Files.readString(file));
+    }
+
+    @Benchmark
+    public JsonElement parseStream(ThroughputCounter counter) throws JsonParseException, IOException {
+        counter.consumed(byteCount);
+        return JsonParser.parse(new ByteArrayInputStream(utf8));
+    }
+
+    /**
+     * Feeds the document in chunks of the size of a TCP segment, as received by non-blocking I/O.
+     */
+    @Benchmark
+    public JsonElement parsePushed(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        JsonPushParser parser = new JsonPushParser(builder);
+        for (int offset = 0; offset < utf8.length; offset += PUSH_CHUNK_SIZE) {
+            parser.feed(ByteBuffer.wrap(utf8, offset, Math.min(PUSH_CHUNK_SIZE, utf8.length - offset)));
+        }
+        parser.end();
+        return builder.result();
+    }
+
+    @Benchmark
+    public void parseWithVisitor(ThroughputCounter counter, Blackhole blackhole) throws JsonParseException {
+        counter.consumed(byteCount);
+        JsonParser.parse(json, consumingVisitor(blackhole));
+    }
+
+    /**
+     * Leaves out building the tree, which dominates {@link #parseBytes}, to show the cost of scanning the bytes.
+     */
+    @Benchmark
+    public void parseBytesWithVisitor(ThroughputCounter counter, Blackhole blackhole) throws JsonParseException {
+        counter.consumed(byteCount);
+        JsonParser.parse(utf8, consumingVisitor(blackhole), JsonParseOptions.DEFAULT);
+    }
+
+    @Benchmark
+    public void parseBytesWithVisitorStructuralIndex(ThroughputCounter counter, Blackhole blackhole)
+            throws JsonParseException {
+        counter.consumed(byteCount);
+        JsonParser.parse(utf8, consumingVisitor(blackhole), STRUCTURAL_INDEX);
+    }
+
+    private static JsonVisitor consumingVisitor(Blackhole blackhole) {
+        return new JsonVisitor() {
+            @Override
+            public void key(String key) {
+                blackhole.consume(key);
+            }
+
+            @Override
+            public void string(String value) {
+                blackhole.consume(value);
+            }
+
+            @Override
+            public void number(JsonElement.JsonNumber value) {
+                blackhole.consume(value);
+            }
+        };
+    }
+}
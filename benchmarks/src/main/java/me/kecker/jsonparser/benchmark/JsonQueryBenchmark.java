@@ -0,0 +1,95 @@
+package me.kecker.jsonparser.benchmark;
+
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonParser;
+import me.kecker.jsonparser.JsonPath;
+import me.kecker.jsonparser.JsonQuery;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selecting values from a 1 MB event batch with {@link JsonQuery}, compared with parsing the batch and navigating the
+ * tree with {@link JsonPath#evaluate}. The batch has a small header, an array of event records and a trailer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonQueryBenchmark {
+
+    public enum Paths {
+        /** Definite paths in the header, so that the query stops reading early. */
+        HEADER("/type", "/meta/source"),
+        /** A definite path behind the events, which have to be skipped. */
+        TRAILER("/checksum"),
+        /** A member of every event. */
+        EVENT_IDS("$.events[*].id");
+
+        private final String[] expressions;
+
+        Paths(String... expressions) {
+            this.expressions = expressions;
+        }
+    }
+
+    @Param
+    public Paths paths;
+
+    private byte[] utf8;
+    private int byteCount;
+    private JsonQuery query;
+    private List<JsonPath> compiled;
+
+    @Setup
+    public void setUp() {
+        StringBuilder out = new StringBuilder("{\"type\":\"batch\",\"meta\":{\"source\":\"sensor-17\",\"version\":3},\"events\":[");
+        Random random = new Random(0x5EED_1234L);
+        for (int i = 0; out.length() < 1024 * 1024; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Payload.writeRecord(out, random, i);
+        }
+        out.append("],\"checksum\":\"").append(Integer.toHexString(random.nextInt())).append("\"}");
+        utf8 = out.toString().getBytes(StandardCharsets.UTF_8);
+        byteCount = utf8.length;
+        query = JsonQuery.of(paths.expressions);
+        compiled = query.paths();
+    }
+
+    @Benchmark
+    public Object select(ThroughputCounter counter) throws JsonParseException {
+        counter.consumed(byteCount);
+        return query.select(utf8);
+    }
+
+    @Benchmark
+    public void parseAndEvaluate(ThroughputCounter counter, Blackhole blackhole) throws JsonParseException {
+        counter.consumed(byteCount);
+        JsonElement document = JsonParser.parse(utf8);
+        List<List<JsonElement>> results = new ArrayList<>(compiled.size());
+        for (JsonPath path : compiled) {
+            results.add(path.evaluate(document));
+        }
+        blackhole.consume(results);
+    }
+}
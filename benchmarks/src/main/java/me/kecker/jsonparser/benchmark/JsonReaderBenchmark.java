@@ -0,0 +1,68 @@
+package me.kecker.jsonparser.benchmark;
+
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonParser;
+import me.kecker.jsonparser.JsonReader;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracting a single field from every record of {@link Payload#LARGE_DOCUMENT}, once with the pull parser and once by
+ * navigating the fully parsed tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonReaderBenchmark {
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        json = Payload.LARGE_DOCUMENT.json();
+    }
+
+    @Benchmark
+    public long sumIdsWithReader() throws JsonParseException {
+        JsonReader reader = new JsonReader(json);
+        long sum = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("id")) {
+                    sum += reader.nextLong();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+        return sum;
+    }
+
+    @Benchmark
+    public long sumIdsFromTree() throws JsonParseException {
+        long sum = 0;
+        for (JsonElement record : ((JsonElement.JsonArray) JsonParser.parse(json)).elements()) {
+            JsonElement.JsonNumber id = (JsonElement.JsonNumber) ((JsonElement.JsonObject) record).get("id");
+            sum += id.longValueExact();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,64 @@
+package me.kecker.jsonparser.benchmark;
+
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonParser;
+import me.kecker.jsonparser.JsonWriter;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing every {@link Payload} shape with {@link JsonWriter}, and parsing plus serializing it again, to be compared
+ * with {@link JsonParserBenchmark#parseBytes}. The writer and its buffer are reused, writing one line per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonWriterBenchmark {
+
+    @Param
+    public Payload payload;
+
+    private byte[] utf8;
+    private int byteCount;
+    private JsonElement element;
+    private final JsonWriter writer = new JsonWriter(OutputStream.nullOutputStream());
+
+    @Setup
+    public void setUp() throws JsonParseException {
+        utf8 = payload.json().getBytes(StandardCharsets.UTF_8);
+        byteCount = utf8.length;
+        element = JsonParser.parse(utf8);
+    }
+
+    @Benchmark
+    public void write(ThroughputCounter counter) throws IOException {
+        counter.consumed(byteCount);
+        writer.write(element);
+        writer.flush();
+    }
+
+    @Benchmark
+    public void roundTrip(ThroughputCounter counter) throws IOException, JsonParseException {
+        counter.consumed(byteCount);
+        writer.write(JsonParser.parse(utf8));
+        writer.flush();
+    }
+}
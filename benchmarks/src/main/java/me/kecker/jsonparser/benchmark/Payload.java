@@ -0,0 +1,201 @@
+package me.kecker.jsonparser.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Deterministically generated JSON documents covering the shapes the parser sees in practice.
+ */
+public enum Payload {
+
+    /** Objects and arrays nested 500 levels deep, comparable to i_structure_500_nested_arrays. */
+    DEEP_NESTING {
+        @Override
+        void write(StringBuilder out, Random random) {
+            int depth = 500;
+            for (int i = 0; i < depth; i++) {
+                out.append(i % 2 == 0 ? "{\"level\":" : "[");
+            }
+            out.append(random.nextInt(1000));
+            for (int i = depth - 1; i >= 0; i--) {
+                out.append(i % 2 == 0 ? '}' : ']');
+            }
+        }
+    },
+
+    /** A single record of about 300 bytes, the typical body of an API request. */
+    SMALL_DOCUMENT {
+        @Override
+        void write(StringBuilder out, Random random) {
+            writeRecord(out, random, 1);
+        }
+    },
+
+    /** A single object with 10,000 members. */
+    WIDE_OBJECT {
+        @Override
+        void write(StringBuilder out, Random random) {
+            out.append('{');
+            for (int i = 0; i < 10_000; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append("\"field").append(i).append("\":");
+                writeScalar(out, random);
+            }
+            out.append('}');
+        }
+    },
+
+    /** An array of 100,000 integers, decimals and exponent notations. */
+    NUMBER_ARRAY {
+        @Override
+        void write(StringBuilder out, Random random) {
+            out.append('[');
+            for (int i = 0; i < 100_000; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeNumber(out, random);
+            }
+            out.append(']');
+        }
+    },
+
+    /** An array of 10,000 strings in which roughly every fourth character is an escape sequence. */
+    ESCAPED_STRINGS {
+        private static final String[] ESCAPES = {"\\n", "\\t", "\\\"", "\\\\", "\\/", "\\u00e9", "\\u20AC", "\\ud83d\\ude00"};
+
+        @Override
+        void write(StringBuilder out, Random random) {
+            out.append('[');
+            for (int i = 0; i < 10_000; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append('"');
+                for (int j = 0; j < 40; j++) {
+                    if (random.nextInt(4) == 0) {
+                        out.append(ESCAPES[random.nextInt(ESCAPES.length)]);
+                    } else {
+                        out.append((char) ('a' + random.nextInt(26)));
+                    }
+                }
+                out.append('"');
+            }
+            out.append(']');
+        }
+    },
+
+    /** A multi-megabyte array of records, the typical shape of an export file. */
+    LARGE_DOCUMENT {
+        @Override
+        void write(StringBuilder out, Random random) {
+            out.append('[');
+            for (int i = 0; out.length() < 4 * 1024 * 1024; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeRecord(out, random, i);
+            }
+            out.append(']');
+        }
+    },
+
+    /** The records of a 2 MB record array, indented by two spaces per level with one member per line. */
+    PRETTY_PRINTED {
+        @Override
+        void write(StringBuilder out, Random random) {
+            StringBuilder compact = new StringBuilder("[");
+            for (int i = 0; compact.length() < 2 * 1024 * 1024; i++) {
+                if (i > 0) {
+                    compact.append(',');
+                }
+                writeRecord(compact, random, i);
+            }
+            compact.append(']');
+            prettyPrint(compact, out);
+        }
+    };
+
+    private static final long SEED = 0x5EED_1234L;
+
+    abstract void write(StringBuilder out, Random random);
+
+    public String json() {
+        StringBuilder out = new StringBuilder();
+        write(out, new Random(SEED));
+        return out.toString();
+    }
+
+    public byte[] utf8() {
+        return json().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Re-formats compact JSON without whitespace in the style of common pretty printers.
+     */
+    static void prettyPrint(CharSequence compact, StringBuilder out) {
+        int indentation = 0;
+        boolean inString = false;
+        for (int i = 0; i < compact.length(); i++) {
+            char c = compact.charAt(i);
+            if (inString) {
+                out.append(c);
+                if (c == '\\') {
+                    out.append(compact.charAt(++i));
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    out.append(c);
+                }
+                case '{', '[' -> {
+                    out.append(c).append('\n');
+                    indentation++;
+                    out.append("  ".repeat(indentation));
+                }
+                case '}', ']' -> {
+                    indentation--;
+                    out.append('\n').append("  ".repeat(indentation)).append(c);
+                }
+                case ',' -> out.append(",\n").append("  ".repeat(indentation));
+                case ':' -> out.append(": ");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    static void writeRecord(StringBuilder out, Random random, int id) {
+        out.append("{\"id\":").append(id)
+                .append(",\"name\":\"user-").append(Integer.toHexString(random.nextInt())).append('"')
+                .append(",\"active\":").append(random.nextBoolean())
+                .append(",\"score\":");
+        writeNumber(out, random);
+        out.append(",\"tags\":[\"alpha\",\"beta\",\"gamma\"]")
+                .append(",\"address\":{\"street\":\"Main Street ").append(random.nextInt(500))
+                .append("\",\"city\":\"Springfield\",\"zip\":\"").append(10000 + random.nextInt(90000))
+                .append("\"},\"manager\":null}");
+    }
+
+    static void writeScalar(StringBuilder out, Random random) {
+        switch (random.nextInt(4)) {
+            case 0 -> writeNumber(out, random);
+            case 1 -> out.append("\"value-").append(random.nextInt(100_000)).append('"');
+            case 2 -> out.append(random.nextBoolean());
+            default -> out.append("null");
+        }
+    }
+
+    static void writeNumber(StringBuilder out, Random random) {
+        switch (random.nextInt(3)) {
+            case 0 -> out.append(random.nextInt());
+            case 1 -> out.append(random.nextInt(100_000)).append('.').append(random.nextInt(1000));
+            default -> out.append(random.nextInt(1000)).append('.').append(random.nextInt(100)).append("e-").append(random.nextInt(20));
+        }
+    }
+}
@@ -0,0 +1,640 @@
+package me.kecker.jsonparser.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the source of the codec of one record.
+ * <p>
+ * A codec is a final class with static methods only. Its {@code read} method keeps every component in a local variable
+ * of the component's own type and dispatches on member names with a {@code switch} on strings, which the compiler turns
+ * into a switch on their hash codes followed by a single {@link String#equals}. Members without a component are skipped
+ * without decoding them. Enums are read with a {@code switch} on their constant names and nested records with the codec
+ * of their own, so neither reflection nor method handles are involved at runtime.
+ */
+final class CodecGenerator {
+
+    private static final String CODEC_SUFFIX = "JsonCodec";
+
+    private static final Map<String, Kind> DECLARED_KINDS = Map.of(
+            "java.lang.Boolean", Kind.BOOLEAN,
+            "java.lang.Byte", Kind.BYTE,
+            "java.lang.Short", Kind.SHORT,
+            "java.lang.Integer", Kind.INT,
+            "java.lang.Long", Kind.LONG,
+            "java.lang.Float", Kind.FLOAT,
+            "java.lang.Double", Kind.DOUBLE,
+            "java.lang.String", Kind.STRING,
+            "java.math.BigDecimal", Kind.BIG_DECIMAL,
+            "java.math.BigInteger", Kind.BIG_INTEGER);
+
+    private static final Map<String, String> LIBRARY_HELPERS = new LinkedHashMap<>();
+
+    static {
+        LIBRARY_HELPERS.put("nextIsNull", """
+                    private static boolean nextIsNull(JsonReader reader) throws JsonParseException {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.nextNull();
+                            return true;
+                        }
+                        return false;
+                    }
+                """);
+        LIBRARY_HELPERS.put("readBoolean", """
+                    private static boolean readBoolean(JsonReader reader, String target) throws JsonParseException {
+                        expect(reader, JsonToken.BOOLEAN, target);
+                        return reader.nextBoolean();
+                    }
+                """);
+        LIBRARY_HELPERS.put("readInteger", """
+                    private static long readInteger(JsonReader reader, long min, long max, String target) throws JsonParseException {
+                        expect(reader, JsonToken.NUMBER, target);
+                        long value;
+                        try {
+                            value = reader.nextLong();
+                        } catch (NumberFormatException e) {
+                            throw new JsonBindingException(e.getMessage() + " Expected an integer for " + target);
+                        }
+                        if (value < min || value > max) {
+                            throw new JsonBindingException("Number " + value + " is out of range for " + target);
+                        }
+                        return value;
+                    }
+                """);
+        LIBRARY_HELPERS.put("readFloat", """
+                    private static float readFloat(JsonReader reader, String target) throws JsonParseException {
+                        expect(reader, JsonToken.NUMBER, target);
+                        return reader.nextFloat();
+                    }
+                """);
+        LIBRARY_HELPERS.put("readDouble", """
+                    private static double readDouble(JsonReader reader, String target) throws JsonParseException {
+                        expect(reader, JsonToken.NUMBER, target);
+                        return reader.nextDouble();
+                    }
+                """);
+        LIBRARY_HELPERS.put("readString", """
+                    private static String readString(JsonReader reader, String target) throws JsonParseException {
+                        expect(reader, JsonToken.STRING, target);
+                        return reader.nextString();
+                    }
+                """);
+        LIBRARY_HELPERS.put("readBigDecimal", """
+                    private static BigDecimal readBigDecimal(JsonReader reader, String target) throws JsonParseException {
+                        expect(reader, JsonToken.NUMBER, target);
+                        return reader.nextNumber().value();
+                    }
+                """);
+        LIBRARY_HELPERS.put("readBigInteger", """
+                    private static BigInteger readBigInteger(JsonReader reader, String target) throws JsonParseException {
+                        expect(reader, JsonToken.NUMBER, target);
+                        JsonElement.JsonNumber number = reader.nextNumber();
+                        try {
+                            return number.value().toBigIntegerExact();
+                        } catch (ArithmeticException e) {
+                            throw new JsonBindingException("Expected an integer for " + target + " but was " + number);
+                        }
+                    }
+                """);
+        LIBRARY_HELPERS.put("expect", """
+                    private static void expect(JsonReader reader, JsonToken expected, String target) throws JsonParseException {
+                        JsonToken actual = reader.peek();
+                        if (actual != expected) {
+                            throw new JsonBindingException("Expected " + expected + " for " + target + " but was " + actual);
+                        }
+                    }
+                """);
+    }
+
+    private final Elements elements;
+    private final TypeElement record;
+    private final String packageName;
+    private final String codecName;
+
+    private final Set<String> usedLibraryHelpers = new HashSet<>();
+    /**
+     * Generated helpers for enums and lists by the name of the type they read, and their sources by helper name.
+     */
+    private final Map<String, String> typeHelpers = new HashMap<>();
+    private final Map<String, String> typeHelperSources = new LinkedHashMap<>();
+
+    CodecGenerator(ProcessingEnvironment processingEnvironment, TypeElement record) {
+        this.elements = processingEnvironment.getElementUtils();
+        this.record = record;
+        this.packageName = elements.getPackageOf(record).getQualifiedName().toString();
+        this.codecName = codecName(record);
+    }
+
+    /**
+     * @return the name of the codec, which is generated into the package of the record
+     */
+    static String codecName(TypeElement record) {
+        StringBuilder name = new StringBuilder(record.getSimpleName());
+        for (Element enclosing = record.getEnclosingElement(); enclosing instanceof TypeElement;
+             enclosing = enclosing.getEnclosingElement()) {
+            name.insert(0, '_').insert(0, enclosing.getSimpleName());
+        }
+        return name.append(CODEC_SUFFIX).toString();
+    }
+
+    String qualifiedCodecName() {
+        return packageName.isEmpty() ? codecName : packageName + "." + codecName;
+    }
+
+    /**
+     * @return the source of the codec
+     * @throws UnsupportedTypeException if a component has a type that cannot be read or written
+     */
+    String generate() {
+        String recordName = record.getQualifiedName().toString();
+        String simpleName = record.getSimpleName().toString();
+        List<? extends RecordComponentElement> components = record.getRecordComponents();
+
+        StringBuilder read = new StringBuilder();
+        StringBuilder write = new StringBuilder();
+        StringBuilder arguments = new StringBuilder();
+        StringBuilder locals = new StringBuilder();
+        for (RecordComponentElement component : components) {
+            String name = component.getSimpleName().toString();
+            TypeMirror type = component.asType();
+            String description = "component '" + name + "' of " + simpleName;
+            checkSupported(type, component, description);
+            String target = literal(description);
+            String local = name + "Value";
+
+            locals.append("        ").append(typeName(type)).append(' ').append(local).append(" = ")
+                    .append(defaultValue(type)).append(";\n");
+            read.append("                case ").append(literal(name)).append(" -> ").append(local).append(" = ")
+                    .append(readNullable(type, target)).append(";\n");
+            if (!arguments.isEmpty()) {
+                arguments.append(", ");
+            }
+            arguments.append(local);
+
+            write.append("            writer.key(").append(literal(name)).append(");\n");
+            // var keeps wildcards of list types
+            write.append("            var ").append(local).append(" = value.")
+                    .append(name).append("();\n");
+            writeValue(write, "            ", type, local, 0);
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("""
+                import me.kecker.jsonparser.JsonElement;
+                import me.kecker.jsonparser.JsonParseOptions;
+                import me.kecker.jsonparser.JsonReader;
+                import me.kecker.jsonparser.JsonToken;
+                import me.kecker.jsonparser.JsonWriter;
+                import me.kecker.jsonparser.StringJsonInput;
+                import me.kecker.jsonparser.Utf8JsonInput;
+                import me.kecker.jsonparser.exceptions.JsonBindingException;
+                import me.kecker.jsonparser.exceptions.JsonParseException;
+
+                import java.io.ByteArrayOutputStream;
+                import java.io.IOException;
+                import java.io.UncheckedIOException;
+                import java.math.BigDecimal;
+                import java.math.BigInteger;
+                import java.nio.charset.StandardCharsets;
+                import java.util.ArrayList;
+                import java.util.Collections;
+
+                """);
+        source.append("/**\n")
+                .append(" * Reads and writes {@link ").append(recordName).append("} records as JSON objects.\n")
+                .append(" * <p>\n")
+                .append(" * Generated by {@code me.kecker.jsonparser.processor.JsonCodecProcessor}.\n")
+                .append(" */\n");
+        source.append("@SuppressWarnings(\"all\")\n");
+        source.append("public final class ").append(codecName).append(" {\n\n");
+        source.append("""
+                    private static final JsonParseOptions OPTIONS = JsonParseOptions.DEFAULT.withKeyCacheSize(0);
+
+                """);
+        source.append("    private ").append(codecName).append("() {\n    }\n\n");
+
+        source.append("    /**\n     * @return the record described by the document\n     */\n");
+        source.append("    public static ").append(recordName).append(" parse(String source) throws JsonParseException {\n")
+                .append("        return parse(new JsonReader(new StringJsonInput(source), OPTIONS));\n")
+                .append("    }\n\n");
+        source.append("    /**\n     * @return the record described by the UTF-8 encoded document\n     */\n");
+        source.append("    public static ").append(recordName).append(" parse(byte[] source) throws JsonParseException {\n")
+                .append("        return parse(new JsonReader(new Utf8JsonInput(source), OPTIONS));\n")
+                .append("    }\n\n");
+        source.append("    private static ").append(recordName).append(" parse(JsonReader reader) throws JsonParseException {\n")
+                .append("        ").append(recordName).append(" result = read(reader);\n")
+                .append("        // rejects anything but whitespace after the object\n")
+                .append("        reader.peek();\n")
+                .append("        return result;\n")
+                .append("    }\n\n");
+
+        source.append("""
+                    /**
+                     * Reads the next value of the reader, which has to be an object or {@code null}.
+                     *
+                     * @return the record, or null if the value is {@code null}
+                     */
+                """);
+        source.append("    public static ").append(recordName).append(" read(JsonReader reader) throws JsonParseException {\n");
+        source.append("        if (nextIsNull(reader)) {\n            return null;\n        }\n");
+        source.append("        expect(reader, JsonToken.BEGIN_OBJECT, ").append(literal(simpleName)).append(");\n");
+        source.append(locals);
+        source.append("        reader.beginObject();\n");
+        source.append("        while (reader.hasNext()) {\n");
+        source.append("            switch (reader.nextName()) {\n");
+        source.append(read);
+        source.append("                default -> reader.skipValue();\n");
+        source.append("            }\n");
+        source.append("        }\n");
+        source.append("        reader.endObject();\n");
+        source.append("        return new ").append(recordName).append('(').append(arguments).append(");\n");
+        source.append("    }\n\n");
+
+        source.append("""
+                    /**
+                     * Writes the record as the next value of the writer, or {@code null} if it is null.
+                     */
+                """);
+        source.append("    public static void write(JsonWriter writer, ").append(recordName).append(" value) throws IOException {\n");
+        source.append("        if (value == null) {\n            writer.nullValue();\n            return;\n        }\n");
+        source.append("        try {\n");
+        source.append("            writer.startObject();\n");
+        source.append(write);
+        source.append("            writer.endObject();\n");
+        source.append("        } catch (UncheckedIOException e) {\n");
+        source.append("            throw e.getCause();\n");
+        source.append("        }\n");
+        source.append("    }\n\n");
+
+        source.append("    /**\n     * @return the record as compact JSON\n     */\n");
+        source.append("    public static String toJson(").append(recordName).append(" value) {\n");
+        source.append("""
+                        ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        try (JsonWriter writer = new JsonWriter(out)) {
+                            write(writer, value);
+                        } catch (IOException e) {
+                            // a ByteArrayOutputStream does not throw
+                            throw new UncheckedIOException(e);
+                        }
+                        return out.toString(StandardCharsets.UTF_8);
+                    }
+                """);
+
+        useLibraryHelper("nextIsNull");
+        useLibraryHelper("expect");
+        for (String helper : typeHelperSources.values()) {
+            source.append('\n').append(helper);
+        }
+        for (String helper : LIBRARY_HELPERS.keySet()) {
+            if (usedLibraryHelpers.contains(helper)) {
+                source.append('\n').append(LIBRARY_HELPERS.get(helper));
+            }
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * @return an expression reading a value of the type, which may be {@code null} unless the type is primitive
+     */
+    private String readNullable(TypeMirror type, String target) {
+        Kind kind = kind(type);
+        if (type.getKind().isPrimitive() || kind == Kind.RECORD || kind == Kind.ELEMENT) {
+            // records read null themselves, and null is a JsonElement of its own
+            return readValue(type, target);
+        }
+        useLibraryHelper("nextIsNull");
+        String value = readValue(type, target);
+        return "nextIsNull(reader) ? null : " + switch (kind) {
+            case BOOLEAN -> "Boolean.valueOf(" + value + ")";
+            case BYTE -> "Byte.valueOf(" + value + ")";
+            case SHORT -> "Short.valueOf(" + value + ")";
+            case INT -> "Integer.valueOf(" + value + ")";
+            case LONG -> "Long.valueOf(" + value + ")";
+            case FLOAT -> "Float.valueOf(" + value + ")";
+            case DOUBLE -> "Double.valueOf(" + value + ")";
+            default -> value;
+        };
+    }
+
+    /**
+     * @return an expression reading a non-null value of the type
+     */
+    private String readValue(TypeMirror type, String target) {
+        return switch (kind(type)) {
+            case BOOLEAN -> libraryCall("readBoolean", target);
+            case BYTE -> "(byte) " + readInteger("Byte", target);
+            case SHORT -> "(short) " + readInteger("Short", target);
+            case INT -> "(int) " + readInteger("Integer", target);
+            case LONG -> readInteger("Long", target);
+            case FLOAT -> libraryCall("readFloat", target);
+            case DOUBLE -> libraryCall("readDouble", target);
+            case STRING -> libraryCall("readString", target);
+            case BIG_DECIMAL -> libraryCall("readBigDecimal", target);
+            case BIG_INTEGER -> libraryCall("readBigInteger", target);
+            case ELEMENT -> "reader.nextElement()";
+            case ENUM -> typeHelper(type, "readEnum") + "(reader, " + target + ")";
+            case RECORD -> codecOf(type) + ".read(reader)";
+            case LIST -> typeHelper(type, "readList") + "(reader, " + target + ")";
+        };
+    }
+
+    private String readInteger(String boxedType, String target) {
+        useLibraryHelper("readInteger");
+        return "readInteger(reader, " + boxedType + ".MIN_VALUE, " + boxedType + ".MAX_VALUE, " + target + ")";
+    }
+
+    private String libraryCall(String helper, String target) {
+        useLibraryHelper(helper);
+        return helper + "(reader, " + target + ")";
+    }
+
+    private void useLibraryHelper(String helper) {
+        usedLibraryHelpers.add(helper);
+    }
+
+    /**
+     * @return the name of the generated helper reading values of the enum or list type
+     */
+    private String typeHelper(TypeMirror type, String prefix) {
+        String typeName = typeName(type);
+        String name = typeHelpers.get(typeName);
+        if (name == null) {
+            name = prefix + typeHelpers.size();
+            // registered before generating the source, so that list elements may refer to it
+            typeHelpers.put(typeName, name);
+            typeHelperSources.put(name, kind(type) == Kind.ENUM ? enumReader(type, name) : listReader(type, name));
+        }
+        return name;
+    }
+
+    private String enumReader(TypeMirror type, String name) {
+        TypeElement enumType = (TypeElement) ((DeclaredType) type).asElement();
+        String enumName = enumType.getQualifiedName().toString();
+        useLibraryHelper("readString");
+        StringBuilder source = new StringBuilder();
+        source.append("    private static ").append(enumName).append(' ').append(name)
+                .append("(JsonReader reader, String target) throws JsonParseException {\n");
+        source.append("        String name = readString(reader, target);\n");
+        source.append("        return switch (name) {\n");
+        for (Element constant : enumType.getEnclosedElements()) {
+            if (constant.getKind() == ElementKind.ENUM_CONSTANT) {
+                source.append("            case ").append(literal(constant.getSimpleName().toString())).append(" -> ")
+                        .append(enumName).append('.').append(constant.getSimpleName()).append(";\n");
+            }
+        }
+        source.append("            default -> throw new JsonBindingException(\"Unknown constant \\\"\" + name + \"\\\" of ")
+                .append(enumType.getSimpleName()).append(" for \" + target);\n");
+        source.append("        };\n");
+        source.append("    }\n");
+        return source.toString();
+    }
+
+    private String listReader(TypeMirror type, String name) {
+        TypeMirror elementType = elementType(type);
+        String listType = typeName(type);
+        StringBuilder source = new StringBuilder();
+        source.append("    private static ").append(listType).append(' ').append(name)
+                .append("(JsonReader reader, String target) throws JsonParseException {\n");
+        source.append("        expect(reader, JsonToken.BEGIN_ARRAY, target);\n");
+        source.append("        String elementTarget = \"element of \" + target;\n");
+        source.append("        ").append(listType).append(" elements = new ArrayList<>();\n");
+        source.append("        reader.beginArray();\n");
+        source.append("        while (reader.hasNext()) {\n");
+        source.append("            elements.add(").append(readNullable(elementType, "elementTarget")).append(");\n");
+        source.append("        }\n");
+        source.append("        reader.endArray();\n");
+        source.append("        return Collections.unmodifiableList(elements);\n");
+        source.append("    }\n");
+        return source.toString();
+    }
+
+    /**
+     * Appends statements writing the value of the local variable, which has the given type.
+     */
+    private void writeValue(StringBuilder out, String indent, TypeMirror type, String value, int depth) {
+        Kind kind = kind(type);
+        if (type.getKind().isPrimitive()) {
+            out.append(indent).append(kind == Kind.BOOLEAN ? "writer.bool(" : "writer.number(").append(value).append(");\n");
+            return;
+        }
+        if (kind == Kind.RECORD) {
+            out.append(indent).append(codecOf(type)).append(".write(writer, ").append(value).append(");\n");
+            return;
+        }
+        if (kind == Kind.ELEMENT) {
+            // writes null elements as null
+            out.append(indent).append("writer.write(").append(value).append(");\n");
+            return;
+        }
+        out.append(indent).append("if (").append(value).append(" == null) {\n");
+        out.append(indent).append("    writer.nullValue();\n");
+        out.append(indent).append("} else {\n");
+        String inner = indent + "    ";
+        switch (kind) {
+            case BOOLEAN -> out.append(inner).append("writer.bool(").append(value).append(");\n");
+            case BYTE, SHORT, INT, LONG -> out.append(inner).append("writer.number(").append(value).append(".longValue());\n");
+            case FLOAT -> out.append(inner).append("writer.number(").append(value).append(".floatValue());\n");
+            case DOUBLE -> out.append(inner).append("writer.number(").append(value).append(".doubleValue());\n");
+            case STRING -> out.append(inner).append("writer.string(").append(value).append(");\n");
+            case ENUM -> out.append(inner).append("writer.string(").append(value).append(".name());\n");
+            case BIG_DECIMAL -> out.append(inner).append("writer.number(new JsonElement.JsonNumber(").append(value).append("));\n");
+            case BIG_INTEGER -> out.append(inner).append("writer.number(new JsonElement.JsonNumber(new BigDecimal(")
+                    .append(value).append(")));\n");
+            case LIST -> {
+                TypeMirror elementType = elementType(type);
+                String element = "element" + depth;
+                out.append(inner).append("writer.startArray();\n");
+                out.append(inner).append("for (var ").append(element)
+                        .append(" : ").append(value).append(") {\n");
+                writeValue(out, inner + "    ", elementType, element, depth + 1);
+                out.append(inner).append("}\n");
+                out.append(inner).append("writer.endArray();\n");
+            }
+            default -> throw new IllegalStateException("Unexpected kind " + kind);
+        }
+        out.append(indent).append("}\n");
+    }
+
+    private void checkSupported(TypeMirror type, RecordComponentElement component, String description) {
+        Kind kind = kind(type);
+        if (kind == null) {
+            throw new UnsupportedTypeException("Unsupported type " + type + " of " + description, component);
+        } else if ((kind == Kind.ENUM || kind == Kind.RECORD)
+                && !isAccessible((TypeElement) ((DeclaredType) type).asElement(), packageName)) {
+            throw new UnsupportedTypeException("Type " + type + " of " + description + " is not accessible from package "
+                    + (packageName.isEmpty() ? "<unnamed>" : packageName), component);
+        } else if (kind == Kind.RECORD && !hasCodec((TypeElement) ((DeclaredType) type).asElement())) {
+            throw new UnsupportedTypeException("Record " + type + " of " + description + " has no @JsonCodec", component);
+        } else if (kind == Kind.LIST) {
+            checkSupported(elementType(type), component, "element of " + description);
+        }
+    }
+
+    /**
+     * @return the kind of values of the type, or null if it is not supported
+     */
+    private Kind kind(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case BYTE:
+                return Kind.BYTE;
+            case SHORT:
+                return Kind.SHORT;
+            case INT:
+                return Kind.INT;
+            case LONG:
+                return Kind.LONG;
+            case FLOAT:
+                return Kind.FLOAT;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case DECLARED:
+                break;
+            default:
+                return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        String name = element.getQualifiedName().toString();
+        if (DECLARED_KINDS.containsKey(name)) {
+            return DECLARED_KINDS.get(name);
+        } else if (name.equals("me.kecker.jsonparser.JsonElement")) {
+            return Kind.ELEMENT;
+        } else if (element.getKind() == ElementKind.ENUM) {
+            return Kind.ENUM;
+        } else if (element.getKind() == ElementKind.RECORD) {
+            return Kind.RECORD;
+        } else if (name.equals("java.util.List") && ((DeclaredType) type).getTypeArguments().size() == 1
+                && elementType(type) != null) {
+            return Kind.LIST;
+        }
+        return null;
+    }
+
+    /**
+     * @return the element type of the list type, or null for wildcards without an upper bound
+     */
+    private static TypeMirror elementType(TypeMirror listType) {
+        TypeMirror elementType = ((DeclaredType) listType).getTypeArguments().get(0);
+        if (elementType instanceof WildcardType wildcard) {
+            if (wildcard.getSuperBound() != null) {
+                return null;
+            }
+            return wildcard.getExtendsBound();
+        }
+        return elementType;
+    }
+
+    /**
+     * @return true if code in the package, like the codec, can refer to the type
+     */
+    static boolean isAccessible(TypeElement type, String packageName) {
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            Set<Modifier> modifiers = enclosing.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !packageOf(enclosing).equals(packageName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String packageOf(Element element) {
+        Element enclosing = element;
+        while (!(enclosing instanceof PackageElement)) {
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return ((PackageElement) enclosing).getQualifiedName().toString();
+    }
+
+    /**
+     * @return true if the record is annotated itself or has a codec generated in an earlier compilation
+     */
+    private boolean hasCodec(TypeElement record) {
+        for (AnnotationMirror annotation : record.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(JsonCodecProcessor.ANNOTATION)) {
+                return true;
+            }
+        }
+        return elements.getTypeElement(qualifiedCodecName(record)) != null;
+    }
+
+    private String codecOf(TypeMirror recordType) {
+        return qualifiedCodecName((TypeElement) ((DeclaredType) recordType).asElement());
+    }
+
+    private String qualifiedCodecName(TypeElement record) {
+        String recordPackage = elements.getPackageOf(record).getQualifiedName().toString();
+        return recordPackage.isEmpty() ? codecName(record) : recordPackage + "." + codecName(record);
+    }
+
+    /**
+     * @return the type as source code, without type annotations
+     */
+    private String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase();
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (kind(type) == Kind.LIST) {
+            return "java.util.List<" + typeName(elementType(type)) + ">";
+        }
+        return element.getQualifiedName().toString();
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        if (type.getKind() == TypeKind.BOOLEAN) {
+            return "false";
+        }
+        return type.getKind().isPrimitive() ? "0" : "null";
+    }
+
+    private static String literal(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private enum Kind {
+        BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, STRING, BIG_DECIMAL, BIG_INTEGER, ELEMENT, ENUM, RECORD, LIST
+    }
+
+    /**
+     * Thrown if a component has a type that codecs cannot read or write.
+     */
+    static final class UnsupportedTypeException extends RuntimeException {
+
+        private final transient Element element;
+
+        UnsupportedTypeException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+
+        Element element() {
+            return element;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package me.kecker.jsonparser.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+/**
+ * Generates a codec for every record annotated with {@code me.kecker.jsonparser.JsonCodec}, see {@link CodecGenerator}.
+ * <p>
+ * Records that cannot be given a codec, e.g. because a component has an unsupported type, are reported as compilation
+ * errors on the offending element.
+ */
+public class JsonCodecProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "me.kecker.jsonparser.JsonCodec";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.RECORD) {
+                    error("@JsonCodec is only supported on records", element);
+                } else if (!((TypeElement) element).getTypeParameters().isEmpty()) {
+                    error("@JsonCodec is not supported on generic records", element);
+                } else if (!CodecGenerator.isAccessible((TypeElement) element,
+                        processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString())) {
+                    error("Records with @JsonCodec must not be private", element);
+                } else {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement record) {
+        CodecGenerator generator = new CodecGenerator(processingEnv, record);
+        String source;
+        try {
+            source = generator.generate();
+        } catch (CodecGenerator.UnsupportedTypeException e) {
+            error(e.getMessage(), e.element());
+            return;
+        }
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(generator.qualifiedCodecName(), record);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            error("Cannot write " + generator.qualifiedCodecName() + ": " + e.getMessage(), record);
+        }
+    }
+
+    private void error(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
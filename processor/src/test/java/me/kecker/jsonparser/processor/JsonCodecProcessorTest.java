@@ -0,0 +1,268 @@
+package me.kecker.jsonparser.processor;
+
+import me.kecker.jsonparser.JsonBinder;
+import me.kecker.jsonparser.JsonCodec;
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonParser;
+import me.kecker.jsonparser.JsonReader;
+import me.kecker.jsonparser.JsonWriter;
+import me.kecker.jsonparser.exceptions.JsonBindingException;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonCodecProcessorTest {
+
+    @JsonCodec
+    record Primitives(boolean flag, byte b, short s, int i, long l, float f, double d) {
+    }
+
+    @JsonCodec
+    record Boxed(Boolean flag, Integer i, Long l, Double d, BigDecimal decimal, BigInteger big) {
+    }
+
+    enum Level {
+        LOW, HIGH
+    }
+
+    @JsonCodec
+    record Address(String street, String city) {
+    }
+
+    @JsonCodec
+    record User(long id, String name, Level level, List<String> tags, Address address, JsonElement extra) {
+    }
+
+    @JsonCodec
+    record Node(String name, List<? extends Node> children) {
+    }
+
+    @JsonCodec
+    record Floats(float prim, Float boxed, List<Float> list) {
+    }
+
+    @JsonCodec
+    record Matrix(List<List<Integer>> rows, List<Level> levels) {
+    }
+
+    @Test
+    @DisplayName("Primitive components should be read without losing precision and written back")
+    void testPrimitives() throws JsonParseException {
+        Primitives result = JsonCodecProcessorTest_PrimitivesJsonCodec
+                .parse("{\"flag\": true, \"b\": -128, \"s\": 32767, \"i\": -7, \"l\": 9007199254740993, \"f\": 1.5, \"d\": 0.1}");
+        assertThat(result).isEqualTo(new Primitives(true, (byte) -128, (short) 32767, -7, 9007199254740993L, 1.5f, 0.1));
+        assertThat(JsonCodecProcessorTest_PrimitivesJsonCodec.toJson(result))
+                .isEqualTo("{\"flag\":true,\"b\":-128,\"s\":32767,\"i\":-7,\"l\":9007199254740993,\"f\":1.5,\"d\":0.1}");
+    }
+
+    @Test
+    @DisplayName("Floats should be written with the digits of the float, not of the widened double")
+    void testFloats() throws JsonParseException {
+        Floats floats = new Floats(0.1f, 1.1f, List.of(0.1f, 3.4028235e38f));
+        String json = JsonCodecProcessorTest_FloatsJsonCodec.toJson(floats);
+        assertThat(json).isEqualTo("{\"prim\":0.1,\"boxed\":1.1,\"list\":[0.1,3.4028235E38]}");
+        assertThat(JsonCodecProcessorTest_FloatsJsonCodec.parse(json)).isEqualTo(floats);
+    }
+
+    @Test
+    @DisplayName("Floats should be read as the nearest float, not as the nearest double narrowed to a float")
+    void testFloatsRoundedOnce() throws JsonParseException {
+        // just above the midpoint between 1.0f and the next float, which the nearest double is equal to
+        String halfway = "1.0000000596046447753906251";
+        Floats result = JsonCodecProcessorTest_FloatsJsonCodec
+                .parse("{\"prim\": " + halfway + ", \"boxed\": " + halfway + ", \"list\": [" + halfway + "]}");
+        assertThat(result).isEqualTo(new Floats(1.0000001f, 1.0000001f, List.of(1.0000001f)));
+    }
+
+    @Test
+    @DisplayName("Missing members should leave components at their default values")
+    void testMissingMembers() throws JsonParseException {
+        assertThat(JsonCodecProcessorTest_PrimitivesJsonCodec.parse("{}"))
+                .isEqualTo(new Primitives(false, (byte) 0, (short) 0, 0, 0, 0, 0));
+        assertThat(JsonCodecProcessorTest_BoxedJsonCodec.parse("{\"i\": null}"))
+                .isEqualTo(new Boxed(null, null, null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Wrapper and arbitrary-precision components should be read and written")
+    void testBoxed() throws JsonParseException {
+        Boxed result = JsonCodecProcessorTest_BoxedJsonCodec
+                .parse("{\"flag\": false, \"i\": 3, \"l\": -4, \"d\": 2.5e3, \"decimal\": 1.10, \"big\": 123456789012345678901234567890}");
+        assertThat(result).isEqualTo(new Boxed(false, 3, -4L, 2500.0, new BigDecimal("1.10"),
+                new BigInteger("123456789012345678901234567890")));
+        assertThat(JsonCodecProcessorTest_BoxedJsonCodec.toJson(result))
+                .isEqualTo("{\"flag\":false,\"i\":3,\"l\":-4,\"d\":2500.0,\"decimal\":1.10,\"big\":123456789012345678901234567890}");
+        assertThat(JsonCodecProcessorTest_BoxedJsonCodec.toJson(new Boxed(null, null, null, null, null, null)))
+                .isEqualTo("{\"flag\":null,\"i\":null,\"l\":null,\"d\":null,\"decimal\":null,\"big\":null}");
+    }
+
+    @Test
+    @DisplayName("Nested records, lists, enums and trees should be read like JsonBinder reads them")
+    void testNested() throws JsonParseException {
+        String source = """
+                {"id": 1, "unknown": {"deep": [1, "\\u0041", null]}, "name": "J\\u00fcrgen", "level": "HIGH",
+                 "tags": ["a", null], "address": {"city": "Berlin", "zip": "10115"}, "extra": [true]}
+                """;
+        User user = JsonCodecProcessorTest_UserJsonCodec.parse(source.getBytes(StandardCharsets.UTF_8));
+        assertThat(user).isEqualTo(new User(1, "Jürgen", Level.HIGH, Arrays.asList("a", null),
+                new Address(null, "Berlin"), JsonParser.parse("[true]")));
+        assertThat(user).isEqualTo(JsonBinder.of(User.class).parse(source));
+        assertThat(JsonCodecProcessorTest_UserJsonCodec.parse("{\"extra\": null}").extra()).isEqualTo(JsonElement.NULL);
+    }
+
+    @Test
+    @DisplayName("Written records should be read back unchanged")
+    void testRoundTrip() throws JsonParseException {
+        User user = new User(-3, "a \"quoted\" name", Level.LOW, List.of("x", "y"), new Address("Main", null),
+                JsonParser.parse("{\"k\": [1.5, null]}"));
+        String json = JsonCodecProcessorTest_UserJsonCodec.toJson(user);
+        assertThat(json).isEqualTo("{\"id\":-3,\"name\":\"a \\\"quoted\\\" name\",\"level\":\"LOW\",\"tags\":[\"x\",\"y\"],"
+                + "\"address\":{\"street\":\"Main\",\"city\":null},\"extra\":{\"k\":[1.5,null]}}");
+        assertThat(JsonCodecProcessorTest_UserJsonCodec.parse(json)).isEqualTo(user);
+
+        Matrix matrix = new Matrix(List.of(List.of(1, 2), List.of()), List.of(Level.HIGH));
+        assertThat(JsonCodecProcessorTest_MatrixJsonCodec.parse(JsonCodecProcessorTest_MatrixJsonCodec.toJson(matrix)))
+                .isEqualTo(matrix);
+    }
+
+    @Test
+    @DisplayName("Records should be allowed to contain themselves")
+    void testRecursive() throws JsonParseException {
+        Node node = JsonCodecProcessorTest_NodeJsonCodec
+                .parse("{\"name\": \"root\", \"children\": [{\"name\": \"leaf\", \"children\": []}]}");
+        assertThat(node).isEqualTo(new Node("root", List.of(new Node("leaf", List.of()))));
+        assertThat(JsonCodecProcessorTest_NodeJsonCodec.toJson(node))
+                .isEqualTo("{\"name\":\"root\",\"children\":[{\"name\":\"leaf\",\"children\":[]}]}");
+    }
+
+    @Test
+    @DisplayName("read and write should handle the records of an array one by one")
+    void testReadAndWrite() throws JsonParseException, IOException {
+        JsonReader reader = new JsonReader("[{\"street\": \"Main\"}, null, {\"city\": \"X\"}]");
+        List<Address> addresses = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            addresses.add(JsonCodecProcessorTest_AddressJsonCodec.read(reader));
+        }
+        reader.endArray();
+        assertThat(addresses).containsExactly(new Address("Main", null), null, new Address(null, "X"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.startArray();
+            for (Address address : addresses) {
+                JsonCodecProcessorTest_AddressJsonCodec.write(writer, address);
+            }
+            writer.endArray();
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("[{\"street\":\"Main\",\"city\":null},null,{\"street\":null,\"city\":\"X\"}]");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"i\": \"1\"}", "{\"i\": 1.5}", "{\"i\": 2147483648}", "{\"b\": 128}", "{\"flag\": 1}",
+            "{\"l\": null}", "[]"})
+    @DisplayName("Values that do not fit the components should be rejected")
+    void testMismatch(String source) {
+        assertThrows(JsonBindingException.class, () -> JsonCodecProcessorTest_PrimitivesJsonCodec.parse(source));
+    }
+
+    @Test
+    @DisplayName("Unknown enum constants and fractional big integers should be rejected")
+    void testReferenceMismatch() {
+        assertThrows(JsonBindingException.class, () -> JsonCodecProcessorTest_UserJsonCodec.parse("{\"level\": \"MEDIUM\"}"));
+        assertThrows(JsonBindingException.class, () -> JsonCodecProcessorTest_UserJsonCodec.parse("{\"tags\": [1]}"));
+        assertThrows(JsonBindingException.class, () -> JsonCodecProcessorTest_BoxedJsonCodec.parse("{\"big\": 1.5}"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"unknown\": [1,]}", "{\"name\": \"a\"} {}", "{\"name\": \"a\""})
+    @DisplayName("Malformed documents should be rejected")
+    void testMalformed(String source) {
+        assertThrows(JsonParseException.class, () -> JsonCodecProcessorTest_UserJsonCodec.parse(source));
+    }
+
+    @Test
+    @DisplayName("Non-finite floating point components should not be written")
+    void testNonFinite() {
+        Primitives primitives = new Primitives(false, (byte) 0, (short) 0, 0, 0, Float.NaN, 0);
+        assertThrows(IllegalArgumentException.class, () -> JsonCodecProcessorTest_PrimitivesJsonCodec.toJson(primitives));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "@JsonCodec class Invalid {}",
+            "@JsonCodec record Invalid(char c) {}",
+            "@JsonCodec record Invalid(java.util.Map<String, String> map) {}",
+            "@JsonCodec record Invalid(java.util.List<?> list) {}",
+            "@JsonCodec record Invalid<T>(String name) {}",
+            "@JsonCodec record Invalid(Other other) {} record Other(String name) {}",
+            "class Outer { @JsonCodec private record Invalid(String name) {} }",
+            "class Outer { private enum Secret { X } @JsonCodec record Invalid(Secret secret) {} }",
+            "class Outer { private enum Secret { X } @JsonCodec record Invalid(java.util.List<Secret> secrets) {} }",
+            "class Outer { @JsonCodec record Invalid(Secret secret) {} private record Secret(String name) {} }"})
+    @DisplayName("Unsupported types should be reported as compilation errors")
+    void testUnsupported(String source) throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile("import me.kecker.jsonparser.JsonCodec; " + source);
+        assertThat(errors).hasSize(1);
+        // reported by the processor, not by compiling a generated codec
+        assertThat(errors.get(0).getCode()).isEqualTo("compiler.err.proc.messager");
+    }
+
+    @Test
+    @DisplayName("Supported records should be compiled without errors")
+    void testSupported() throws IOException {
+        assertThat(compile("import me.kecker.jsonparser.JsonCodec; @JsonCodec record Valid(Valid next, float f) {}")).isEmpty();
+    }
+
+    /**
+     * @return the errors of compiling the source with the processor
+     */
+    private static List<Diagnostic<? extends JavaFileObject>> compile(String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Path output = Files.createTempDirectory("codecs");
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, List.of(output.toFile()));
+            JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///Invalid.java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-classpath", System.getProperty("java.class.path")), null, List.of(file));
+            task.setProcessors(List.of(new JsonCodecProcessor()));
+            task.call();
+        }
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .toList();
+    }
+}
@@ -0,0 +1,120 @@
+package me.kecker.jsonparser;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Constructor;
+import java.nio.ByteOrder;
+
+/**
+ * Classifies the bytes of a {@value #BLOCK_SIZE}-byte block into the character classes {@link StructuralIndex} needs,
+ * with bit {@code i} of each mask standing for the byte at {@code offset + i}.
+ * <p>
+ * {@link #create()} returns the {@code VectorBlockClassifier} of the {@code vector} project if it is on the class path
+ * and the module {@code jdk.incubator.vector} has been added to the runtime, and the {@link Scalar} classifier
+ * otherwise. Classifiers keep the masks of the last block, so they must not be shared.
+ */
+abstract class BlockClassifier {
+
+    static final int BLOCK_SIZE = 64;
+
+    private static final String VECTOR_CLASSIFIER = "me.kecker.jsonparser.VectorBlockClassifier";
+    private static final Constructor<? extends BlockClassifier> VECTOR_CONSTRUCTOR = vectorConstructor();
+
+    long quotes;
+    long backslashes;
+    long whitespace;
+    /** The structural characters {@code {}[]:,} */
+    long operators;
+    /** Control characters and the bytes of non-ASCII characters, which strings cannot be copied over directly */
+    long specials;
+
+    static BlockClassifier create() {
+        if (VECTOR_CONSTRUCTOR != null) {
+            try {
+                return VECTOR_CONSTRUCTOR.newInstance();
+            } catch (ReflectiveOperationException e) {
+                // fall back to the scalar classifier
+            }
+        }
+        return new Scalar();
+    }
+
+    private static Constructor<? extends BlockClassifier> vectorConstructor() {
+        // the vector classifier must not even be loaded if the module is missing
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return Class.forName(VECTOR_CLASSIFIER).asSubclass(BlockClassifier.class).getDeclaredConstructor();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Classifies {@code bytes[offset, offset + BLOCK_SIZE)}.
+     */
+    abstract void classify(byte[] bytes, int offset);
+
+    /**
+     * Classifies eight bytes at once in a {@code long} (SIMD within a register), so that a block takes eight steps
+     * of a few arithmetic operations each instead of a lookup per byte.
+     */
+    static final class Scalar extends BlockClassifier {
+
+        private static final VarHandle LONGS =
+                MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+        private static final long ONES = 0x0101_0101_0101_0101L;
+        private static final long LOW_BITS = 0x7F7F_7F7F_7F7F_7F7FL;
+        private static final long HIGH_BITS = 0x8080_8080_8080_8080L;
+        /** Moves bit {@code 8 * i} to bit {@code 56 + i}, without any carries interfering */
+        private static final long GATHER = 0x0102_0408_1020_4080L;
+
+        @Override
+        void classify(byte[] bytes, int offset) {
+            long quotes = 0;
+            long backslashes = 0;
+            long whitespace = 0;
+            long operators = 0;
+            long specials = 0;
+            for (int i = 0; i < BLOCK_SIZE; i += Long.BYTES) {
+                long word = (long) LONGS.get(bytes, offset + i);
+                quotes |= gather(equal(word, '"')) << i;
+                backslashes |= gather(equal(word, '\\')) << i;
+                whitespace |= gather(equal(word, ' ') | equal(word, '\t') | equal(word, '\n') | equal(word, '\r')) << i;
+                // setting bit 5 maps '[' and ']' to '{' and '}' and nothing else to them
+                long folded = word | 0x2020_2020_2020_2020L;
+                operators |= gather(equal(folded, '{') | equal(folded, '}') | equal(word, ':') | equal(word, ',')) << i;
+                specials |= gather(below(word, 0x20) | word & HIGH_BITS) << i;
+            }
+            this.quotes = quotes;
+            this.backslashes = backslashes;
+            this.whitespace = whitespace;
+            this.operators = operators;
+            this.specials = specials;
+        }
+
+        /**
+         * @return the high bit of every byte of the word that equals the character
+         */
+        private static long equal(long word, char character) {
+            long difference = word ^ (character * ONES);
+            return ~((difference & LOW_BITS) + LOW_BITS | difference | LOW_BITS);
+        }
+
+        /**
+         * @return the high bit of every byte of the word that is below the (ASCII) bound
+         */
+        private static long below(long word, int bound) {
+            return ~((word & LOW_BITS) + (0x80 - bound) * ONES | word | LOW_BITS);
+        }
+
+        /**
+         * @return the high bits of the bytes of the word as eight consecutive bits
+         */
+        private static long gather(long highBits) {
+            return (highBits >>> 7) * GATHER >>> 56;
+        }
+    }
+}
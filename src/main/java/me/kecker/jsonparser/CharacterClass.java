@@ -0,0 +1,101 @@
+package me.kecker.jsonparser;
+
+/**
+ * Precomputed lookup table classifying the characters that are significant for JSON syntax.
+ * <p>
+ * All significant characters are ASCII, so the table has an entry for every byte value and characters beyond are
+ * classified without a lookup. Querying the table replaces comparisons against sets of characters (and their boxing)
+ * on the hot scanning paths.
+ */
+final class CharacterClass {
+
+    private static final int TABLE_SIZE = 256;
+
+    private static final byte WHITESPACE = 1;
+    private static final byte NUMBER = 1 << 1;
+    private static final byte LETTER = 1 << 2;
+    private static final byte UNESCAPED = 1 << 3;
+
+    private static final byte[] CLASSES = new byte[TABLE_SIZE];
+    private static final byte[] HEX_VALUES = new byte[TABLE_SIZE];
+
+    static {
+        for (char c : new char[]{' ', '\n', '\r', '\t'}) {
+            CLASSES[c] |= WHITESPACE;
+        }
+        for (char c : "0123456789-+.eE".toCharArray()) {
+            CLASSES[c] |= NUMBER;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] |= LETTER;
+            CLASSES[Character.toUpperCase(c)] |= LETTER;
+        }
+        for (int i = 0x80; i < TABLE_SIZE; i++) {
+            if (Character.isAlphabetic(i)) {
+                CLASSES[i] |= LETTER;
+            }
+        }
+        for (int i = 0x20; i < TABLE_SIZE; i++) {
+            if (i != '"' && i != '\\') {
+                CLASSES[i] |= UNESCAPED;
+            }
+        }
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            HEX_VALUES[i] = (byte) Character.digit((char) i, 16);
+        }
+    }
+
+    static boolean isWhitespace(char character) {
+        return character < TABLE_SIZE && (CLASSES[character] & WHITESPACE) != 0;
+    }
+
+    /**
+     * Variant for raw input bytes. Bytes of multi-byte UTF-8 sequences are never whitespace.
+     */
+    static boolean isWhitespace(byte character) {
+        return (CLASSES[character & 0xFF] & WHITESPACE) != 0;
+    }
+
+    /**
+     * @return true if the character may be part of a number literal (not necessarily at that position)
+     */
+    static boolean mightOccurInNumber(char character) {
+        return character < TABLE_SIZE && (CLASSES[character] & NUMBER) != 0;
+    }
+
+    /**
+     * @return true if the character is a letter and therefore part of a literal word like {@code true}
+     */
+    static boolean isLetter(char character) {
+        if (character < TABLE_SIZE) {
+            return (CLASSES[character] & LETTER) != 0;
+        }
+        return Character.isAlphabetic(character);
+    }
+
+    /**
+     * @return true if the character may occur in a string literal as it is, i.e. it is no quote, backslash or control character
+     */
+    static boolean isUnescaped(char character) {
+        return character >= TABLE_SIZE || (CLASSES[character] & UNESCAPED) != 0;
+    }
+
+    /**
+     * Variant for raw input bytes, which is only true for ASCII characters. Bytes of multi-byte UTF-8 sequences have to
+     * be decoded first.
+     */
+    static boolean isUnescapedAscii(byte character) {
+        return character >= 0 && (CLASSES[character] & UNESCAPED) != 0;
+    }
+
+    /**
+     * @return the value of the hexadecimal digit, or -1 if the character is none
+     */
+    static int hexValue(char character) {
+        return character < TABLE_SIZE ? HEX_VALUES[character] : -1;
+    }
+
+    private CharacterClass() {
+        // class should not be instantiated
+    }
+}
@@ -0,0 +1,424 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonBindingException;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses JSON objects directly into instances of a record class, without building a {@link JsonElement} tree first.
+ * <p>
+ * The members of an object are read with a {@link JsonReader} and stored as the arguments of the canonical constructor,
+ * which is then invoked through a {@link MethodHandle}. Primitive components are kept unboxed in a {@code long[]} until
+ * the constructor is invoked, and members without a matching component are skipped without decoding them. Member names
+ * are looked up in a fixed symbol table of all component names of the record and the records nested in it, so that
+ * known names are matched right in the input without allocating a String per member. Components
+ * without a member get their default value, i.e. {@code 0}, {@code false} or {@code null}.
+ * <p>
+ * Supported component types are primitives except {@code char} and their wrappers, {@link String}, {@link BigDecimal},
+ * {@link BigInteger}, enums (by constant name), {@link JsonElement}, records and {@link List}s of these. A binder is
+ * created once per record class on first use and is safe to use from several threads.
+ */
+public final class JsonBinder<T extends Record> {
+
+    private static final ClassValue<JsonBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected JsonBinder<?> computeValue(Class<?> type) {
+            return new JsonBinder<>(type.asSubclass(Record.class));
+        }
+    };
+
+    private static final Object[] NO_REFERENCES = new Object[0];
+    private static final long[] NO_PRIMITIVES = new long[0];
+
+    private static final ValueReader ELEMENT_READER = JsonReader::nextElement;
+
+    private static final MethodHandle LONG_TO_BOOLEAN;
+    private static final MethodHandle LONG_BITS_TO_FLOAT;
+    private static final MethodHandle LONG_BITS_TO_DOUBLE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            LONG_TO_BOOLEAN = lookup.findStatic(JsonBinder.class, "longToBoolean", MethodType.methodType(boolean.class, long.class));
+            LONG_BITS_TO_FLOAT = lookup.findStatic(JsonBinder.class, "longBitsToFloat", MethodType.methodType(float.class, long.class));
+            LONG_BITS_TO_DOUBLE = lookup.findStatic(Double.class, "longBitsToDouble", MethodType.methodType(double.class, long.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<T> type;
+    private final Map<String, Component> components = new HashMap<>();
+    // the component names of this record and all records nested in it, shared by all documents and threads
+    private final SymbolTable names;
+    private final int referenceCount;
+    private final int primitiveCount;
+    // (Object[] references, long[] primitives)Object, invoking the canonical constructor
+    private final MethodHandle constructor;
+
+    private JsonBinder(Class<T> type) {
+        this.type = type;
+        RecordComponent[] recordComponents = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[recordComponents.length];
+        MethodHandle[] arguments = new MethodHandle[recordComponents.length];
+        int[] argumentSources = new int[recordComponents.length];
+        int references = 0;
+        int primitives = 0;
+        for (int i = 0; i < recordComponents.length; i++) {
+            RecordComponent recordComponent = recordComponents[i];
+            Class<?> componentType = recordComponent.getType();
+            String target = "component '" + recordComponent.getName() + "' of " + type.getSimpleName();
+            Component component;
+            if (componentType.isPrimitive()) {
+                component = new Component(primitiveKind(componentType, target), primitives, null, target);
+                arguments[i] = primitiveArgument(component.kind, primitives++).asType(MethodType.methodType(componentType, long[].class));
+                argumentSources[i] = 1;
+            } else {
+                component = new Component(Kind.REFERENCE, references, valueReader(recordComponent.getGenericType(), target), target);
+                MethodHandle argument = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(Object[].class), 1, references++);
+                arguments[i] = argument.asType(MethodType.methodType(componentType, Object[].class));
+                argumentSources[i] = 0;
+            }
+            components.put(recordComponent.getName(), component);
+            parameterTypes[i] = componentType;
+        }
+        this.referenceCount = references;
+        this.primitiveCount = primitives;
+        this.constructor = constructor(type, parameterTypes, arguments, argumentSources);
+        Set<String> componentNames = new LinkedHashSet<>();
+        collectComponentNames(type, componentNames, new HashSet<>());
+        this.names = new SymbolTable(componentNames);
+    }
+
+    private static void collectComponentNames(Type type, Set<String> names, Set<Class<?>> visited) {
+        if (type instanceof Class<?> recordType && recordType.isRecord() && visited.add(recordType)) {
+            for (RecordComponent component : recordType.getRecordComponents()) {
+                names.add(component.getName());
+                collectComponentNames(component.getGenericType(), names, visited);
+            }
+        } else if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == List.class) {
+            Type elementType = parameterized.getActualTypeArguments()[0];
+            if (elementType instanceof WildcardType wildcard && wildcard.getLowerBounds().length == 0) {
+                elementType = wildcard.getUpperBounds()[0];
+            }
+            collectComponentNames(elementType, names, visited);
+        }
+    }
+
+    /**
+     * @return the binder of the record class, which is created on first use
+     * @throws IllegalArgumentException if the class is not a record or has components of unsupported types
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Record> JsonBinder<T> of(Class<T> type) {
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException(type.getName() + " is not a record class");
+        }
+        return (JsonBinder<T>) BINDERS.get(type);
+    }
+
+    public T parse(String source) throws JsonParseException {
+        return parse(new StringJsonInput(source), JsonParseOptions.DEFAULT);
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON without decoding it into a {@link String} first.
+     */
+    public T parse(byte[] source) throws JsonParseException {
+        return parse(new Utf8JsonInput(source), JsonParseOptions.DEFAULT);
+    }
+
+    /**
+     * Member names are always looked up in the binder's own table, so {@link JsonParseOptions#keyCacheSize()} does not
+     * apply.
+     *
+     * @throws JsonBindingException if the document is well-formed but does not fit the record class
+     */
+    public T parse(JsonInput input, JsonParseOptions options) throws JsonParseException {
+        JsonReader reader = new JsonReader(new JsonParseState(input, options, names));
+        T result = read(reader);
+        // rejects anything but whitespace after the value
+        reader.peek();
+        return result;
+    }
+
+    /**
+     * Reads the next value of the reader, e.g. an element of an array of records.
+     *
+     * @return the record, or null if the value is {@code null}
+     * @throws JsonBindingException if the value is well-formed but does not fit the record class
+     */
+    public T read(JsonReader reader) throws JsonParseException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        expect(reader, JsonToken.BEGIN_OBJECT, type.getSimpleName());
+        reader.beginObject();
+        Object[] references = referenceCount == 0 ? NO_REFERENCES : new Object[referenceCount];
+        long[] primitives = primitiveCount == 0 ? NO_PRIMITIVES : new long[primitiveCount];
+        while (reader.hasNext()) {
+            Component component = components.get(reader.nextName());
+            if (component == null) {
+                reader.skipValue();
+            } else {
+                component.read(reader, references, primitives);
+            }
+        }
+        reader.endObject();
+        try {
+            @SuppressWarnings("unchecked")
+            T result = (T) (Object) constructor.invokeExact(references, primitives);
+            return result;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Constructor of " + type.getName() + " failed", e);
+        }
+    }
+
+    /**
+     * Adapts the canonical constructor to take its arguments from the reference and primitive slots.
+     */
+    private static MethodHandle constructor(Class<?> type, Class<?>[] parameterTypes, MethodHandle[] arguments,
+                                            int[] argumentSources) {
+        MethodHandle canonical;
+        try {
+            Constructor<?> declared = type.getDeclaredConstructor(parameterTypes);
+            declared.setAccessible(true);
+            canonical = MethodHandles.lookup().unreflectConstructor(declared);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot access the canonical constructor of " + type.getName(), e);
+        }
+        MethodHandle fromSlots = MethodHandles.filterArguments(canonical, 0, arguments);
+        MethodType slotsType = MethodType.methodType(type, Object[].class, long[].class);
+        return MethodHandles.permuteArguments(fromSlots, slotsType, argumentSources)
+                .asType(MethodType.methodType(Object.class, Object[].class, long[].class));
+    }
+
+    /**
+     * @return a handle reading the primitive of the given kind from a slot of the {@code long[]}
+     */
+    private static MethodHandle primitiveArgument(Kind kind, int slot) {
+        MethodHandle slotValue = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(long[].class), 1, slot);
+        return switch (kind) {
+            case BOOLEAN -> MethodHandles.filterReturnValue(slotValue, LONG_TO_BOOLEAN);
+            case FLOAT -> MethodHandles.filterReturnValue(slotValue, LONG_BITS_TO_FLOAT);
+            case DOUBLE -> MethodHandles.filterReturnValue(slotValue, LONG_BITS_TO_DOUBLE);
+            // narrowing casts are safe, as the values have been range checked when they were read
+            case BYTE -> MethodHandles.explicitCastArguments(slotValue, MethodType.methodType(byte.class, long[].class));
+            case SHORT -> MethodHandles.explicitCastArguments(slotValue, MethodType.methodType(short.class, long[].class));
+            case INT -> MethodHandles.explicitCastArguments(slotValue, MethodType.methodType(int.class, long[].class));
+            case LONG -> slotValue;
+            case REFERENCE -> throw new IllegalArgumentException("Not a primitive kind: " + kind);
+        };
+    }
+
+    private static boolean longToBoolean(long value) {
+        return value != 0;
+    }
+
+    private static float longBitsToFloat(long value) {
+        return Float.intBitsToFloat((int) value);
+    }
+
+    private static Kind primitiveKind(Class<?> type, String target) {
+        if (type == boolean.class) {
+            return Kind.BOOLEAN;
+        } else if (type == byte.class) {
+            return Kind.BYTE;
+        } else if (type == short.class) {
+            return Kind.SHORT;
+        } else if (type == int.class) {
+            return Kind.INT;
+        } else if (type == long.class) {
+            return Kind.LONG;
+        } else if (type == float.class) {
+            return Kind.FLOAT;
+        } else if (type == double.class) {
+            return Kind.DOUBLE;
+        }
+        throw new IllegalArgumentException("Unsupported type " + type.getName() + " of " + target);
+    }
+
+    /**
+     * @return a reader of non-null values of the given type
+     */
+    private static ValueReader valueReader(Type type, String target) {
+        if (type == String.class) {
+            return reader -> {
+                expect(reader, JsonToken.STRING, target);
+                return reader.nextString();
+            };
+        } else if (type == Boolean.class) {
+            return reader -> {
+                expect(reader, JsonToken.BOOLEAN, target);
+                return reader.nextBoolean();
+            };
+        } else if (type == Byte.class) {
+            return reader -> (byte) readInteger(reader, Byte.MIN_VALUE, Byte.MAX_VALUE, target);
+        } else if (type == Short.class) {
+            return reader -> (short) readInteger(reader, Short.MIN_VALUE, Short.MAX_VALUE, target);
+        } else if (type == Integer.class) {
+            return reader -> (int) readInteger(reader, Integer.MIN_VALUE, Integer.MAX_VALUE, target);
+        } else if (type == Long.class) {
+            return reader -> readInteger(reader, Long.MIN_VALUE, Long.MAX_VALUE, target);
+        } else if (type == Float.class) {
+            return reader -> readFloat(reader, target);
+        } else if (type == Double.class) {
+            return reader -> readDouble(reader, target);
+        } else if (type == BigDecimal.class) {
+            return reader -> {
+                expect(reader, JsonToken.NUMBER, target);
+                return reader.nextNumber().value();
+            };
+        } else if (type == BigInteger.class) {
+            return reader -> {
+                expect(reader, JsonToken.NUMBER, target);
+                JsonElement.JsonNumber number = reader.nextNumber();
+                try {
+                    return number.value().toBigIntegerExact();
+                } catch (ArithmeticException e) {
+                    throw new JsonBindingException("Expected an integer for " + target + " but was " + number);
+                }
+            };
+        } else if (type == JsonElement.class) {
+            return ELEMENT_READER;
+        } else if (type instanceof Class<?> enumType && enumType.isEnum()) {
+            return enumReader(enumType, target);
+        } else if (type instanceof Class<?> recordType && recordType.isRecord()) {
+            // resolved on first use, so that records may contain themselves
+            return reader -> of(recordType.asSubclass(Record.class)).read(reader);
+        } else if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == List.class) {
+            Type elementType = parameterized.getActualTypeArguments()[0];
+            if (elementType instanceof WildcardType wildcard && wildcard.getLowerBounds().length == 0) {
+                elementType = wildcard.getUpperBounds()[0];
+            }
+            return listReader(valueReader(elementType, "element of " + target), target);
+        }
+        throw new IllegalArgumentException("Unsupported type " + type.getTypeName() + " of " + target);
+    }
+
+    private static ValueReader enumReader(Class<?> enumType, String target) {
+        Map<String, Object> constants = new HashMap<>();
+        for (Object constant : enumType.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name(), constant);
+        }
+        return reader -> {
+            expect(reader, JsonToken.STRING, target);
+            String name = reader.nextString();
+            Object constant = constants.get(name);
+            if (constant == null) {
+                throw new JsonBindingException("Unknown constant \"" + name + "\" of " + enumType.getSimpleName() + " for " + target);
+            }
+            return constant;
+        };
+    }
+
+    private static ValueReader listReader(ValueReader elementReader, String target) {
+        return reader -> {
+            expect(reader, JsonToken.BEGIN_ARRAY, target);
+            reader.beginArray();
+            List<Object> elements = new ArrayList<>();
+            while (reader.hasNext()) {
+                elements.add(readNullable(reader, elementReader));
+            }
+            reader.endArray();
+            return Collections.unmodifiableList(elements);
+        };
+    }
+
+    private static Object readNullable(JsonReader reader, ValueReader valueReader) throws JsonParseException {
+        // null is a JsonElement of its own
+        if (valueReader != ELEMENT_READER && reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return valueReader.read(reader);
+    }
+
+    /**
+     * @return the integer, which is within the given range
+     */
+    private static long readInteger(JsonReader reader, long min, long max, String target) throws JsonParseException {
+        expect(reader, JsonToken.NUMBER, target);
+        long value;
+        try {
+            value = reader.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonBindingException(e.getMessage() + " Expected an integer for " + target);
+        }
+        if (value < min || value > max) {
+            throw new JsonBindingException("Number " + value + " is out of range for " + target);
+        }
+        return value;
+    }
+
+    private static float readFloat(JsonReader reader, String target) throws JsonParseException {
+        expect(reader, JsonToken.NUMBER, target);
+        return reader.nextFloat();
+    }
+
+    private static double readDouble(JsonReader reader, String target) throws JsonParseException {
+        expect(reader, JsonToken.NUMBER, target);
+        return reader.nextDouble();
+    }
+
+    private static void expect(JsonReader reader, JsonToken expected, String target) throws JsonParseException {
+        JsonToken actual = reader.peek();
+        if (actual != expected) {
+            throw new JsonBindingException("Expected " + expected + " for " + target + " but was " + actual);
+        }
+    }
+
+    private enum Kind {
+        BOOLEAN, BYTE, SHORT, INT, LONG, FLOAT, DOUBLE, REFERENCE
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(JsonReader reader) throws JsonParseException;
+    }
+
+    /**
+     * A record component and the slot its argument is stored in until the constructor is invoked.
+     *
+     * @param reader the reader of its values if it is not primitive, null otherwise
+     */
+    private record Component(Kind kind, int slot, ValueReader reader, String target) {
+
+        void read(JsonReader jsonReader, Object[] references, long[] primitives) throws JsonParseException {
+            switch (kind) {
+                case REFERENCE -> references[slot] = readNullable(jsonReader, reader);
+                case BOOLEAN -> {
+                    expect(jsonReader, JsonToken.BOOLEAN, target);
+                    primitives[slot] = jsonReader.nextBoolean() ? 1 : 0;
+                }
+                case BYTE -> primitives[slot] = readInteger(jsonReader, Byte.MIN_VALUE, Byte.MAX_VALUE, target);
+                case SHORT -> primitives[slot] = readInteger(jsonReader, Short.MIN_VALUE, Short.MAX_VALUE, target);
+                case INT -> primitives[slot] = readInteger(jsonReader, Integer.MIN_VALUE, Integer.MAX_VALUE, target);
+                case LONG -> primitives[slot] = readInteger(jsonReader, Long.MIN_VALUE, Long.MAX_VALUE, target);
+                case FLOAT -> primitives[slot] = Float.floatToRawIntBits(readFloat(jsonReader, target));
+                case DOUBLE -> primitives[slot] = Double.doubleToRawLongBits(readDouble(jsonReader, target));
+            }
+        }
+    }
+}
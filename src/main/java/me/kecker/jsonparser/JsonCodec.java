@@ -0,0 +1,21 @@
+package me.kecker.jsonparser;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record for which the json-parser-processor annotation processor generates a codec at compile time.
+ * <p>
+ * For a record {@code Event}, the codec is the class {@code EventJsonCodec} in the same package, with static methods to
+ * parse, read and write events. Nested records are named after all enclosing classes, e.g. {@code Outer_InnerJsonCodec}.
+ * Codecs read and write the same component types as {@link JsonBinder}, except that records within the annotated record
+ * have to be annotated as well. Unlike {@link JsonBinder}, codecs use no reflection.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonCodec {
+}
@@ -3,6 +3,7 @@ package me.kecker.jsonparser;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public sealed interface JsonElement {
 
@@ -22,15 +23,269 @@ public sealed interface JsonElement {
         }
     }
 
-    record JsonNumber(BigDecimal value) implements JsonElement, Comparable<JsonNumber> {
+    /**
+     * A JSON number. Numbers are compared like {@link BigDecimal}s, so {@code 1.0} equals {@code 1.0} but not {@code 1}.
+     * <p>
+     * Parsed numbers whose significand fits into a {@code long} are stored in a compact representation and only converted
+     * to a {@link BigDecimal} when {@link #value()} is called; use the primitive accessors where possible.
+     * With {@link JsonParseOptions#lazyNumbers()}, parsed numbers are not even decoded until one of the accessors is called.
+     */
+    sealed class JsonNumber implements JsonElement, Comparable<JsonNumber>
+            permits JsonNumber.LongNumber, JsonNumber.DecimalNumber, JsonNumber.LazyNumber {
+
+        private final BigDecimal value;
+
+        public JsonNumber(BigDecimal value) {
+            this.value = Objects.requireNonNull(value);
+        }
 
         public JsonNumber(String val) {
             this(new BigDecimal(val));
         }
 
+        private JsonNumber() {
+            this.value = null;
+        }
+
+        public static JsonNumber valueOf(long value) {
+            return new LongNumber(value);
+        }
+
+        /**
+         * @return the number {@code unscaledValue * 10^-scale}, like {@link BigDecimal#valueOf(long, int)}
+         */
+        public static JsonNumber valueOf(long unscaledValue, int scale) {
+            return scale == 0 ? new LongNumber(unscaledValue) : new DecimalNumber(unscaledValue, scale);
+        }
+
+        /**
+         * @return the number {@code text[start, end)}, which must be valid according to the JSON grammar.
+         * It is decoded on first access, until then only a reference to the text is kept.
+         */
+        static JsonNumber lazy(CharSequence text, int start, int end) {
+            return new LazyNumber(text, start, end);
+        }
+
+        public BigDecimal value() {
+            return value;
+        }
+
+        public BigDecimal bigDecimalValue() {
+            return value();
+        }
+
+        /**
+         * @return the integer part of the number, truncated to 64 bits like {@link BigDecimal#longValue()}
+         */
+        public long longValue() {
+            return value.longValue();
+        }
+
+        /**
+         * @throws ArithmeticException if the number has a non-zero fractional part or does not fit into a long
+         */
+        public long longValueExact() {
+            return value.longValueExact();
+        }
+
+        public double doubleValue() {
+            return value.doubleValue();
+        }
+
+        /**
+         * Whether the number is stored as {@link #unscaledValue()} and {@link #scale()}.
+         */
+        boolean isCompact() {
+            return false;
+        }
+
+        long unscaledValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        int scale() {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public int compareTo(JsonNumber o) {
-            return this.value.compareTo(o.value);
+            if (this.isCompact() && o.isCompact() && this.scale() == o.scale()) {
+                return Long.compare(this.unscaledValue(), o.unscaledValue());
+            }
+            return this.value().compareTo(o.value());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof JsonNumber other)) {
+                return false;
+            }
+            if (this.isCompact() && other.isCompact()) {
+                return this.unscaledValue() == other.unscaledValue() && this.scale() == other.scale();
+            }
+            return this.value().equals(other.value());
+        }
+
+        @Override
+        public int hashCode() {
+            return value().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "JsonNumber[value=" + value() + "]";
+        }
+
+        private static final class LongNumber extends JsonNumber {
+
+            private final long value;
+
+            private LongNumber(long value) {
+                this.value = value;
+            }
+
+            @Override
+            public BigDecimal value() {
+                return BigDecimal.valueOf(value);
+            }
+
+            @Override
+            public long longValue() {
+                return value;
+            }
+
+            @Override
+            public long longValueExact() {
+                return value;
+            }
+
+            @Override
+            public double doubleValue() {
+                return value;
+            }
+
+            @Override
+            boolean isCompact() {
+                return true;
+            }
+
+            @Override
+            long unscaledValue() {
+                return value;
+            }
+
+            @Override
+            int scale() {
+                return 0;
+            }
+        }
+
+        private static final class DecimalNumber extends JsonNumber {
+
+            private final long unscaledValue;
+            private final int scale;
+
+            private DecimalNumber(long unscaledValue, int scale) {
+                this.unscaledValue = unscaledValue;
+                this.scale = scale;
+            }
+
+            @Override
+            public BigDecimal value() {
+                return BigDecimal.valueOf(unscaledValue, scale);
+            }
+
+            @Override
+            public long longValue() {
+                return value().longValue();
+            }
+
+            @Override
+            public long longValueExact() {
+                return NumberUtils.toLongExact(unscaledValue, scale);
+            }
+
+            @Override
+            public double doubleValue() {
+                return NumberUtils.toDouble(unscaledValue, scale);
+            }
+
+            @Override
+            boolean isCompact() {
+                return true;
+            }
+
+            @Override
+            long unscaledValue() {
+                return unscaledValue;
+            }
+
+            @Override
+            int scale() {
+                return scale;
+            }
+        }
+
+        private static final class LazyNumber extends JsonNumber {
+
+            private final CharSequence text;
+            private final int start;
+            private final int end;
+            private JsonNumber decoded;
+
+            private LazyNumber(CharSequence text, int start, int end) {
+                this.text = text;
+                this.start = start;
+                this.end = end;
+            }
+
+            private JsonNumber decoded() {
+                // decoding is idempotent, so concurrent first accesses need no synchronization
+                JsonNumber result = decoded;
+                if (result == null) {
+                    result = NumberUtils.parseValidNumber(text, start, end);
+                    decoded = result;
+                }
+                return result;
+            }
+
+            @Override
+            public BigDecimal value() {
+                return decoded().value();
+            }
+
+            @Override
+            public long longValue() {
+                return decoded().longValue();
+            }
+
+            @Override
+            public long longValueExact() {
+                return decoded().longValueExact();
+            }
+
+            @Override
+            public double doubleValue() {
+                return decoded().doubleValue();
+            }
+
+            @Override
+            boolean isCompact() {
+                return decoded().isCompact();
+            }
+
+            @Override
+            long unscaledValue() {
+                return decoded().unscaledValue();
+            }
+
+            @Override
+            int scale() {
+                return decoded().scale();
+            }
         }
     }
 
@@ -0,0 +1,113 @@
+package me.kecker.jsonparser;
+
+/**
+ * Character cursor over a JSON source, consumed by {@link JsonParseState}.
+ * <p>
+ * Implementations present their source as a sequence of UTF-16 code units, independent of how the source is stored.
+ */
+public abstract class JsonInput {
+
+    /**
+     * @return the character at the current position. Must not be called once {@link #reachedEnd()} returns true.
+     */
+    public abstract char current();
+
+    /**
+     * Moves the cursor to the next character.
+     */
+    public abstract void advance();
+
+    /**
+     * @return true if the cursor has passed the last character of the source
+     */
+    public abstract boolean reachedEnd();
+
+    /**
+     * Advances the cursor to the next character that is not JSON whitespace, or to the end.
+     * Implementations override this to scan their underlying storage directly.
+     */
+    public void skipWhitespace() {
+        while (!reachedEnd() && CharacterClass.isWhitespace(current())) {
+            advance();
+        }
+    }
+
+    /**
+     * Consumes the characters that may occur in a string literal without escaping, up to the next quote, backslash or
+     * control character, or the end. Implementations override this to copy the whole run out of their underlying
+     * storage at once.
+     *
+     * @return the consumed characters
+     */
+    public String stringRun() {
+        StringBuilder builder = new StringBuilder();
+        appendStringRun(builder);
+        return builder.toString();
+    }
+
+    /**
+     * Like {@link #stringRun()}, but appends the consumed characters to the builder.
+     */
+    public void appendStringRun(StringBuilder builder) {
+        while (!reachedEnd() && CharacterClass.isUnescaped(current())) {
+            builder.append(current());
+            advance();
+        }
+    }
+
+    /**
+     * Like {@link #stringRun()}, but only moves past the run without returning it.
+     */
+    void skipStringRun() {
+        while (!reachedEnd() && CharacterClass.isUnescaped(current())) {
+            advance();
+        }
+    }
+
+    /**
+     * Like {@link #stringRun()}, but canonicalizes the run through the symbol table if it is followed by a quote, i.e. if
+     * it forms a complete string.
+     */
+    String stringRun(SymbolTable symbols) {
+        String run = stringRun();
+        return !reachedEnd() && current() == '"' ? symbols.intern(run) : run;
+    }
+
+    /**
+     * @return the source as a whole, if it is held in memory and stays addressable by {@link #position()}, null otherwise.
+     * Only ASCII characters are guaranteed to be represented faithfully, which is all that numbers consist of.
+     */
+    CharSequence text() {
+        return null;
+    }
+
+    /**
+     * @return a {@link StructuralIndex} of the source from the current position on, with positions as reported by
+     * {@link #position()}, or null if the input does not support one
+     */
+    StructuralIndex structuralIndex() {
+        return null;
+    }
+
+    /**
+     * @return the index of the current character in {@link #text()}
+     */
+    int position() {
+        throw new UnsupportedOperationException("Input does not expose its source text");
+    }
+
+    /**
+     * Moves the cursor back or forth to an index of {@link #text()} previously reported by {@link #position()}.
+     */
+    void seek(int position) {
+        throw new UnsupportedOperationException("Input does not expose its source text");
+    }
+
+    /**
+     * @return an independent input over the same source, positioned at the current character, so that several threads
+     * can read the source at once
+     */
+    JsonInput duplicate() {
+        throw new UnsupportedOperationException("Input does not expose its source text");
+    }
+}
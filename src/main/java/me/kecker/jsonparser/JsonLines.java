@@ -0,0 +1,274 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.UncheckedJsonParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads newline-delimited JSON (NDJSON, JSON Lines), a sequence of UTF-8 encoded JSON values with one value per line,
+ * as a {@link Stream} of {@link JsonElement}s.
+ * <p>
+ * Lines are read in large blocks and parsed only when the stream consumes them, so the source is never held in memory as
+ * a whole. The lines a stream parses on one thread share one cache of member names, which is dropped with the stream.
+ * Lines may end with {@code \n} or {@code \r\n}; blank lines are skipped. Lines that are not valid JSON are reported to
+ * the {@link ErrorHandler} and left out of the stream. The default handler {@link #LOG} logs them and continues with the
+ * next line, {@link #FAIL} aborts the stream instead. I/O errors are reported as {@link UncheckedIOException}s.
+ * <p>
+ * Settings are immutable, the {@code with} methods return modified copies.
+ *
+ * @param options   the options every line is parsed with
+ * @param parallel  whether the returned streams are parallel. Lines are still read sequentially, but parsed by the
+ *                  workers of the common {@link java.util.concurrent.ForkJoinPool} in batches.
+ * @param ordered   whether the returned streams keep the order of the lines. Unordered parallel streams may process
+ *                  lines as they are parsed.
+ * @param errorHandler receives the lines that are not valid JSON
+ */
+public record JsonLines(JsonParseOptions options, boolean parallel, boolean ordered, ErrorHandler errorHandler) {
+
+    private static final System.Logger LOGGER = System.getLogger(JsonLines.class.getName());
+
+    /**
+     * Logs the line number and the exception as a warning, so that the remaining lines are still streamed.
+     */
+    public static final ErrorHandler LOG = (lineNumber, exception) ->
+            LOGGER.log(System.Logger.Level.WARNING, "Invalid JSON in line " + lineNumber, exception);
+
+    /**
+     * Aborts the stream on the first invalid line with an {@link UncheckedJsonParseException}.
+     */
+    public static final ErrorHandler FAIL = (lineNumber, exception) -> {
+        throw new UncheckedJsonParseException("Invalid JSON in line " + lineNumber, exception);
+    };
+
+    public static final JsonLines DEFAULT = new JsonLines(JsonParseOptions.DEFAULT, false, true, LOG);
+
+    static final int BLOCK_SIZE = 64 * 1024;
+
+    public JsonLines {
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(errorHandler);
+    }
+
+    /**
+     * Receives a line that is not valid JSON. Handlers of parallel streams are called from several threads at once.
+     */
+    @FunctionalInterface
+    public interface ErrorHandler {
+
+        /**
+         * @param lineNumber the number of the line, starting at 1
+         */
+        void onError(long lineNumber, JsonParseException exception);
+    }
+
+    public JsonLines withOptions(JsonParseOptions options) {
+        return new JsonLines(options, parallel, ordered, errorHandler);
+    }
+
+    public JsonLines withParallel(boolean parallel) {
+        return new JsonLines(options, parallel, ordered, errorHandler);
+    }
+
+    public JsonLines withOrdered(boolean ordered) {
+        return new JsonLines(options, parallel, ordered, errorHandler);
+    }
+
+    public JsonLines withErrorHandler(ErrorHandler errorHandler) {
+        return new JsonLines(options, parallel, ordered, errorHandler);
+    }
+
+    /**
+     * Streams the values of the file, which is closed when the stream is closed.
+     */
+    public Stream<JsonElement> stream(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return stream(channel).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Streams the values of the stream, which is read until its end but not closed.
+     */
+    public Stream<JsonElement> stream(InputStream source) {
+        return stream(source::read, BLOCK_SIZE);
+    }
+
+    /**
+     * Streams the values of the channel, which must be in blocking mode. It is read until its end but not closed.
+     */
+    public Stream<JsonElement> stream(ReadableByteChannel source) {
+        return stream((target, offset, length) -> source.read(ByteBuffer.wrap(target, offset, length)), BLOCK_SIZE);
+    }
+
+    Stream<JsonElement> stream(ByteSource source, int blockSize) {
+        Spliterator<Line> lines = Spliterators.spliteratorUnknownSize(new LineIterator(source, blockSize),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        Stream<Line> stream = StreamSupport.stream(lines, parallel);
+        if (!ordered) {
+            stream = stream.unordered();
+        }
+        if (options.keyCacheSize() == 0) {
+            return stream.map(line -> parse(line, null)).filter(Objects::nonNull);
+        }
+        // the lines parsed by one thread share their member names, in tables that belong to this stream only rather than
+        // to the threads, which outlive it in the case of the common pool
+        Map<Thread, SymbolTable> symbols = new ConcurrentHashMap<>();
+        return stream.map(line -> parse(line, threadSymbols(symbols))).filter(Objects::nonNull);
+    }
+
+    private SymbolTable threadSymbols(Map<Thread, SymbolTable> symbols) {
+        Thread thread = Thread.currentThread();
+        SymbolTable threadSymbols = symbols.get(thread);
+        if (threadSymbols == null) {
+            threadSymbols = new SymbolTable(options.keyCacheSize());
+            symbols.put(thread, threadSymbols);
+        }
+        return threadSymbols;
+    }
+
+    private JsonElement parse(Line line, SymbolTable symbols) {
+        try {
+            Utf8JsonInput input = new Utf8JsonInput(line.bytes(), line.offset(), line.length());
+            return new JsonParseState(input, options, symbols).json();
+        } catch (JsonParseException e) {
+            errorHandler.onError(line.number(), e);
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    interface ByteSource {
+        int read(byte[] target, int offset, int length) throws IOException;
+    }
+
+    /**
+     * A line without its terminator, referring to the block it was read into.
+     */
+    private record Line(long number, byte[] bytes, int offset, int length) {
+    }
+
+    /**
+     * Splits the source into lines. Every block is read into a new array, as the lines of earlier blocks may still be
+     * waiting to be parsed.
+     */
+    private static final class LineIterator implements Iterator<Line> {
+
+        private final ByteSource source;
+        private final int blockSize;
+        private byte[] block = new byte[0];
+        private int start;
+        private int scanned;
+        private int limit;
+        private boolean reachedEnd;
+        private long lineNumber;
+        private Line next;
+
+        private LineIterator(ByteSource source, int blockSize) {
+            this.source = source;
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                int end = scanned;
+                while (end < limit && block[end] != '\n') {
+                    end++;
+                }
+                if (end < limit) {
+                    take(end, end + 1);
+                } else if (!reachedEnd) {
+                    scanned = end;
+                    refill();
+                } else if (start < limit) {
+                    take(limit, limit);
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Line next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Line line = next;
+            next = null;
+            return line;
+        }
+
+        private void take(int end, int nextStart) {
+            lineNumber++;
+            int lineEnd = end > start && block[end - 1] == '\r' ? end - 1 : end;
+            if (!isBlank(lineEnd)) {
+                next = new Line(lineNumber, block, start, lineEnd - start);
+            }
+            start = nextStart;
+            scanned = nextStart;
+        }
+
+        private boolean isBlank(int end) {
+            for (int i = start; i < end; i++) {
+                if (!CharacterClass.isWhitespace(block[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Moves the incomplete line to a new block and reads more bytes behind it.
+         */
+        private void refill() {
+            int remaining = limit - start;
+            byte[] refilled = new byte[Math.max(blockSize, remaining * 2)];
+            System.arraycopy(block, start, refilled, 0, remaining);
+            block = refilled;
+            scanned -= start;
+            start = 0;
+            limit = remaining;
+            try {
+                int read;
+                do {
+                    read = source.read(block, limit, block.length - limit);
+                } while (read == 0);
+                if (read < 0) {
+                    reachedEnd = true;
+                } else {
+                    limit += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
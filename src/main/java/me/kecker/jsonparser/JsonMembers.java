@@ -0,0 +1,180 @@
+package me.kecker.jsonparser;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable, insertion-ordered map holding the members of a {@link JsonElement.JsonObject}.
+ * <p>
+ * Names, their hash codes and values are stored in parallel arrays of exactly the member count. Small objects, which
+ * are the vast majority, are searched by a linear scan over the hash codes; larger ones additionally get an
+ * open-addressing hash index mapping names to array positions. This takes a fraction of the memory of a
+ * {@link java.util.HashMap} with its table and one node per entry.
+ */
+final class JsonMembers extends AbstractMap<String, JsonElement> {
+
+    /** Objects with more members than this get a hash index. */
+    static final int INDEX_THRESHOLD = 8;
+
+    private final String[] names;
+    private final int[] hashes;
+    private final JsonElement[] values;
+    /** Position + 1 of the member whose name hashes to the slot, 0 for empty slots; null for small objects. */
+    private final int[] index;
+
+    /**
+     * Takes the members {@code [offset, offset + count)} of the given arrays, which are not retained.
+     * If a name occurs more than once, the last value wins, at the position of the first occurrence.
+     */
+    JsonMembers(String[] names, JsonElement[] values, int offset, int count) {
+        String[] memberNames = new String[count];
+        int[] memberHashes = new int[count];
+        JsonElement[] memberValues = new JsonElement[count];
+        int[] memberIndex = count > INDEX_THRESHOLD ? new int[indexSize(count)] : null;
+        int size = 0;
+        for (int i = offset; i < offset + count; i++) {
+            String name = names[i];
+            int hash = name.hashCode();
+            int position = find(memberNames, memberHashes, memberIndex, size, name, hash);
+            if (position >= 0) {
+                memberValues[position] = values[i];
+                continue;
+            }
+            memberNames[size] = name;
+            memberHashes[size] = hash;
+            memberValues[size] = values[i];
+            size++;
+            if (memberIndex != null) {
+                insert(memberIndex, hash, size);
+            }
+        }
+        if (size < count) {
+            // duplicate names
+            memberNames = Arrays.copyOf(memberNames, size);
+            memberHashes = Arrays.copyOf(memberHashes, size);
+            memberValues = Arrays.copyOf(memberValues, size);
+            memberIndex = size > INDEX_THRESHOLD ? memberIndex : null;
+        }
+        this.names = memberNames;
+        this.hashes = memberHashes;
+        this.values = memberValues;
+        this.index = memberIndex;
+    }
+
+    @Override
+    public JsonElement get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        int position = find(names, hashes, index, names.length, name, name.hashCode());
+        return position >= 0 ? values[position] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && find(names, hashes, index, names.length, name, name.hashCode()) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super JsonElement> action) {
+        for (int i = 0; i < names.length; i++) {
+            action.accept(names[i], values[i]);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, JsonElement>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, JsonElement>> iterator() {
+                return new Iterator<>() {
+                    private int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, JsonElement> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, JsonElement> entry = new SimpleImmutableEntry<>(names[position], values[position]);
+                        position++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+
+    /**
+     * @return the position of the name among the first {@code size} names, or -1
+     */
+    private static int find(String[] names, int[] hashes, int[] index, int size, String name, int hash) {
+        if (index == null) {
+            for (int i = 0; i < size; i++) {
+                if (hashes[i] == hash && matches(names[i], name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = spread(hash) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int position = index[slot] - 1;
+            if (hashes[position] == hash && matches(names[position], name)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Names are mostly canonicalized by the parser, so the identity check usually decides.
+     */
+    private static boolean matches(String candidate, String name) {
+        return candidate == name || candidate.equals(name);
+    }
+
+    private static void insert(int[] index, int hash, int positionPlusOne) {
+        int mask = index.length - 1;
+        int slot = spread(hash) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = positionPlusOne;
+    }
+
+    /**
+     * @return a power of two of at least twice the member count, keeping probe sequences short
+     */
+    private static int indexSize(int count) {
+        return Integer.highestOneBit(count - 1) << 2;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,63 @@
+package me.kecker.jsonparser;
+
+/**
+ * Options for building {@link JsonElement} trees, see {@link JsonParser#parse(String, JsonParseOptions)}.
+ * Options are immutable, the {@code with} methods return modified copies.
+ *
+ * @param lazyNumbers whether numbers are only validated while parsing and decoded when they are accessed for the first
+ *                    time. Lazy numbers refer to the source, so the source must not be modified as long as they are in
+ *                    use. Only documents held in memory as a whole, i.e. strings, byte arrays and heap byte buffers,
+ *                    support lazy numbers; numbers of other sources are always decoded right away.
+ * @param keyCacheSize the number of distinct member names that are cached per document, so that repeated names share
+ *                     one String instance. 0 disables the cache.
+ * @param parallel whether the elements of a root array are parsed on several threads of the common
+ *                 {@link java.util.concurrent.ForkJoinPool}. Only documents held in memory that are larger than a
+ *                 megabyte are split up, and only if the pool has more than one thread.
+ * @param maxDepth the maximum number of arrays and objects a value may be nested in, including the outermost one.
+ *                 Deeper documents are rejected with a {@link me.kecker.jsonparser.exceptions.MaxDepthExceededException}
+ *                 as soon as the limit is exceeded. Nesting does not consume stack space, so the limit only guards
+ *                 against documents built to exhaust memory.
+ * @param structuralIndex whether UTF-8 documents held in byte arrays or heap buffers are scanned for the positions of
+ *                        their tokens, quotes and escapes in a first pass, see {@link StructuralIndex}. The parser then
+ *                        skips whitespace and copies strings without inspecting them byte by byte. On current JVMs,
+ *                        the first pass costs more than it saves, so the option is off by default. Other sources ignore
+ *                        it.
+ */
+public record JsonParseOptions(boolean lazyNumbers, int keyCacheSize, boolean parallel, int maxDepth,
+                               boolean structuralIndex) {
+
+    public static final int DEFAULT_KEY_CACHE_SIZE = 256;
+    public static final int DEFAULT_MAX_DEPTH = 1000;
+
+    public static final JsonParseOptions DEFAULT = new JsonParseOptions(false, DEFAULT_KEY_CACHE_SIZE, false,
+            DEFAULT_MAX_DEPTH, false);
+
+    public JsonParseOptions {
+        if (keyCacheSize < 0) {
+            throw new IllegalArgumentException("Key cache size must not be negative, but was " + keyCacheSize);
+        }
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Maximum depth must not be negative, but was " + maxDepth);
+        }
+    }
+
+    public JsonParseOptions withLazyNumbers(boolean lazyNumbers) {
+        return new JsonParseOptions(lazyNumbers, keyCacheSize, parallel, maxDepth, structuralIndex);
+    }
+
+    public JsonParseOptions withKeyCacheSize(int keyCacheSize) {
+        return new JsonParseOptions(lazyNumbers, keyCacheSize, parallel, maxDepth, structuralIndex);
+    }
+
+    public JsonParseOptions withParallel(boolean parallel) {
+        return new JsonParseOptions(lazyNumbers, keyCacheSize, parallel, maxDepth, structuralIndex);
+    }
+
+    public JsonParseOptions withMaxDepth(int maxDepth) {
+        return new JsonParseOptions(lazyNumbers, keyCacheSize, parallel, maxDepth, structuralIndex);
+    }
+
+    public JsonParseOptions withStructuralIndex(boolean structuralIndex) {
+        return new JsonParseOptions(lazyNumbers, keyCacheSize, parallel, maxDepth, structuralIndex);
+    }
+}
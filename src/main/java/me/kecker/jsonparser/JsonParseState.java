@@ -3,19 +3,15 @@ package me.kecker.jsonparser;
 import me.kecker.jsonparser.exceptions.IllegalNumberException;
 import me.kecker.jsonparser.exceptions.IllegalTokenException;
 import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.MaxDepthExceededException;
 import me.kecker.jsonparser.exceptions.UnexpectedCharacterException;
 
 import java.math.BigDecimal;
 import java.util.AbstractMap;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 
 public class JsonParseState {
-    private static final Set<Character> WHITESPACE = Set.of('\u0020', '\n', '\r', '\u0009');
     private static final char QUOTE = '"';
     private static final char CURLY_BRACE_OPEN = '{';
     private static final char CURLY_BRACE_CLOSE = '}';
@@ -25,123 +21,403 @@ public class JsonParseState {
     private static final char COLON = ':';
     private static final char BACKSLASH = '\\';
     public static final char PLUS = '+';
+    private static final char MINUS = '-';
+    private static final char DECIMAL_POINT = '.';
 
     public static final String POINT = ".";
+    private static final String NULL_LITERAL = "null";
+    private static final String TRUE_LITERAL = "true";
+    private static final String FALSE_LITERAL = "false";
+
+    // passed to value(JsonVisitor, int) to validate a value without decoding its names, strings and numbers
+    private static final JsonVisitor SKIPPING = new JsonVisitor() {
+    };
+
+    private JsonInput input;
+    private final JsonParseOptions options;
+    private SymbolTable symbols;
+    // walked instead of the input to skip whitespace and copy strings, if enabled by the options (see structuralIndex())
+    private StructuralIndex index;
+
+    // the number consumed by the last scanNumber(), as text and, unless it exceeds the range, as significand and scale
+    // (skipNumber() only validates the number and sets exceedsPrimitiveRange)
+    private boolean decodingNumber;
+    private char[] numberText = new char[32];
+    private int numberLength;
+    private long significand;
+    private int scale;
+    private boolean exceedsPrimitiveRange;
+
+    // whether each container open in value(JsonVisitor) is an object, innermost last
+    private boolean[] containers;
+
+    // set by validate(), which reports the position of the offending character of a malformed number or literal; they
+    // are consumed as a whole for the error message, so the position is recorded before (see markError(int))
+    private boolean validating;
+    private int errorPosition;
 
-    private final String source;
-    private char current;
-    private int currentIndex;
+    public JsonParseState(String source) {
+        this(new StringJsonInput(source));
+    }
+
+    public JsonParseState(JsonInput input) {
+        this(input, JsonParseOptions.DEFAULT);
+    }
 
+    public JsonParseState(JsonInput input, JsonParseOptions options) {
+        this(input, options, null);
+    }
 
-    public JsonParseState(String source) {
-        this.source = source;
-        this.currentIndex = 0;
-        this.current = reachedEnd() ? 0 : this.source.charAt(0);
+    /**
+     * @param symbols the symbol table to canonicalize member names with, so that it can be shared by several documents
+     *                parsed on the same thread, or null to create one on demand
+     */
+    JsonParseState(JsonInput input, JsonParseOptions options, SymbolTable symbols) {
+        this.input = input;
+        this.options = options;
+        this.symbols = symbols;
+        this.index = structuralIndex(input);
+    }
+
+    /**
+     * Continues with another input, keeping the scratch buffers and the symbol table grown for the previous ones.
+     */
+    void reset(JsonInput input) {
+        this.input = input;
+        this.index = structuralIndex(input);
+    }
+
+    private StructuralIndex structuralIndex(JsonInput input) {
+        return options.structuralIndex() ? input.structuralIndex() : null;
     }
 
     public char current() {
         assert !reachedEnd();
-        return current;
+        return input.current();
     }
 
     public void advance() {
-        this.currentIndex++;
-        this.current = reachedEnd() ? 0 : this.source.charAt(this.currentIndex);
+        input.advance();
     }
 
     public boolean reachedEnd() {
-        return currentIndex == this.source.length();
+        return input.reachedEnd();
+    }
+
+    /**
+     * @return the source text of the input, or null if it is not held in memory, see {@link JsonInput#text()}
+     */
+    CharSequence text() {
+        return input.text();
+    }
+
+    int position() {
+        return input.position();
+    }
+
+    void seek(int position) {
+        input.seek(position);
     }
 
     public void whitespace() {
-        while (!this.reachedEnd() && WHITESPACE.contains(this.current())) {
-            this.advance();
+        if (index == null) {
+            input.skipWhitespace();
+        } else if (!reachedEnd() && CharacterClass.isWhitespace(current())) {
+            input.seek(index.nextToken(input.position()));
         }
     }
 
     public JsonElement.JsonNull nullType() throws JsonParseException {
-        StringBuilder wordBuilder = new StringBuilder();
-        while (!reachedEnd() && Character.isAlphabetic(current())) {
-            wordBuilder.append(current());
-            advance();
-        }
-        String word = wordBuilder.toString();
-        if (!word.equals("null")) {
-            throw new IllegalTokenException("Input '" + word + "' is not a valid nullType.");
+        String mismatch = word(NULL_LITERAL);
+        if (mismatch != null) {
+            throw new IllegalTokenException("Input '" + mismatch + "' is not a valid nullType.");
         }
         return JsonElement.NULL;
     }
 
     public JsonElement.JsonBoolean bool() throws IllegalTokenException {
-        StringBuilder wordBuilder = new StringBuilder();
-        while (!reachedEnd() && Character.isAlphabetic(current())) {
-            wordBuilder.append(current());
+        boolean value = reachedEnd() || current() != 'f';
+        String mismatch = word(value ? TRUE_LITERAL : FALSE_LITERAL);
+        if (mismatch != null) {
+            throw new IllegalTokenException("Input '" + mismatch + "' is not a valid boolean.");
+        }
+        return value ? JsonElement.JsonBoolean.TRUE : JsonElement.JsonBoolean.FALSE;
+    }
+
+    /**
+     * Consumes the word (the run of letters) at the current position and compares it to the expected literal
+     * character by character. The word is only materialized if it does not match.
+     *
+     * @return null if the word equals the expected literal, the actual word otherwise
+     */
+    private String word(String expected) {
+        int matched = 0;
+        while (matched < expected.length() && !reachedEnd() && current() == expected.charAt(matched)) {
             advance();
+            matched++;
         }
-        String word = wordBuilder.toString();
-        if (word.equals("true")) {
-            return JsonElement.JsonBoolean.TRUE;
+        if (matched == expected.length() && (reachedEnd() || !CharacterClass.isLetter(current()))) {
+            return null;
         }
-        if (word.equals("false")) {
-            return JsonElement.JsonBoolean.FALSE;
+        markError(0);
+        StringBuilder wordBuilder = new StringBuilder().append(expected, 0, matched);
+        while (!reachedEnd() && CharacterClass.isLetter(current())) {
+            wordBuilder.append(current());
+            advance();
         }
-        throw new IllegalTokenException("Input '" + word + "' is not a valid boolean.");
+        return wordBuilder.toString();
     }
 
     public JsonElement.JsonNumber number() throws JsonParseException {
+        CharSequence text = options.lazyNumbers() ? input.text() : null;
+        if (text != null) {
+            return lazyNumber(text);
+        }
+        scanNumber();
+        if (!exceedsPrimitiveRange) {
+            return JsonElement.JsonNumber.valueOf(significand, scale);
+        }
+        return new JsonElement.JsonNumber(scannedNumber());
+    }
+
+    /**
+     * Only validates the number and refers to its position in the source text, which is decoded on first access.
+     */
+    private JsonElement.JsonNumber lazyNumber(CharSequence text) throws JsonParseException {
+        int start = input.position();
+        skipNumber();
+        int end = input.position();
+        if (!exceedsPrimitiveRange) {
+            return JsonElement.JsonNumber.lazy(text, start, end);
+        }
+        // the exponent exceeds the range of BigDecimal, which is reported right away like for eagerly decoded numbers
+        try {
+            return new JsonElement.JsonNumber(new BigDecimal(text.subSequence(start, end).toString()));
+        } catch (NumberFormatException e) {
+            throw new IllegalNumberException(e);
+        }
+    }
+
+    /**
+     * Consumes the number at the current position, validating it against the RFC 8259 grammar in a single pass.
+     * Its digits are accumulated into a {@code long} significand and a decimal scale on the way, so that the common
+     * case neither builds a String nor parses one afterwards. Only numbers exceeding that range fall back to the
+     * scanned text, see {@link #scannedNumber()}.
+     */
+    void scanNumber() throws JsonParseException {
+        decodingNumber = true;
+        consumeNumber();
+    }
+
+    /**
+     * Consumes and validates the number at the current position like {@link #scanNumber()}, but without decoding it.
+     * Afterwards, only {@link #exceedsPrimitiveRange} is set, if the exponent exceeds the range of {@link BigDecimal}.
+     */
+    void skipNumber() throws JsonParseException {
+        decodingNumber = false;
+        consumeNumber();
+    }
+
+    private void consumeNumber() throws JsonParseException {
         if (current() == PLUS) {
             throw new JsonParseException("Number must not start with a plus");
         }
-        StringBuilder numberStringBuilder = new StringBuilder();
-        while (!reachedEnd() && mightOccurInNumber(current())) {
-            numberStringBuilder.append(current());
-            advance();
+        numberLength = 0;
+        significand = 0;
+        exceedsPrimitiveRange = false;
+
+        boolean negative = nextIs(MINUS);
+        if (negative) {
+            appendNumberCharacter();
+        }
+        if (!nextIsDigit()) {
+            throw illegalNumber(nextIs(DECIMAL_POINT) ? "Number must not start with a leading point" : "Number must start with a digit", 0);
+        }
+        if (current() == '0') {
+            appendNumberCharacter();
+            if (nextIsDigit()) {
+                throw illegalNumber("Number must not start with a leading zero", -1);
+            }
+        } else {
+            while (nextIsDigit()) {
+                appendSignificandDigit();
+            }
         }
 
-        String stringValue = numberStringBuilder.toString();
-        int absoluteValueStartIndex = stringValue.startsWith("-") ? 1 : 0;
-        int exponentStartIndex = Math.max(stringValue.lastIndexOf('e'), stringValue.lastIndexOf('E'));
-        String absoluteValue = stringValue.substring(absoluteValueStartIndex);
-        String stringValueWithoutExponent =
-                exponentStartIndex == -1 ?
-                        stringValue :
-                        stringValue.substring(0, exponentStartIndex);
+        int fractionDigits = 0;
+        if (nextIs(DECIMAL_POINT)) {
+            appendNumberCharacter();
+            if (!nextIsDigit()) {
+                throw illegalNumber("Number must not end with a trailing point", -1);
+            }
+            while (nextIsDigit()) {
+                appendSignificandDigit();
+                fractionDigits++;
+            }
+        }
 
-        if ((absoluteValue.matches("0\\d+.*"))) {
-            throw new IllegalNumberException("Number must not start with a leading zero, but was \"" + stringValue + "\"");
+        long exponent = 0;
+        if (nextIs('e') || nextIs('E')) {
+            appendNumberCharacter();
+            boolean negativeExponent = nextIs(MINUS);
+            if (negativeExponent || nextIs(PLUS)) {
+                appendNumberCharacter();
+            }
+            if (!nextIsDigit()) {
+                throw illegalNumber("Exponent must contain at least one digit", 0);
+            }
+            while (nextIsDigit()) {
+                if (exponent <= Integer.MAX_VALUE) {
+                    exponent = exponent * 10 + (current() - '0');
+                }
+                appendNumberCharacter();
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
         }
-        if (absoluteValue.startsWith(POINT)) {
-            throw new IllegalNumberException("Number must not start with a leading point, but was \"" + stringValue + "\"");
+        if (!reachedEnd() && CharacterClass.mightOccurInNumber(current())) {
+            throw illegalNumber("Unexpected character '" + current() + "' in number", 0);
         }
-        if (stringValue.endsWith(POINT) || stringValueWithoutExponent.endsWith(POINT)) {
-            throw new IllegalNumberException("Number must not end with a trailing point, but was \"" + stringValue + "\"");
+
+        long numberScale = fractionDigits - exponent;
+        if (numberScale < Integer.MIN_VALUE || numberScale > Integer.MAX_VALUE) {
+            exceedsPrimitiveRange = true;
+        }
+        scale = (int) numberScale;
+        if (negative) {
+            significand = -significand;
         }
+    }
 
+    /**
+     * @return the value of the number consumed by the last {@link #scanNumber()}
+     */
+    BigDecimal scannedNumber() throws IllegalNumberException {
+        if (!exceedsPrimitiveRange) {
+            return BigDecimal.valueOf(significand, scale);
+        }
         try {
-            return new JsonElement.JsonNumber(new BigDecimal(stringValue));
+            return new BigDecimal(numberText, 0, numberLength);
         } catch (NumberFormatException e) {
             throw new IllegalNumberException(e);
         }
     }
 
-    private static boolean mightOccurInNumber(char character) {
-        return (character >= '0' && character <= '9')
-                || character == '-'
-                || character == '+'
-                || character == '.'
-                || character == 'e'
-                || character == 'E';
+    /**
+     * @throws ArithmeticException if the number consumed by the last {@link #scanNumber()} is no {@code long} value
+     */
+    long scannedLongExact() throws IllegalNumberException {
+        if (exceedsPrimitiveRange) {
+            return scannedNumber().longValueExact();
+        }
+        return NumberUtils.toLongExact(significand, scale);
+    }
+
+    double scannedDouble() throws IllegalNumberException {
+        if (exceedsPrimitiveRange) {
+            return scannedNumber().doubleValue();
+        }
+        return NumberUtils.toDouble(significand, scale);
+    }
+
+    float scannedFloat() throws IllegalNumberException {
+        if (exceedsPrimitiveRange) {
+            return scannedNumber().floatValue();
+        }
+        return NumberUtils.toFloat(significand, scale);
+    }
+
+    String scannedText() {
+        return new String(numberText, 0, numberLength);
+    }
 
+    private boolean nextIs(char expected) {
+        return !reachedEnd() && current() == expected;
+    }
 
+    private boolean nextIsDigit() {
+        return !reachedEnd() && NumberUtils.isDigit(current());
+    }
+
+    private void appendSignificandDigit() {
+        if (decodingNumber) {
+            if (significand <= NumberUtils.MAX_SIGNIFICAND_BEFORE_DIGIT) {
+                significand = significand * 10 + (current() - '0');
+            } else {
+                exceedsPrimitiveRange = true;
+            }
+        }
+        appendNumberCharacter();
+    }
+
+    private void appendNumberCharacter() {
+        if (!decodingNumber) {
+            advance();
+            return;
+        }
+        if (numberLength == numberText.length) {
+            numberText = Arrays.copyOf(numberText, numberLength * 2);
+        }
+        numberText[numberLength++] = current();
+        advance();
+    }
+
+    /**
+     * Consumes the remainder of a malformed number, so that the message shows all of it.
+     *
+     * @param offset the position of the offending character relative to the current one, see {@link #markError(int)}
+     */
+    private IllegalNumberException illegalNumber(String reason, int offset) {
+        markError(offset);
+        while (!reachedEnd() && CharacterClass.mightOccurInNumber(current())) {
+            appendNumberCharacter();
+        }
+        if (!decodingNumber) {
+            return new IllegalNumberException(reason);
+        }
+        return new IllegalNumberException(reason + ", but was \"" + scannedText() + "\"");
     }
 
     public JsonElement.JsonString string() throws JsonParseException {
         return new JsonElement.JsonString(stringRaw());
     }
 
-    private String stringRaw() throws JsonParseException {
-        assertCharacterAndAdvance(QUOTE);
-        StringBuilder wordBuilder = new StringBuilder();
+    String stringRaw() throws JsonParseException {
+        return string(null);
+    }
+
+    /**
+     * Reads a member name, which is canonicalized through the symbol table unless it is disabled by the options.
+     */
+    String name() throws JsonParseException {
+        if (symbols == null && options.keyCacheSize() > 0) {
+            symbols = new SymbolTable(options.keyCacheSize());
+        }
+        return string(symbols);
+    }
+
+    /**
+     * Strings without escape sequences are copied out of the input in one piece. Only escape sequences require
+     * assembling the string in a builder. With a structural index, the end of ASCII strings is looked up instead.
+     */
+    private String string(SymbolTable symbols) throws JsonParseException {
+        assertCharacter(QUOTE);
+        if (index != null) {
+            int start = input.position() + 1;
+            int end = index.closingQuote(start);
+            if (end >= 0) {
+                input.seek(end + 1);
+                return symbols == null ? index.string(start, end) : index.name(symbols, start, end);
+            }
+        }
+        advance();
+        String run = symbols == null ? input.stringRun() : input.stringRun(symbols);
+        if (!reachedEnd() && current() == QUOTE) {
+            advance();
+            return run;
+        }
+        StringBuilder wordBuilder = new StringBuilder(run.length() + 16).append(run);
         while (!reachedEnd() && current() != QUOTE) {
             if (current() == BACKSLASH) {
                 advance();
@@ -151,16 +427,42 @@ public class JsonParseState {
             if (current() < 0x20) {
                 throw new UnexpectedCharacterException("non-control character", current());
             }
-            wordBuilder.append(current());
-            advance();
+            input.appendStringRun(wordBuilder);
         }
         String word = wordBuilder.toString();
         assertCharacterAndAdvance(QUOTE);
-        return word;
+        return symbols == null ? word : symbols.intern(word);
+    }
 
+    /**
+     * Skips a string without building its value, while still rejecting everything {@link #string()} would reject.
+     */
+    void skipString() throws JsonParseException {
+        assertCharacter(QUOTE);
+        if (index != null) {
+            int end = index.closingQuote(input.position() + 1);
+            if (end >= 0) {
+                input.seek(end + 1);
+                return;
+            }
+        }
+        advance();
+        while (true) {
+            input.skipStringRun();
+            if (reachedEnd() || current() == QUOTE) {
+                break;
+            }
+            if (current() == BACKSLASH) {
+                advance();
+                escape();
+                continue;
+            }
+            throw new UnexpectedCharacterException("non-control character", current());
+        }
+        assertCharacterAndAdvance(QUOTE);
     }
 
-    private String escape() throws JsonParseException {
+    private char escape() throws JsonParseException {
         if (reachedEnd()) {
             throw new JsonParseException("Illegal trailing backslash!");
         }
@@ -171,18 +473,19 @@ public class JsonParseState {
                 total *= 16;
                 total += hex();
             }
-            return new String(Character.toChars(total));
-        }
-
-        String escape = switch (current()) {
-            case '"' -> "\"";
-            case '\\' -> "\\";
-            case '/' -> "/";
-            case 'b' -> "\b";
-            case 'f' -> "\f";
-            case 'n' -> "\n";
-            case 'r' -> "\r";
-            case 't' -> "\t";
+            // four hex digits encode exactly one UTF-16 code unit
+            return (char) total;
+        }
+
+        char escape = switch (current()) {
+            case '"' -> '"';
+            case '\\' -> '\\';
+            case '/' -> '/';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
             default -> throw new JsonParseException("Unexpected value: " + current());
         };
         advance();
@@ -193,61 +496,59 @@ public class JsonParseState {
         if (reachedEnd()) {
             throw new JsonParseException("Unexpected EOI.");
         }
-        int i = Character.getNumericValue(current());
-        if (i > 16) {
-            throw new UnexpectedCharacterException("matching regex [0-9a-f]", current());
+        int value = CharacterClass.hexValue(current());
+        if (value < 0) {
+            throw new UnexpectedCharacterException("matching regex [0-9a-fA-F]", current());
         }
         advance();
-        return i;
+        return value;
     }
 
     public JsonElement.JsonObject object() throws JsonParseException {
-        assertCharacterAndAdvance(CURLY_BRACE_OPEN);
-        whitespace();
-        Map<String, JsonElement> members = new HashMap<>();
-        if (!reachedEnd() && current() != CURLY_BRACE_CLOSE) {
-            Map.Entry<String, JsonElement> firstMember = member();
-            members.put(firstMember.getKey(), firstMember.getValue());
-            while (!reachedEnd() && current() == COMMA) {
-                assertCharacterAndAdvance(COMMA);
-                Map.Entry<String, JsonElement> additionalMember = member();
-                members.put(additionalMember.getKey(), additionalMember.getValue());
-            }
-        }
-        assertCharacterAndAdvance(CURLY_BRACE_CLOSE);
-        return new JsonElement.JsonObject(members);
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        object(builder);
+        return (JsonElement.JsonObject) builder.result();
+    }
+
+    public void object(JsonVisitor visitor) throws JsonParseException {
+        assertCharacter(CURLY_BRACE_OPEN);
+        value(visitor);
     }
 
     public Map.Entry<String, JsonElement> member() throws JsonParseException {
         whitespace();
-        String key = stringRaw();
+        String key = name();
         whitespace();
         assertCharacterAndAdvance(COLON);
         JsonElement value = element();
         return new AbstractMap.SimpleImmutableEntry<>(key, value);
     }
 
-    public JsonElement.JsonArray array() throws JsonParseException {
-        assertCharacterAndAdvance(BRACKETS_OPEN);
+    public void member(JsonVisitor visitor) throws JsonParseException {
         whitespace();
-        List<JsonElement> elements = new ArrayList<>();
-        if (!reachedEnd() && current() != BRACKETS_CLOSE) {
-            elements.add(element());
-            while (!reachedEnd() && current() == COMMA) {
-                assertCharacterAndAdvance(COMMA);
-                elements.add(element());
-            }
-        }
-        assertCharacterAndAdvance(BRACKETS_CLOSE);
-        return new JsonElement.JsonArray(Collections.unmodifiableList(elements));
+        visitor.key(name());
+        whitespace();
+        assertCharacterAndAdvance(COLON);
+        element(visitor);
+    }
+
+    public JsonElement.JsonArray array() throws JsonParseException {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        array(builder);
+        return (JsonElement.JsonArray) builder.result();
+    }
+
+    public void array(JsonVisitor visitor) throws JsonParseException {
+        assertCharacter(BRACKETS_OPEN);
+        value(visitor);
     }
 
-    private void assertCharacterAndAdvance(char expected) throws UnexpectedCharacterException {
+    void assertCharacterAndAdvance(char expected) throws UnexpectedCharacterException {
         assertCharacter(expected);
         advance();
     }
 
-    private void assertCharacter(char expected) throws UnexpectedCharacterException {
+    void assertCharacter(char expected) throws UnexpectedCharacterException {
         if (reachedEnd()) {
             throw new UnexpectedCharacterException(expected);
         }
@@ -257,22 +558,168 @@ public class JsonParseState {
     }
 
     public JsonElement value() throws JsonParseException {
-        if (reachedEnd()) {
-            throw new JsonParseException("Unexpected EOI");
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        value(builder);
+        return builder.result();
+    }
+
+    /**
+     * Reports the value at the current position to the visitor, descending into arrays and objects.
+     * <p>
+     * The open arrays and objects are tracked on an explicit stack instead of by recursion, so that deeply nested
+     * documents neither overflow the thread stack nor have to be parsed in deep call chains. The nesting depth is
+     * limited by {@link JsonParseOptions#maxDepth()}.
+     */
+    public void value(JsonVisitor visitor) throws JsonParseException {
+        value(visitor, 0);
+    }
+
+    /**
+     * @param enclosingDepth the number of containers the value is nested in, which count towards the maximum depth
+     */
+    void value(JsonVisitor visitor, int enclosingDepth) throws JsonParseException {
+        int depth = 0;
+        while (true) {
+            // descend until a scalar or an empty container has been read
+            if (reachedEnd()) {
+                throw new JsonParseException("Unexpected EOI");
+            }
+            char opening = current();
+            if (opening == CURLY_BRACE_OPEN || opening == BRACKETS_OPEN) {
+                boolean object = opening == CURLY_BRACE_OPEN;
+                checkDepth(enclosingDepth + depth + 1);
+                advance();
+                startContainer(visitor, object);
+                whitespace();
+                char closing = object ? CURLY_BRACE_CLOSE : BRACKETS_CLOSE;
+                if (reachedEnd() || current() == closing) {
+                    assertCharacterAndAdvance(closing);
+                    endContainer(visitor, object);
+                } else {
+                    depth = push(depth, object);
+                    if (object) {
+                        memberName(visitor);
+                    }
+                    whitespace();
+                    continue;
+                }
+            } else {
+                scalar(visitor);
+            }
+
+            // ascend out of the containers whose last element has been read, up to one with another element
+            while (depth > 0) {
+                whitespace();
+                boolean object = containers[depth - 1];
+                if (!reachedEnd() && current() == COMMA) {
+                    advance();
+                    if (object) {
+                        memberName(visitor);
+                    }
+                    whitespace();
+                    break;
+                }
+                assertCharacterAndAdvance(object ? CURLY_BRACE_CLOSE : BRACKETS_CLOSE);
+                depth--;
+                endContainer(visitor, object);
+            }
+            if (depth == 0) {
+                return;
+            }
         }
-        return switch (current()) {
+    }
+
+    /**
+     * Validates the value at the current position, including all nested values, without decoding it.
+     *
+     * @param enclosingDepth the number of containers the value is nested in, which count towards the maximum depth
+     */
+    void skipValue(int enclosingDepth) throws JsonParseException {
+        value(SKIPPING, enclosingDepth);
+    }
+
+    private void scalar(JsonVisitor visitor) throws JsonParseException {
+        if (visitor == SKIPPING) {
+            skipScalar();
+            return;
+        }
+        switch (current()) {
+            case 't', 'f' -> visitor.bool(bool().value());
+            case 'n' -> {
+                nullType();
+                visitor.nullValue();
+            }
+            case QUOTE -> visitor.string(stringRaw());
+            default -> {
+                if (!CharacterClass.mightOccurInNumber(current())) {
+                    throw new JsonParseException("Unexpected value: " + current());
+                }
+                visitor.number(number());
+            }
+        }
+    }
+
+    private void skipScalar() throws JsonParseException {
+        switch (current()) {
             case 't', 'f' -> bool();
             case 'n' -> nullType();
-            case QUOTE -> string();
-            case CURLY_BRACE_OPEN -> object();
-            case BRACKETS_OPEN -> array();
+            case QUOTE -> skipString();
             default -> {
-                if (mightOccurInNumber(current())) {
-                    yield number();
+                if (!CharacterClass.mightOccurInNumber(current())) {
+                    throw new JsonParseException("Unexpected value: " + current());
                 }
-                throw new JsonParseException("Unexpected value: " + current());
+                skipNumber();
             }
-        };
+        }
+    }
+
+    /**
+     * Reads the name of a member and the colon following it, like {@link #member(JsonVisitor)} without its value.
+     */
+    private void memberName(JsonVisitor visitor) throws JsonParseException {
+        whitespace();
+        if (visitor == SKIPPING) {
+            skipString();
+        } else {
+            visitor.key(name());
+        }
+        whitespace();
+        assertCharacterAndAdvance(COLON);
+    }
+
+    private int push(int depth, boolean object) {
+        if (containers == null) {
+            containers = new boolean[16];
+        } else if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+        }
+        containers[depth] = object;
+        return depth + 1;
+    }
+
+    /**
+     * @throws MaxDepthExceededException if a value would be nested in more containers than the options allow
+     */
+    void checkDepth(int depth) throws MaxDepthExceededException {
+        if (depth > options.maxDepth()) {
+            throw new MaxDepthExceededException(options.maxDepth());
+        }
+    }
+
+    private static void startContainer(JsonVisitor visitor, boolean object) {
+        if (object) {
+            visitor.startObject();
+        } else {
+            visitor.startArray();
+        }
+    }
+
+    private static void endContainer(JsonVisitor visitor, boolean object) {
+        if (object) {
+            visitor.endObject();
+        } else {
+            visitor.endArray();
+        }
     }
 
     public JsonElement element() throws JsonParseException {
@@ -282,11 +729,62 @@ public class JsonParseState {
         return value;
     }
 
+    public void element(JsonVisitor visitor) throws JsonParseException {
+        element(visitor, 0);
+    }
+
+    /**
+     * @param enclosingDepth the number of containers the element is nested in, which count towards the maximum depth
+     */
+    void element(JsonVisitor visitor, int enclosingDepth) throws JsonParseException {
+        whitespace();
+        value(visitor, enclosingDepth);
+        whitespace();
+    }
+
+    /**
+     * Checks the document like {@link #json(JsonVisitor)}, but without decoding its names, strings and numbers. Numbers
+     * are checked against the grammar only, so exponents exceeding the range of {@link BigDecimal} are accepted.
+     *
+     * @return {@link JsonParser#VALID}, or the position in the source of the character that makes the document invalid
+     */
+    int validate() {
+        validating = true;
+        errorPosition = JsonParser.VALID;
+        try {
+            whitespace();
+            skipValue(0);
+            whitespace();
+            return reachedEnd() ? JsonParser.VALID : input.position();
+        } catch (JsonParseException e) {
+            return errorPosition == JsonParser.VALID ? input.position() : errorPosition;
+        } finally {
+            validating = false;
+        }
+    }
+
+    /**
+     * Records the position of the offending character while validating, before the malformed token it belongs to is
+     * consumed. Offending characters consumed already are always ASCII, so the offset counts single bytes as well.
+     *
+     * @param offset the position of the offending character relative to the current one
+     */
+    private void markError(int offset) {
+        if (validating) {
+            errorPosition = input.position() + offset;
+        }
+    }
+
     public JsonElement json() throws JsonParseException {
-        JsonElement element = element();
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        json(builder);
+        return builder.result();
+    }
+
+    public void json(JsonVisitor visitor) throws JsonParseException {
+        element(visitor);
         if (!reachedEnd()) {
             throw new JsonParseException("JSON standard allows only one top-level value.");
         }
-        return element;
     }
 }
@@ -2,13 +2,209 @@ package me.kecker.jsonparser;
 
 import me.kecker.jsonparser.exceptions.JsonParseException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
 public class JsonParser {
 
+    /**
+     * Returned by the {@code validate} methods for valid documents.
+     */
+    public static final int VALID = -1;
+
     public static JsonElement parse(String source) throws JsonParseException {
-        JsonParseState jsonParseState = new JsonParseState(source);
+        return parse(new StringJsonInput(source));
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON without decoding it into a {@link String} first.
+     */
+    public static JsonElement parse(byte[] source) throws JsonParseException {
+        return parse(new Utf8JsonInput(source));
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON in {@code source[offset, offset + length)}.
+     */
+    public static JsonElement parse(byte[] source, int offset, int length) throws JsonParseException {
+        return parse(new Utf8JsonInput(source, offset, length));
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON between the buffer's position and limit. The buffer's position is not modified.
+     */
+    public static JsonElement parse(ByteBuffer source) throws JsonParseException {
+        return parse(new Utf8JsonInput(source));
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON while reading it from the stream, holding only a fixed-size buffer of the source in memory.
+     * The stream is read until its end but not closed.
+     */
+    public static JsonElement parse(InputStream source) throws JsonParseException, IOException {
+        try {
+            return parse(new Utf8JsonInput(source));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses JSON while reading it from the reader, holding only a fixed-size buffer of the source in memory.
+     * The reader is read until its end but not closed.
+     */
+    public static JsonElement parse(Reader source) throws JsonParseException, IOException {
+        try {
+            return parse(new ReaderJsonInput(source));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON while reading it from the channel, holding only a fixed-size buffer of the source in memory.
+     * The channel must be in blocking mode. It is read until its end but not closed.
+     */
+    public static JsonElement parse(ReadableByteChannel source) throws JsonParseException, IOException {
+        try {
+            return parse(new Utf8JsonInput(source));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses the UTF-8 encoded file by mapping it into memory instead of reading it into a {@link String} first, so that
+     * only the resulting tree is held on the heap, see {@link MappedJsonInput}.
+     */
+    public static JsonElement parse(Path file) throws JsonParseException, IOException {
+        return parse(file, JsonParseOptions.DEFAULT);
+    }
+
+    public static JsonElement parse(Path file, JsonParseOptions options) throws JsonParseException, IOException {
+        try {
+            return parse(new MappedJsonInput(file), options);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static JsonElement parse(JsonInput input) throws JsonParseException {
+        return parse(input, JsonParseOptions.DEFAULT);
+    }
+
+    public static JsonElement parse(String source, JsonParseOptions options) throws JsonParseException {
+        return parse(new StringJsonInput(source), options);
+    }
+
+    public static JsonElement parse(byte[] source, JsonParseOptions options) throws JsonParseException {
+        return parse(new Utf8JsonInput(source), options);
+    }
+
+    public static JsonElement parse(JsonInput input, JsonParseOptions options) throws JsonParseException {
+        if (options.parallel()) {
+            return ParallelArrayParser.parse(input, options);
+        }
+        JsonParseState jsonParseState = new JsonParseState(input, options);
         return jsonParseState.json();
     }
 
+    /**
+     * Reports the document to the visitor instead of building a tree.
+     */
+    public static void parse(String source, JsonVisitor visitor) throws JsonParseException {
+        parse(new StringJsonInput(source), visitor);
+    }
+
+    /**
+     * Reports the UTF-8 encoded document to the visitor instead of building a tree.
+     */
+    public static void parse(byte[] source, JsonVisitor visitor) throws JsonParseException {
+        parse(new Utf8JsonInput(source), visitor);
+    }
+
+    public static void parse(JsonInput input, JsonVisitor visitor) throws JsonParseException {
+        parse(input, visitor, JsonParseOptions.DEFAULT);
+    }
+
+    /**
+     * Reports the document to the visitor like {@link #parse(String, JsonVisitor)}. Documents are always reported on the
+     * calling thread, so {@link JsonParseOptions#parallel()} is ignored.
+     */
+    public static void parse(String source, JsonVisitor visitor, JsonParseOptions options) throws JsonParseException {
+        parse(new StringJsonInput(source), visitor, options);
+    }
+
+    public static void parse(byte[] source, JsonVisitor visitor, JsonParseOptions options) throws JsonParseException {
+        parse(new Utf8JsonInput(source), visitor, options);
+    }
+
+    public static void parse(JsonInput input, JsonVisitor visitor, JsonParseOptions options) throws JsonParseException {
+        JsonParseState jsonParseState = new JsonParseState(input, options);
+        jsonParseState.json(visitor);
+    }
+
+    /**
+     * Records the document on a flat {@link JsonTape} instead of building a tree.
+     */
+    public static JsonTape parseTape(String source) throws JsonParseException {
+        return parseTape(new StringJsonInput(source), JsonParseOptions.DEFAULT);
+    }
+
+    /**
+     * Records the UTF-8 encoded document on a flat {@link JsonTape} instead of building a tree.
+     */
+    public static JsonTape parseTape(byte[] source) throws JsonParseException {
+        return parseTape(new Utf8JsonInput(source), JsonParseOptions.DEFAULT);
+    }
+
+    /**
+     * Records the document on a flat {@link JsonTape} instead of building a tree. The tape decodes its values from the
+     * input, so the input has to hold its source in memory.
+     *
+     * @throws IllegalArgumentException if the input reads its source from a stream
+     */
+    public static JsonTape parseTape(JsonInput input, JsonParseOptions options) throws JsonParseException {
+        return JsonTape.parse(input, options);
+    }
+
+    /**
+     * Checks that the source is a valid JSON document without building a tree or decoding its strings and numbers. The
+     * source is scanned once and, independent of its size, only a few fixed-size objects are allocated. Numbers are
+     * checked against the grammar only, so unlike {@link #parse(String)}, exponents exceeding the range of
+     * {@link java.math.BigDecimal} are accepted.
+     *
+     * @return {@link #VALID}, or the index of the character at which the document turned out to be invalid
+     */
+    public static int validate(String source) {
+        return new JsonParseState(new StringJsonInput(source)).validate();
+    }
+
+    /**
+     * Checks UTF-8 encoded JSON like {@link #validate(String)}.
+     *
+     * @return {@link #VALID}, or the offset of the byte at which the document turned out to be invalid
+     */
+    public static int validate(byte[] source) {
+        return validate(source, 0, source.length);
+    }
+
+    /**
+     * Checks the UTF-8 encoded JSON in {@code source[offset, offset + length)} like {@link #validate(String)}.
+     *
+     * @return {@link #VALID}, or the offset of the byte at which the document turned out to be invalid, relative to
+     * {@code offset}
+     */
+    public static int validate(byte[] source, int offset, int length) {
+        int position = new JsonParseState(new Utf8JsonInput(source, offset, length)).validate();
+        return position == VALID ? VALID : position - offset;
+    }
+
     private JsonParser() {
         // class should not be instantiated
     }
@@ -0,0 +1,106 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of {@link ReusableJsonParser}s shared by concurrent callers.
+ * <p>
+ * Unlike thread-local parsers, pooled parsers are also reused by virtual threads, which are typically created per task
+ * and would each get a parser of their own. Parsers are taken from and returned to fixed slots with atomic operations,
+ * without locking or allocating. If all pooled parsers are in use, a new parser is created, and a parser that is
+ * returned to a full pool is dropped.
+ */
+public final class JsonParserPool {
+
+    private final JsonParseOptions options;
+    private final AtomicReferenceArray<ReusableJsonParser> parsers;
+
+    /**
+     * Creates a pool of default parsers with two slots per available processor.
+     */
+    public JsonParserPool() {
+        this(JsonParseOptions.DEFAULT, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param size the maximum number of idle parsers kept in the pool
+     */
+    public JsonParserPool(JsonParseOptions options, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive, but was " + size);
+        }
+        this.options = Objects.requireNonNull(options);
+        this.parsers = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * @return an idle parser of the pool, or a new one if there is none. It should be {@link #release released} once it
+     * is no longer needed.
+     */
+    public ReusableJsonParser acquire() {
+        int size = parsers.length();
+        // starting at a random slot spreads concurrent callers across the slots
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            int slot = (start + i) % size;
+            ReusableJsonParser parser = parsers.get(slot);
+            if (parser != null && parsers.compareAndSet(slot, parser, null)) {
+                return parser;
+            }
+        }
+        return new ReusableJsonParser(options);
+    }
+
+    /**
+     * Returns the parser to the pool. It must not be used by the caller afterwards.
+     *
+     * @throws IllegalArgumentException if the parser does not use the options of the pool
+     */
+    public void release(ReusableJsonParser parser) {
+        if (!parser.options().equals(options)) {
+            throw new IllegalArgumentException("Parser options " + parser.options() + " differ from the pool's " + options);
+        }
+        int size = parsers.length();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            int slot = (start + i) % size;
+            if (parsers.get(slot) == null && parsers.compareAndSet(slot, null, parser)) {
+                return;
+            }
+        }
+    }
+
+    public JsonElement parse(String source) throws JsonParseException {
+        ReusableJsonParser parser = acquire();
+        try {
+            return parser.parse(source);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON without decoding it into a {@link String} first.
+     */
+    public JsonElement parse(byte[] source) throws JsonParseException {
+        ReusableJsonParser parser = acquire();
+        try {
+            return parser.parse(source);
+        } finally {
+            release(parser);
+        }
+    }
+
+    public void parse(String source, JsonVisitor visitor) throws JsonParseException {
+        ReusableJsonParser parser = acquire();
+        try {
+            parser.parse(source, visitor);
+        } finally {
+            release(parser);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package me.kecker.jsonparser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A path to values within a document, given as a JSON Pointer (RFC 6901) like {@code /events/0/id} or in a subset of
+ * JSONPath like {@code $.events[*].id}.
+ * <p>
+ * Each segment of a path selects members by name, elements by index, or, as the wildcard {@code *} of JSONPath, all
+ * members or elements. A pointer token that is a valid array index, like {@code 0}, selects both the element at that
+ * index and the member of that name. The JSONPath subset consists of the root {@code $} followed by any number of
+ * {@code .name}, {@code ['name']}, {@code ["name"]}, {@code [index]}, {@code .*} and {@code [*]} segments; filters,
+ * slices, unions and recursive descent are not supported.
+ *
+ * @see JsonQuery
+ */
+public final class JsonPath {
+
+    private static final int NO_INDEX = -1;
+    private static final int WILDCARD = -2;
+
+    private final String expression;
+    // per segment, the member name it selects or null, and the array index it selects, NO_INDEX or WILDCARD
+    private final String[] names;
+    private final int[] indices;
+
+    private JsonPath(String expression, String[] names, int[] indices) {
+        this.expression = expression;
+        this.names = names;
+        this.indices = indices;
+    }
+
+    /**
+     * Compiles a JSON Pointer if the expression is empty or starts with {@code /}, and a JSONPath if it starts with
+     * {@code $}.
+     *
+     * @throws IllegalArgumentException if the expression is neither
+     */
+    public static JsonPath parse(String expression) {
+        if (expression.isEmpty() || expression.charAt(0) == '/') {
+            return pointer(expression);
+        }
+        if (expression.charAt(0) == '$') {
+            return compile(expression);
+        }
+        throw new IllegalArgumentException("Expected a JSON Pointer or a JSONPath but was '" + expression + "'");
+    }
+
+    /**
+     * @param pointer a JSON Pointer, in which {@code ~1} stands for {@code /} and {@code ~0} for {@code ~}
+     * @throws IllegalArgumentException if the pointer is not valid
+     */
+    public static JsonPath pointer(String pointer) {
+        if (!pointer.isEmpty() && pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("JSON Pointer must be empty or start with '/': '" + pointer + "'");
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = 1;
+        while (start <= pointer.length()) {
+            int end = pointer.indexOf('/', start);
+            if (end < 0) {
+                end = pointer.length();
+            }
+            tokens.add(unescapePointerToken(pointer, start, end));
+            start = end + 1;
+        }
+        String[] names = tokens.toArray(new String[0]);
+        int[] indices = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            indices[i] = arrayIndex(names[i]);
+        }
+        return new JsonPath(pointer, names, indices);
+    }
+
+    /**
+     * @param jsonPath a path in the JSONPath subset described above
+     * @throws IllegalArgumentException if the path is not valid or uses unsupported features
+     */
+    public static JsonPath compile(String jsonPath) {
+        if (jsonPath.isEmpty() || jsonPath.charAt(0) != '$') {
+            throw invalidPath(jsonPath, 0, "expected '$'");
+        }
+        List<String> names = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        int position = 1;
+        while (position < jsonPath.length()) {
+            char c = jsonPath.charAt(position);
+            if (c == '.') {
+                position++;
+                if (position < jsonPath.length() && jsonPath.charAt(position) == '*') {
+                    names.add(null);
+                    indices.add(WILDCARD);
+                    position++;
+                    continue;
+                }
+                int end = position;
+                while (end < jsonPath.length() && jsonPath.charAt(end) != '.' && jsonPath.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == position) {
+                    throw invalidPath(jsonPath, position, "expected a member name");
+                }
+                names.add(jsonPath.substring(position, end));
+                indices.add(NO_INDEX);
+                position = end;
+            } else if (c == '[') {
+                position = bracketSegment(jsonPath, position + 1, names, indices);
+            } else {
+                throw invalidPath(jsonPath, position, "expected '.' or '['");
+            }
+        }
+        int[] indexArray = indices.stream().mapToInt(Integer::intValue).toArray();
+        return new JsonPath(jsonPath, names.toArray(new String[0]), indexArray);
+    }
+
+    /**
+     * Compiles the segment after an opening bracket.
+     *
+     * @return the position after the closing bracket
+     */
+    private static int bracketSegment(String path, int position, List<String> names, List<Integer> indices) {
+        if (position >= path.length()) {
+            throw invalidPath(path, position, "unclosed bracket");
+        }
+        char c = path.charAt(position);
+        int end;
+        if (c == '*') {
+            names.add(null);
+            indices.add(WILDCARD);
+            end = position + 1;
+        } else if (c == '\'' || c == '"') {
+            StringBuilder name = new StringBuilder();
+            end = position + 1;
+            while (end < path.length() && path.charAt(end) != c) {
+                if (path.charAt(end) == '\\' && end + 1 < path.length()) {
+                    end++;
+                }
+                name.append(path.charAt(end++));
+            }
+            if (end == path.length()) {
+                throw invalidPath(path, position, "unclosed quote");
+            }
+            names.add(name.toString());
+            indices.add(NO_INDEX);
+            end++;
+        } else {
+            end = position;
+            while (end < path.length() && path.charAt(end) != ']') {
+                end++;
+            }
+            int index = arrayIndex(path.substring(position, end));
+            if (index == NO_INDEX) {
+                throw invalidPath(path, position, "expected an array index, a quoted name or '*'");
+            }
+            names.add(null);
+            indices.add(index);
+        }
+        if (end >= path.length() || path.charAt(end) != ']') {
+            throw invalidPath(path, end, "expected ']'");
+        }
+        return end + 1;
+    }
+
+    private static IllegalArgumentException invalidPath(String path, int position, String reason) {
+        return new IllegalArgumentException("Invalid JSONPath '" + path + "' at position " + position + ": " + reason);
+    }
+
+    private static String unescapePointerToken(String pointer, int start, int end) {
+        int tilde = pointer.indexOf('~', start);
+        if (tilde < 0 || tilde >= end) {
+            return pointer.substring(start, end);
+        }
+        StringBuilder token = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = pointer.charAt(i);
+            if (c != '~') {
+                token.append(c);
+                continue;
+            }
+            char escaped = i + 1 < end ? pointer.charAt(++i) : 0;
+            if (escaped == '0') {
+                token.append('~');
+            } else if (escaped == '1') {
+                token.append('/');
+            } else {
+                throw new IllegalArgumentException("Invalid escape sequence in JSON Pointer '" + pointer + "' at position " + i);
+            }
+        }
+        return token.toString();
+    }
+
+    /**
+     * @return the index if the token is a non-negative decimal number without leading zeros that fits into an int,
+     * {@link #NO_INDEX} otherwise
+     */
+    private static int arrayIndex(String token) {
+        if (token.isEmpty() || token.length() > 10 || (token.length() > 1 && token.charAt(0) == '0')) {
+            return NO_INDEX;
+        }
+        long index = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_INDEX;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index <= Integer.MAX_VALUE ? (int) index : NO_INDEX;
+    }
+
+    /**
+     * @return true if the path has no wildcard and therefore selects at most one value
+     */
+    public boolean isDefinite() {
+        for (int index : indices) {
+            if (index == WILDCARD) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Navigates a tree that has been parsed already.
+     *
+     * @return the selected values in document order
+     */
+    public List<JsonElement> evaluate(JsonElement root) {
+        return evaluate(root, 0);
+    }
+
+    /**
+     * @return the values selected by the segments starting at {@code from}, relative to the given value
+     */
+    List<JsonElement> evaluate(JsonElement value, int from) {
+        List<JsonElement> current = List.of(value);
+        for (int segment = from; segment < names.length && !current.isEmpty(); segment++) {
+            List<JsonElement> next = new ArrayList<>();
+            for (JsonElement element : current) {
+                if (element instanceof JsonElement.JsonObject object) {
+                    if (indices[segment] == WILDCARD) {
+                        next.addAll(object.members().values());
+                    } else if (names[segment] != null && object.members().containsKey(names[segment])) {
+                        next.add(object.get(names[segment]));
+                    }
+                } else if (element instanceof JsonElement.JsonArray array) {
+                    if (indices[segment] == WILDCARD) {
+                        next.addAll(array.elements());
+                    } else if (indices[segment] >= 0 && indices[segment] < array.elements().size()) {
+                        next.add(array.get(indices[segment]));
+                    }
+                }
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    int length() {
+        return names.length;
+    }
+
+    boolean matchesName(int segment, String name) {
+        return indices[segment] == WILDCARD || name.equals(names[segment]);
+    }
+
+    boolean matchesIndex(int segment, int index) {
+        return indices[segment] == WILDCARD || indices[segment] == index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof JsonPath other && Arrays.equals(names, other.names) && Arrays.equals(indices, other.indices);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(names) + Arrays.hashCode(indices);
+    }
+
+    /**
+     * @return the expression the path has been compiled from
+     */
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,378 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.MaxDepthExceededException;
+import me.kecker.jsonparser.exceptions.UnexpectedCharacterException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Parses a UTF-8 encoded document that arrives in chunks of arbitrary size, for example from non-blocking I/O, and
+ * reports it to a {@link JsonVisitor}.
+ * <p>
+ * Every call to {@link #feed(ByteBuffer)} consumes the whole chunk and returns without waiting for more input. Events
+ * are reported as soon as they are complete: containers when their bracket is read, strings, numbers and literals
+ * when the character following them is read. A token split across chunks, including a multi-byte character or an
+ * escape sequence, is kept until its remaining bytes arrive. Instead of the call stack of {@link JsonParseState}, the
+ * open containers are tracked on an explicit stack, so that parsing can stop and resume at any byte.
+ * <p>
+ * Completed tokens are decoded by a {@link JsonParseState}, so that they are accepted and rejected exactly as by the
+ * other parsers. Numbers are always decoded eagerly, as the bytes of a token are not retained.
+ * <p>
+ * A parser reads one document and is not thread-safe. Once it has thrown an exception, it must not be used anymore.
+ */
+public final class JsonPushParser {
+
+    // the state of every open container, and of the document at the bottom of the stack
+    private static final byte DOCUMENT = 0;       // expecting the top-level value
+    private static final byte DOCUMENT_END = 1;   // after the top-level value
+    private static final byte ARRAY_FIRST = 2;    // after '[': expecting a value or ']'
+    private static final byte ARRAY_VALUE = 3;    // after ',': expecting a value
+    private static final byte ARRAY_NEXT = 4;     // after a value: expecting ',' or ']'
+    private static final byte OBJECT_FIRST = 5;   // after '{': expecting a name or '}'
+    private static final byte OBJECT_NAME = 6;    // after ',': expecting a name
+    private static final byte OBJECT_COLON = 7;   // after a name: expecting ':'
+    private static final byte OBJECT_VALUE = 8;   // after ':': expecting a value
+    private static final byte OBJECT_NEXT = 9;    // after a value: expecting ',' or '}'
+
+    private static final byte NO_TOKEN = 0;
+    private static final byte STRING_TOKEN = 1;
+    private static final byte NAME_TOKEN = 2;
+    private static final byte NUMBER_TOKEN = 3;
+    private static final byte WORD_TOKEN = 4;
+
+    private static final int COPY_SIZE = 4096;
+
+    private final JsonVisitor visitor;
+    private final JsonParseOptions options;
+    private final SymbolTable symbols;
+
+    private byte[] scopes = new byte[32];
+    private int depth = 1;
+
+    // the bytes of the token read so far, followed by room for a terminating space
+    private byte token = NO_TOKEN;
+    private byte[] tokenBytes = new byte[64];
+    private int tokenLength;
+    private boolean escaped;
+    // decodes complete tokens, created again whenever tokenBytes grows
+    private JsonParseState tokenState;
+
+    private byte[] copyBuffer;
+    private boolean ended;
+    private boolean failed;
+
+    public JsonPushParser(JsonVisitor visitor) {
+        this(visitor, JsonParseOptions.DEFAULT);
+    }
+
+    /**
+     * Only the {@link JsonParseOptions#keyCacheSize() key cache} and the {@link JsonParseOptions#maxDepth() maximum depth}
+     * apply, the other options concern complete inputs.
+     */
+    public JsonPushParser(JsonVisitor visitor, JsonParseOptions options) {
+        this.visitor = Objects.requireNonNull(visitor);
+        this.options = options.withLazyNumbers(false).withParallel(false).withStructuralIndex(false);
+        this.symbols = options.keyCacheSize() > 0 ? new SymbolTable(options.keyCacheSize()) : null;
+        scopes[0] = DOCUMENT;
+    }
+
+    /**
+     * Consumes the bytes between the buffer's position and limit and moves its position to the limit.
+     */
+    public void feed(ByteBuffer chunk) throws JsonParseException {
+        if (chunk.hasArray()) {
+            feed(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            chunk.position(chunk.limit());
+            return;
+        }
+        if (copyBuffer == null) {
+            copyBuffer = new byte[COPY_SIZE];
+        }
+        while (chunk.hasRemaining()) {
+            int length = Math.min(chunk.remaining(), copyBuffer.length);
+            chunk.get(copyBuffer, 0, length);
+            feed(copyBuffer, 0, length);
+        }
+    }
+
+    public void feed(byte[] chunk, int offset, int length) throws JsonParseException {
+        Objects.checkFromIndexSize(offset, length, chunk.length);
+        checkUsable();
+        try {
+            int end = offset + length;
+            int i = offset;
+            while (i < end) {
+                switch (token) {
+                    case STRING_TOKEN, NAME_TOKEN -> i = continueString(chunk, i, end);
+                    case NUMBER_TOKEN, WORD_TOKEN -> i = continueWord(chunk, i, end);
+                    default -> structural(chunk[i++]);
+                }
+            }
+        } catch (JsonParseException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Signals that the document has been fed completely. A number at the end of the document is reported only now, as
+     * it could have continued in the next chunk.
+     *
+     * @throws JsonParseException if the document is incomplete
+     */
+    public void end() throws JsonParseException {
+        checkUsable();
+        ended = true;
+        try {
+            if (token != NO_TOKEN) {
+                // decode the token with the end of the input right behind it, to fail like the other parsers
+                Utf8JsonInput input = new Utf8JsonInput(tokenBytes, 0, tokenLength);
+                completeToken(new JsonParseState(input, options, symbols));
+            }
+            switch (scopes[depth - 1]) {
+                case DOCUMENT_END -> {
+                    // the document is complete
+                }
+                case ARRAY_FIRST, ARRAY_NEXT -> throw new UnexpectedCharacterException(']');
+                case OBJECT_FIRST, OBJECT_NEXT -> throw new UnexpectedCharacterException('}');
+                case OBJECT_NAME -> throw new UnexpectedCharacterException('"');
+                case OBJECT_COLON -> throw new UnexpectedCharacterException(':');
+                default -> throw new JsonParseException("Unexpected EOI");
+            }
+        } catch (JsonParseException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if the top-level value has been reported completely. A top-level number is only complete at the
+     * {@link #end()}.
+     */
+    public boolean isComplete() {
+        return depth == 1 && scopes[0] == DOCUMENT_END && token == NO_TOKEN;
+    }
+
+    private void checkUsable() {
+        if (failed) {
+            throw new IllegalStateException("The parser has already failed");
+        }
+        if (ended) {
+            throw new IllegalStateException("The document has already ended");
+        }
+    }
+
+    private void structural(byte b) throws JsonParseException {
+        if (CharacterClass.isWhitespace(b)) {
+            return;
+        }
+        char c = (char) (b & 0xFF);
+        switch (scopes[depth - 1]) {
+            case DOCUMENT -> {
+                scopes[depth - 1] = DOCUMENT_END;
+                value(c);
+            }
+            case DOCUMENT_END -> throw new JsonParseException("JSON standard allows only one top-level value.");
+            case ARRAY_FIRST -> {
+                if (c == ']') {
+                    endArray();
+                } else {
+                    scopes[depth - 1] = ARRAY_NEXT;
+                    value(c);
+                }
+            }
+            case ARRAY_VALUE -> {
+                scopes[depth - 1] = ARRAY_NEXT;
+                value(c);
+            }
+            case ARRAY_NEXT -> {
+                if (c == ',') {
+                    scopes[depth - 1] = ARRAY_VALUE;
+                } else if (c == ']') {
+                    endArray();
+                } else {
+                    throw new UnexpectedCharacterException(']', c);
+                }
+            }
+            case OBJECT_FIRST -> {
+                if (c == '}') {
+                    endObject();
+                } else {
+                    name(c);
+                }
+            }
+            case OBJECT_NAME -> name(c);
+            case OBJECT_COLON -> {
+                if (c != ':') {
+                    throw new UnexpectedCharacterException(':', c);
+                }
+                scopes[depth - 1] = OBJECT_VALUE;
+            }
+            case OBJECT_VALUE -> {
+                scopes[depth - 1] = OBJECT_NEXT;
+                value(c);
+            }
+            case OBJECT_NEXT -> {
+                if (c == ',') {
+                    scopes[depth - 1] = OBJECT_NAME;
+                } else if (c == '}') {
+                    endObject();
+                } else {
+                    throw new UnexpectedCharacterException('}', c);
+                }
+            }
+            default -> throw new IllegalStateException("Unknown scope " + scopes[depth - 1]);
+        }
+    }
+
+    private void name(char c) throws UnexpectedCharacterException {
+        if (c != '"') {
+            throw new UnexpectedCharacterException('"', c);
+        }
+        scopes[depth - 1] = OBJECT_COLON;
+        startToken(NAME_TOKEN, (byte) c);
+    }
+
+    /**
+     * Starts the value beginning with the given character. The scope has already been moved past the value.
+     */
+    private void value(char c) throws JsonParseException {
+        switch (c) {
+            case '{' -> {
+                push(OBJECT_FIRST);
+                visitor.startObject();
+            }
+            case '[' -> {
+                push(ARRAY_FIRST);
+                visitor.startArray();
+            }
+            case '"' -> startToken(STRING_TOKEN, (byte) c);
+            case 't', 'f', 'n' -> startToken(WORD_TOKEN, (byte) c);
+            default -> {
+                if (!CharacterClass.mightOccurInNumber(c)) {
+                    throw new JsonParseException("Unexpected value: " + c);
+                }
+                startToken(NUMBER_TOKEN, (byte) c);
+            }
+        }
+    }
+
+    private void push(byte scope) throws MaxDepthExceededException {
+        // the document occupies the bottom of the stack
+        if (depth > options.maxDepth()) {
+            throw new MaxDepthExceededException(options.maxDepth());
+        }
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth++] = scope;
+    }
+
+    private void endArray() {
+        depth--;
+        visitor.endArray();
+    }
+
+    private void endObject() {
+        depth--;
+        visitor.endObject();
+    }
+
+    private void startToken(byte type, byte first) {
+        token = type;
+        tokenBytes[0] = first;
+        tokenLength = 1;
+        escaped = false;
+    }
+
+    /**
+     * Consumes the string up to and including its closing quote, or the whole chunk if the string continues.
+     */
+    private int continueString(byte[] chunk, int start, int end) throws JsonParseException {
+        int i = start;
+        while (i < end) {
+            byte b = chunk[i++];
+            if (escaped) {
+                escaped = false;
+            } else if (b == '\\') {
+                escaped = true;
+            } else if (b == '"') {
+                append(chunk, start, i - start);
+                completeToken(tokenState());
+                return i;
+            }
+        }
+        append(chunk, start, end - start);
+        return end;
+    }
+
+    /**
+     * Consumes the number or literal up to the first character that cannot be part of it, or the whole chunk if the
+     * token continues.
+     */
+    private int continueWord(byte[] chunk, int start, int end) throws JsonParseException {
+        boolean number = token == NUMBER_TOKEN;
+        int i = start;
+        while (i < end) {
+            char c = (char) (chunk[i] & 0xFF);
+            if (number ? !CharacterClass.mightOccurInNumber(c) : !CharacterClass.isLetter(c)) {
+                break;
+            }
+            i++;
+        }
+        append(chunk, start, i - start);
+        if (i < end) {
+            // the terminating space ends the token within the token bytes
+            tokenBytes[tokenLength] = ' ';
+            completeToken(tokenState());
+        }
+        return i;
+    }
+
+    private void append(byte[] bytes, int offset, int length) {
+        if (tokenLength + length >= tokenBytes.length) {
+            tokenBytes = Arrays.copyOf(tokenBytes, Math.max(tokenBytes.length * 2, tokenLength + length + 1));
+            tokenState = null;
+        }
+        System.arraycopy(bytes, offset, tokenBytes, tokenLength, length);
+        tokenLength += length;
+    }
+
+    private JsonParseState tokenState() {
+        if (tokenState == null) {
+            tokenState = new JsonParseState(new Utf8JsonInput(tokenBytes), options, symbols);
+        }
+        return tokenState;
+    }
+
+    /**
+     * Decodes the token from the beginning of the token bytes and reports it.
+     */
+    private void completeToken(JsonParseState state) throws JsonParseException {
+        byte type = token;
+        token = NO_TOKEN;
+        state.seek(0);
+        switch (type) {
+            case STRING_TOKEN -> visitor.string(state.stringRaw());
+            case NAME_TOKEN -> visitor.key(state.name());
+            case NUMBER_TOKEN -> visitor.number(state.number());
+            case WORD_TOKEN -> {
+                if (tokenBytes[0] == 'n') {
+                    state.nullType();
+                    visitor.nullValue();
+                } else {
+                    visitor.bool(state.bool().value());
+                }
+            }
+            default -> throw new IllegalStateException("Unknown token " + type);
+        }
+        // characters that may occur in numbers but do not belong to this one, like the second sign of "1-2", are
+        // misplaced after the number
+        for (int i = state.position(); i < tokenLength; i++) {
+            structural(tokenBytes[i]);
+        }
+    }
+}
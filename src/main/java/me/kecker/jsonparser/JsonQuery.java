@@ -0,0 +1,226 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects the values at a set of {@link JsonPath}s while the document is parsed, without building a tree of the whole
+ * document.
+ * <p>
+ * Only the selected values are built into {@link JsonElement}s. Members and elements that no path leads into are
+ * validated and skipped with {@link JsonReader#skipValue()}, which neither decodes their strings and numbers nor builds
+ * containers. Once every path is {@link JsonPath#isDefinite() definite} and has been found, the rest of the document is
+ * neither read nor validated. Otherwise, the whole document is read and has to be valid.
+ * <p>
+ * Members are matched as they are read, so objects that repeat a member name are not resolved like in a parsed tree,
+ * where the last value wins (see {@link JsonMembers}). Instead, a definite path selects the first value it finds and
+ * stops looking, and other paths select the value of every occurrence. Within a selected value, remaining segments are
+ * evaluated on its tree with {@link JsonPath#evaluate(JsonElement)}. For objects with distinct member names, the
+ * results are the same as those of {@link JsonPath#evaluate(JsonElement)} on the parsed document.
+ * <p>
+ * A query is immutable and may be shared between threads.
+ */
+public final class JsonQuery {
+
+    // the paths of a query are tracked in the bits of a long
+    private static final int MAX_PATHS = Long.SIZE;
+
+    private final JsonPath[] paths;
+    private final long all;
+    private final long definite;
+
+    private JsonQuery(JsonPath[] paths) {
+        this.paths = paths;
+        this.all = paths.length == MAX_PATHS ? -1L : (1L << paths.length) - 1;
+        long definite = 0;
+        for (int i = 0; i < paths.length; i++) {
+            if (paths[i].isDefinite()) {
+                definite |= 1L << i;
+            }
+        }
+        this.definite = definite;
+    }
+
+    /**
+     * @throws IllegalArgumentException if there are no paths or more than 64 different paths
+     */
+    public static JsonQuery of(JsonPath... paths) {
+        LinkedHashSet<JsonPath> distinct = new LinkedHashSet<>(Arrays.asList(paths));
+        if (distinct.isEmpty() || distinct.size() > MAX_PATHS) {
+            throw new IllegalArgumentException("A query must have between 1 and " + MAX_PATHS + " paths, but had " + distinct.size());
+        }
+        return new JsonQuery(distinct.toArray(new JsonPath[0]));
+    }
+
+    /**
+     * @param paths JSON Pointers or JSONPaths, see {@link JsonPath#parse(String)}
+     */
+    public static JsonQuery of(String... paths) {
+        return of(Arrays.stream(paths).map(JsonPath::parse).toArray(JsonPath[]::new));
+    }
+
+    public List<JsonPath> paths() {
+        return List.of(paths);
+    }
+
+    public Map<JsonPath, List<JsonElement>> select(String source) throws JsonParseException {
+        return select(new StringJsonInput(source), JsonParseOptions.DEFAULT);
+    }
+
+    /**
+     * Queries UTF-8 encoded JSON without decoding it into a {@link String} first.
+     */
+    public Map<JsonPath, List<JsonElement>> select(byte[] source) throws JsonParseException {
+        return select(new Utf8JsonInput(source), JsonParseOptions.DEFAULT);
+    }
+
+    /**
+     * @return the values selected by each path in document order, in the order the paths were given. Paths that do not
+     * select any value are mapped to an empty list.
+     */
+    public Map<JsonPath, List<JsonElement>> select(JsonInput input, JsonParseOptions options) throws JsonParseException {
+        Selection selection = new Selection(new JsonReader(new JsonParseState(input, options)));
+        selection.pending = definite;
+        selection.value(0, all);
+        if (!selection.isComplete()) {
+            // rejects anything but whitespace after the value
+            selection.reader.peek();
+        }
+        Map<JsonPath, List<JsonElement>> results = new LinkedHashMap<>();
+        for (int i = 0; i < paths.length; i++) {
+            List<JsonElement> selected = selection.results.get(i);
+            results.put(paths[i], selected == null ? List.of() : List.copyOf(selected));
+        }
+        return results;
+    }
+
+    /**
+     * The state of one evaluation of the query.
+     */
+    private final class Selection {
+
+        private final JsonReader reader;
+        // per path, the values selected so far, or null if there are none yet
+        private final List<List<JsonElement>> results = new ArrayList<>(Collections.nCopies(paths.length, null));
+        // the definite paths that have not been found yet
+        private long pending;
+
+        private Selection(JsonReader reader) {
+            this.reader = reader;
+        }
+
+        private boolean isComplete() {
+            return definite == all && pending == 0;
+        }
+
+        /**
+         * Reads the next value, to which the paths in {@code candidates} have matched their first {@code segment}
+         * segments.
+         */
+        private void value(int segment, long candidates) throws JsonParseException {
+            if (reachesEnd(segment, candidates)) {
+                collect(segment, candidates, reader.nextElement());
+                return;
+            }
+            switch (reader.peek()) {
+                case BEGIN_OBJECT -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        long matching = 0;
+                        for (int i = 0; i < paths.length; i++) {
+                            if (isCandidate(candidates, i) && paths[i].matchesName(segment, name)) {
+                                matching |= 1L << i;
+                            }
+                        }
+                        if (!member(segment, matching)) {
+                            return;
+                        }
+                    }
+                    reader.endObject();
+                }
+                case BEGIN_ARRAY -> {
+                    reader.beginArray();
+                    for (int index = 0; reader.hasNext(); index++) {
+                        long matching = 0;
+                        for (int i = 0; i < paths.length; i++) {
+                            if (isCandidate(candidates, i) && paths[i].matchesIndex(segment, index)) {
+                                matching |= 1L << i;
+                            }
+                        }
+                        if (!member(segment, matching)) {
+                            return;
+                        }
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+
+        /**
+         * Reads or skips the value of a member or element.
+         *
+         * @return false if the query is complete and reading should stop
+         */
+        private boolean member(int segment, long matching) throws JsonParseException {
+            if (matching == 0) {
+                reader.skipValue();
+            } else {
+                value(segment + 1, matching);
+            }
+            return !isComplete();
+        }
+
+        /**
+         * @return true if the paths have to be evaluated on the tree of the value, which is the case once any of them
+         * ends at it
+         */
+        private boolean reachesEnd(int segment, long candidates) {
+            for (int i = 0; i < paths.length; i++) {
+                if ((candidates & 1L << i) != 0 && paths[i].length() == segment) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isCandidate(long candidates, int path) {
+            long bit = 1L << path;
+            // a definite path selects only one value, so its search ends once it has been found
+            return (candidates & bit) != 0 && ((definite & bit) == 0 || (pending & bit) != 0);
+        }
+
+        private void collect(int segment, long candidates, JsonElement value) {
+            for (int i = 0; i < paths.length; i++) {
+                if ((candidates & 1L << i) == 0) {
+                    continue;
+                }
+                if (paths[i].length() == segment) {
+                    add(i, value);
+                    continue;
+                }
+                for (JsonElement selected : paths[i].evaluate(value, segment)) {
+                    add(i, selected);
+                }
+            }
+        }
+
+        private void add(int path, JsonElement value) {
+            List<JsonElement> selected = results.get(path);
+            if (selected == null) {
+                selected = new ArrayList<>();
+                results.set(path, selected);
+            }
+            selected.add(value);
+            pending &= ~(1L << path);
+        }
+    }
+}
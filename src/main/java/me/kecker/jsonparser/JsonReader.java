@@ -0,0 +1,325 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.MaxDepthExceededException;
+
+import java.util.Arrays;
+
+/**
+ * Pull parser reading a JSON document token by token, without building a {@link JsonElement} tree.
+ * <p>
+ * {@link #peek()} reports the type of the next token, which is then consumed by the matching method, e.g.
+ * {@link #beginObject()} or {@link #nextString()}. Values that are not of interest are passed over with
+ * {@link #skipValue()}, which validates them without decoding strings or building containers.
+ * <p>
+ * Syntax errors in the input are reported as {@link JsonParseException}s. Consuming a token with a method that does not
+ * match its type is a programming error and throws an {@link IllegalStateException}.
+ */
+public class JsonReader {
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private final JsonParseState state;
+    private int[] scopes = new int[32];
+    private int depth;
+    private JsonToken peeked;
+    // reused by nextElement(), created on first use
+    private JsonTreeBuilder builder;
+
+    public JsonReader(String source) {
+        this(new StringJsonInput(source));
+    }
+
+    public JsonReader(JsonInput input) {
+        this(new JsonParseState(input));
+    }
+
+    public JsonReader(JsonInput input, JsonParseOptions options) {
+        this(new JsonParseState(input, options));
+    }
+
+    JsonReader(JsonParseState state) {
+        this.state = state;
+        this.scopes[0] = EMPTY_DOCUMENT;
+        this.depth = 1;
+    }
+
+    /**
+     * @return the type of the next token, without consuming it
+     */
+    public JsonToken peek() throws JsonParseException {
+        if (peeked == null) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+
+    /**
+     * @return true if the current array or object has another element or member
+     */
+    public boolean hasNext() throws JsonParseException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    /**
+     * Consumes the next token, whatever its type. Scalar values consumed this way are validated but not decoded,
+     * use {@link #peek()} and the typed methods to read them.
+     *
+     * @return the type of the consumed token
+     */
+    public JsonToken nextToken() throws JsonParseException {
+        JsonToken token = peek();
+        switch (token) {
+            case BEGIN_OBJECT -> beginObject();
+            case END_OBJECT -> endObject();
+            case BEGIN_ARRAY -> beginArray();
+            case END_ARRAY -> endArray();
+            case NAME -> {
+                state.skipString();
+                scopes[depth - 1] = DANGLING_NAME;
+            }
+            case STRING -> state.skipString();
+            case NUMBER -> state.skipNumber();
+            case BOOLEAN -> state.bool();
+            case NULL -> state.nullType();
+            case END_DOCUMENT -> {
+                // nothing to consume
+            }
+        }
+        peeked = null;
+        return token;
+    }
+
+    public void beginObject() throws JsonParseException {
+        expect(JsonToken.BEGIN_OBJECT);
+        state.advance();
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws JsonParseException {
+        expect(JsonToken.END_OBJECT);
+        state.advance();
+        depth--;
+    }
+
+    public void beginArray() throws JsonParseException {
+        expect(JsonToken.BEGIN_ARRAY);
+        state.advance();
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws JsonParseException {
+        expect(JsonToken.END_ARRAY);
+        state.advance();
+        depth--;
+    }
+
+    public String nextName() throws JsonParseException {
+        expect(JsonToken.NAME);
+        String name = state.name();
+        scopes[depth - 1] = DANGLING_NAME;
+        return name;
+    }
+
+    public String nextString() throws JsonParseException {
+        expect(JsonToken.STRING);
+        return state.stringRaw();
+    }
+
+    public boolean nextBoolean() throws JsonParseException {
+        expect(JsonToken.BOOLEAN);
+        return state.bool().value();
+    }
+
+    public void nextNull() throws JsonParseException {
+        expect(JsonToken.NULL);
+        state.nullType();
+    }
+
+    public JsonElement.JsonNumber nextNumber() throws JsonParseException {
+        expect(JsonToken.NUMBER);
+        return state.number();
+    }
+
+    /**
+     * @throws NumberFormatException if the number is not an integer within the range of {@code long}
+     */
+    public long nextLong() throws JsonParseException {
+        expect(JsonToken.NUMBER);
+        state.scanNumber();
+        try {
+            return state.scannedLongExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Number " + state.scannedText() + " does not fit into a long.");
+        }
+    }
+
+    /**
+     * @throws NumberFormatException if the number is not an integer within the range of {@code int}
+     */
+    public int nextInt() throws JsonParseException {
+        expect(JsonToken.NUMBER);
+        state.scanNumber();
+        try {
+            return Math.toIntExact(state.scannedLongExact());
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Number " + state.scannedText() + " does not fit into an int.");
+        }
+    }
+
+    public double nextDouble() throws JsonParseException {
+        expect(JsonToken.NUMBER);
+        state.scanNumber();
+        return state.scannedDouble();
+    }
+
+    /**
+     * Rounds the number to the nearest float directly, rather than narrowing the nearest double.
+     */
+    public float nextFloat() throws JsonParseException {
+        expect(JsonToken.NUMBER);
+        state.scanNumber();
+        return state.scannedFloat();
+    }
+
+    /**
+     * Reads the next value as a tree, including all nested values if it is an array or object.
+     */
+    public JsonElement nextElement() throws JsonParseException {
+        expectValue();
+        if (builder == null) {
+            builder = new JsonTreeBuilder();
+        }
+        try {
+            // the document occupies the bottom of the stack
+            state.value(builder, depth - 1);
+            return builder.result();
+        } finally {
+            builder.reset();
+        }
+    }
+
+    /**
+     * Skips the next value, including all nested values if it is an array or object.
+     * If the next token is a member name, both the name and its value are skipped.
+     */
+    public void skipValue() throws JsonParseException {
+        if (peek() == JsonToken.NAME) {
+            nextToken();
+        }
+        expectValue();
+        // the document occupies the bottom of the stack
+        state.skipValue(depth - 1);
+    }
+
+    private JsonToken doPeek() throws JsonParseException {
+        state.whitespace();
+        switch (scopes[depth - 1]) {
+            case EMPTY_ARRAY -> {
+                if (isAt(']')) {
+                    return JsonToken.END_ARRAY;
+                }
+                scopes[depth - 1] = NONEMPTY_ARRAY;
+            }
+            case NONEMPTY_ARRAY -> {
+                if (isAt(']')) {
+                    return JsonToken.END_ARRAY;
+                }
+                state.assertCharacterAndAdvance(',');
+                state.whitespace();
+            }
+            case EMPTY_OBJECT -> {
+                if (isAt('}')) {
+                    return JsonToken.END_OBJECT;
+                }
+                return nameToken();
+            }
+            case NONEMPTY_OBJECT -> {
+                if (isAt('}')) {
+                    return JsonToken.END_OBJECT;
+                }
+                state.assertCharacterAndAdvance(',');
+                state.whitespace();
+                return nameToken();
+            }
+            case DANGLING_NAME -> {
+                state.assertCharacterAndAdvance(':');
+                state.whitespace();
+                scopes[depth - 1] = NONEMPTY_OBJECT;
+            }
+            case EMPTY_DOCUMENT -> scopes[depth - 1] = NONEMPTY_DOCUMENT;
+            default -> {
+                if (state.reachedEnd()) {
+                    return JsonToken.END_DOCUMENT;
+                }
+                throw new JsonParseException("JSON standard allows only one top-level value.");
+            }
+        }
+        return valueToken();
+    }
+
+    private JsonToken nameToken() throws JsonParseException {
+        state.assertCharacter('"');
+        return JsonToken.NAME;
+    }
+
+    private JsonToken valueToken() throws JsonParseException {
+        if (state.reachedEnd()) {
+            throw new JsonParseException("Unexpected EOI");
+        }
+        char current = state.current();
+        return switch (current) {
+            case '{' -> JsonToken.BEGIN_OBJECT;
+            case '[' -> JsonToken.BEGIN_ARRAY;
+            case '"' -> JsonToken.STRING;
+            case 't', 'f' -> JsonToken.BOOLEAN;
+            case 'n' -> JsonToken.NULL;
+            default -> {
+                if (CharacterClass.mightOccurInNumber(current)) {
+                    yield JsonToken.NUMBER;
+                }
+                throw new JsonParseException("Unexpected value: " + current);
+            }
+        };
+    }
+
+    private boolean isAt(char expected) {
+        return !state.reachedEnd() && state.current() == expected;
+    }
+
+    private void expect(JsonToken expected) throws JsonParseException {
+        JsonToken actual = peek();
+        if (actual != expected) {
+            throw new IllegalStateException("Expected " + expected + " but was " + actual);
+        }
+        peeked = null;
+    }
+
+    /**
+     * Consumes the peeked token, which has to start a value that is then read from the parse state.
+     */
+    private void expectValue() throws JsonParseException {
+        JsonToken token = peek();
+        if (token == JsonToken.NAME || token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY
+                || token == JsonToken.END_DOCUMENT) {
+            throw new IllegalStateException("Expected a value but was " + token);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) throws MaxDepthExceededException {
+        // the document occupies the bottom of the stack
+        state.checkDepth(depth);
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth++] = scope;
+    }
+}
@@ -0,0 +1,315 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+
+import java.util.Arrays;
+
+/**
+ * A parsed document recorded as a flat tape of {@code long} entries, one per token, instead of a tree of
+ * {@link JsonElement}s. Parsing a document into a tape allocates little more than the tape itself.
+ * <p>
+ * Entries are addressed by their index, starting with the top-level value at index 0. The upper 8 bits of each entry
+ * hold its type, the lower 56 bits its payload:
+ * <ul>
+ *     <li>the start of an array or object stores the index right after its matching end (bits 0-31) and the number of
+ *     its elements or members (bits 32-55, saturated at {@value #MAX_SIZE})</li>
+ *     <li>the end of an array or object stores the index of its matching start</li>
+ *     <li>member names, strings and numbers store the offset of their first character in the source; they are only
+ *     decoded when they are accessed</li>
+ *     <li>booleans and null have no payload</li>
+ * </ul>
+ * The members of an object are recorded as a name entry followed by the entries of the value.
+ * <p>
+ * A tape refers to its source, which must not be modified while the tape is in use. Decoding shares one cursor over the
+ * source, so a tape must not be accessed by several threads at once.
+ */
+public final class JsonTape {
+
+    static final long MAX_SIZE = 0xFF_FFFFL;
+
+    private static final int TYPE_SHIFT = 56;
+    private static final long PAYLOAD_MASK = (1L << TYPE_SHIFT) - 1;
+    private static final long INDEX_MASK = 0xFFFF_FFFFL;
+
+    private static final byte BEGIN_OBJECT = '{';
+    private static final byte END_OBJECT = '}';
+    private static final byte BEGIN_ARRAY = '[';
+    private static final byte END_ARRAY = ']';
+    private static final byte NAME = 'k';
+    private static final byte STRING = '"';
+    private static final byte NUMBER = 'd';
+    private static final byte TRUE = 't';
+    private static final byte FALSE = 'f';
+    private static final byte NULL = 'n';
+
+    private final long[] tape;
+    private final int length;
+    private final JsonParseState state;
+
+    private JsonTape(long[] tape, int length, JsonParseState state) {
+        this.tape = tape;
+        this.length = length;
+        this.state = state;
+    }
+
+    /**
+     * Parses the document into a tape. The input has to hold its source in memory, like inputs over strings and arrays do.
+     *
+     * @throws IllegalArgumentException if the input reads its source from a stream
+     */
+    static JsonTape parse(JsonInput input, JsonParseOptions options) throws JsonParseException {
+        CharSequence text = input.text();
+        if (text == null) {
+            throw new IllegalArgumentException("A tape can only be recorded from a source held in memory");
+        }
+        JsonParseState state = new JsonParseState(input, options);
+        JsonReader reader = new JsonReader(state);
+
+        // a guess for token-dense documents, the tape grows for denser ones and is trimmed for sparse ones
+        long[] tape = new long[Math.max(16, text.length() / 8)];
+        int length = 0;
+        // indices of the open containers and the number of their elements so far
+        int[] open = new int[16];
+        long[] sizes = new long[16];
+        int depth = 0;
+
+        JsonToken token;
+        while ((token = reader.peek()) != JsonToken.END_DOCUMENT) {
+            if (length == tape.length) {
+                tape = Arrays.copyOf(tape, length * 2);
+            }
+            if (depth > 0 && token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.NAME
+                    && tape[open[depth - 1]] >>> TYPE_SHIFT == BEGIN_ARRAY) {
+                sizes[depth - 1]++;
+            }
+            switch (token) {
+                case BEGIN_OBJECT, BEGIN_ARRAY -> {
+                    if (depth == open.length) {
+                        open = Arrays.copyOf(open, depth * 2);
+                        sizes = Arrays.copyOf(sizes, depth * 2);
+                    }
+                    open[depth] = length;
+                    sizes[depth] = 0;
+                    depth++;
+                    tape[length] = entry(token == JsonToken.BEGIN_OBJECT ? BEGIN_OBJECT : BEGIN_ARRAY, 0);
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    depth--;
+                    int start = open[depth];
+                    long size = Math.min(sizes[depth], MAX_SIZE);
+                    tape[start] |= size << 32 | (length + 1);
+                    tape[length] = entry(token == JsonToken.END_OBJECT ? END_OBJECT : END_ARRAY, start);
+                }
+                case NAME -> {
+                    sizes[depth - 1]++;
+                    tape[length] = entry(NAME, state.position());
+                }
+                case STRING -> tape[length] = entry(STRING, state.position());
+                case NUMBER -> tape[length] = entry(NUMBER, state.position());
+                case BOOLEAN -> tape[length] = entry(state.current() == 't' ? TRUE : FALSE, 0);
+                case NULL -> tape[length] = entry(NULL, 0);
+                default -> throw new IllegalStateException("Unexpected token " + token);
+            }
+            length++;
+            reader.nextToken();
+        }
+        if (tape.length - length > length >> 2) {
+            // documents of long strings would otherwise keep a tape several times larger than their entries
+            tape = Arrays.copyOf(tape, length);
+        }
+        return new JsonTape(tape, length, state);
+    }
+
+    /**
+     * @return the number of entries on the tape
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the type of the entry, or {@link JsonToken#END_DOCUMENT} for the index right after the last entry
+     */
+    public JsonToken token(int index) {
+        if (index == length) {
+            return JsonToken.END_DOCUMENT;
+        }
+        return switch (type(index)) {
+            case BEGIN_OBJECT -> JsonToken.BEGIN_OBJECT;
+            case END_OBJECT -> JsonToken.END_OBJECT;
+            case BEGIN_ARRAY -> JsonToken.BEGIN_ARRAY;
+            case END_ARRAY -> JsonToken.END_ARRAY;
+            case NAME -> JsonToken.NAME;
+            case STRING -> JsonToken.STRING;
+            case NUMBER -> JsonToken.NUMBER;
+            case TRUE, FALSE -> JsonToken.BOOLEAN;
+            default -> JsonToken.NULL;
+        };
+    }
+
+    /**
+     * @return the index of the entry following the value starting at the index, skipping all nested entries of arrays
+     * and objects. For a member name, this is the index of its value.
+     */
+    public int next(int index) {
+        byte type = type(index);
+        if (type == BEGIN_OBJECT || type == BEGIN_ARRAY) {
+            return (int) (tape[index] & INDEX_MASK);
+        }
+        return index + 1;
+    }
+
+    /**
+     * @return the number of elements of the array or members of the object starting at the index
+     */
+    public int size(int index) {
+        expectContainer(index);
+        long size = (tape[index] & PAYLOAD_MASK) >>> 32;
+        if (size < MAX_SIZE) {
+            return (int) size;
+        }
+        int count = 0;
+        int end = next(index) - 1;
+        for (int child = index + 1; child < end; child = next(child)) {
+            if (type(index) == BEGIN_OBJECT) {
+                child++; // skip the name
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the index of the value of the member with the given name in the object starting at the index, or -1
+     */
+    public int find(int index, String name) throws JsonParseException {
+        expect(index, BEGIN_OBJECT);
+        int end = next(index) - 1;
+        for (int child = index + 1; child < end; child = next(child + 1)) {
+            // names are canonicalized, so decoding an already known name does not allocate
+            if (name.equals(decodeName(child))) {
+                return child + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the decoded string or member name
+     */
+    public String stringValue(int index) throws JsonParseException {
+        if (type(index) == NAME) {
+            return decodeName(index);
+        }
+        expect(index, STRING);
+        state.seek(offset(index));
+        return state.stringRaw();
+    }
+
+    public JsonElement.JsonNumber numberValue(int index) throws JsonParseException {
+        expect(index, NUMBER);
+        state.seek(offset(index));
+        return state.number();
+    }
+
+    /**
+     * @throws NumberFormatException if the number is not an integer within the range of {@code long}
+     */
+    public long longValue(int index) throws JsonParseException {
+        expect(index, NUMBER);
+        state.seek(offset(index));
+        state.scanNumber();
+        try {
+            return state.scannedLongExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Number " + state.scannedText() + " does not fit into a long.");
+        }
+    }
+
+    public double doubleValue(int index) throws JsonParseException {
+        expect(index, NUMBER);
+        state.seek(offset(index));
+        state.scanNumber();
+        return state.scannedDouble();
+    }
+
+    public boolean booleanValue(int index) {
+        byte type = type(index);
+        if (type != TRUE && type != FALSE) {
+            throw new IllegalStateException("Expected " + JsonToken.BOOLEAN + " but was " + token(index));
+        }
+        return type == TRUE;
+    }
+
+    /**
+     * Reports the value starting at the index to the visitor, descending into arrays and objects.
+     */
+    public void accept(int index, JsonVisitor visitor) throws JsonParseException {
+        int end = next(index);
+        for (int i = index; i < end; i++) {
+            switch (type(i)) {
+                case BEGIN_OBJECT -> visitor.startObject();
+                case END_OBJECT -> visitor.endObject();
+                case BEGIN_ARRAY -> visitor.startArray();
+                case END_ARRAY -> visitor.endArray();
+                case NAME -> visitor.key(decodeName(i));
+                case STRING -> visitor.string(stringValue(i));
+                case NUMBER -> visitor.number(numberValue(i));
+                case TRUE -> visitor.bool(true);
+                case FALSE -> visitor.bool(false);
+                default -> visitor.nullValue();
+            }
+        }
+    }
+
+    /**
+     * @return the value starting at the index as a tree
+     */
+    public JsonElement element(int index) throws JsonParseException {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        accept(index, builder);
+        return builder.result();
+    }
+
+    private String decodeName(int index) throws JsonParseException {
+        state.seek(offset(index));
+        return state.name();
+    }
+
+    private byte type(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return (byte) (tape[index] >>> TYPE_SHIFT);
+    }
+
+    private int offset(int index) {
+        return (int) (tape[index] & PAYLOAD_MASK);
+    }
+
+    private void expect(int index, byte type) {
+        if (type(index) != type) {
+            throw new IllegalStateException("Expected " + tokenOf(type) + " but was " + token(index));
+        }
+    }
+
+    private void expectContainer(int index) {
+        byte type = type(index);
+        if (type != BEGIN_OBJECT && type != BEGIN_ARRAY) {
+            throw new IllegalStateException("Expected an array or object but was " + token(index));
+        }
+    }
+
+    private static JsonToken tokenOf(byte type) {
+        return switch (type) {
+            case BEGIN_OBJECT -> JsonToken.BEGIN_OBJECT;
+            case NAME -> JsonToken.NAME;
+            case STRING -> JsonToken.STRING;
+            default -> JsonToken.NUMBER;
+        };
+    }
+
+    private static long entry(byte type, long payload) {
+        return (long) type << TYPE_SHIFT | payload;
+    }
+}
@@ -0,0 +1,19 @@
+package me.kecker.jsonparser;
+
+/**
+ * Kinds of tokens reported by {@link JsonReader}.
+ */
+public enum JsonToken {
+    BEGIN_OBJECT,
+    END_OBJECT,
+    BEGIN_ARRAY,
+    END_ARRAY,
+    /** The name of an object member. */
+    NAME,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL,
+    /** The end of the input, after the top-level value. */
+    END_DOCUMENT
+}
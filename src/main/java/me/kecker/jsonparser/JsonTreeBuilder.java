@@ -0,0 +1,135 @@
+package me.kecker.jsonparser;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * {@link JsonVisitor} assembling the visited events into a {@link JsonElement} tree.
+ * <p>
+ * The values of all open containers are collected on one shared stack and only copied into a container of their exact
+ * size once it is complete, so no container has to grow while it is being filled.
+ */
+public class JsonTreeBuilder implements JsonVisitor {
+
+    private boolean[] isObject = new boolean[16];
+    private int[] starts = new int[16];
+    private String[] keys = new String[16];
+    private int depth;
+
+    private String[] names = new String[16];
+    private JsonElement[] values = new JsonElement[16];
+    private int size;
+
+    private JsonElement result;
+
+    /**
+     * @return the completely visited top-level value, or null if it has not been completed yet
+     */
+    public JsonElement result() {
+        return result;
+    }
+
+    /**
+     * Forgets the result and any values of a document that was not completed, so that another document can be built.
+     */
+    void reset() {
+        result = null;
+        Arrays.fill(keys, 0, depth, null);
+        depth = 0;
+        release(0);
+    }
+
+    @Override
+    public void startObject() {
+        push(true);
+    }
+
+    @Override
+    public void key(String key) {
+        keys[depth - 1] = key;
+    }
+
+    @Override
+    public void endObject() {
+        int start = pop();
+        JsonMembers members = new JsonMembers(names, values, start, size - start);
+        release(start);
+        add(new JsonElement.JsonObject(members));
+    }
+
+    @Override
+    public void startArray() {
+        push(false);
+    }
+
+    @Override
+    public void endArray() {
+        int start = pop();
+        JsonElement[] elements = Arrays.copyOfRange(values, start, size);
+        release(start);
+        add(new JsonElement.JsonArray(Collections.unmodifiableList(Arrays.asList(elements))));
+    }
+
+    @Override
+    public void string(String value) {
+        add(new JsonElement.JsonString(value));
+    }
+
+    @Override
+    public void number(JsonElement.JsonNumber value) {
+        add(value);
+    }
+
+    @Override
+    public void bool(boolean value) {
+        add(value ? JsonElement.JsonBoolean.TRUE : JsonElement.JsonBoolean.FALSE);
+    }
+
+    @Override
+    public void nullValue() {
+        add(JsonElement.NULL);
+    }
+
+    private void add(JsonElement value) {
+        if (depth == 0) {
+            result = value;
+            return;
+        }
+        if (size == values.length) {
+            names = Arrays.copyOf(names, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        names[size] = isObject[depth - 1] ? keys[depth - 1] : null;
+        values[size] = value;
+        size++;
+    }
+
+    private void push(boolean object) {
+        if (depth == starts.length) {
+            isObject = Arrays.copyOf(isObject, depth * 2);
+            starts = Arrays.copyOf(starts, depth * 2);
+            keys = Arrays.copyOf(keys, depth * 2);
+        }
+        isObject[depth] = object;
+        starts[depth] = size;
+        depth++;
+    }
+
+    /**
+     * @return the stack position of the first value of the closed container
+     */
+    private int pop() {
+        depth--;
+        keys[depth] = null;
+        return starts[depth];
+    }
+
+    /**
+     * Removes the values of the closed container from the stack, so that the stack does not retain them.
+     */
+    private void release(int start) {
+        Arrays.fill(names, start, size, null);
+        Arrays.fill(values, start, size, null);
+        size = start;
+    }
+}
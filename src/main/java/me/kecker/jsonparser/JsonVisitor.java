@@ -0,0 +1,39 @@
+package me.kecker.jsonparser;
+
+/**
+ * Receives the events of a document as {@link JsonParseState} recognizes them, without a tree being built.
+ * <p>
+ * Events arrive in document order. Within an object, every value is preceded by its {@link #key(String)}.
+ * All methods do nothing by default, so implementations only override the events they are interested in.
+ *
+ * @see JsonTreeBuilder
+ */
+public interface JsonVisitor {
+
+    default void startObject() {
+    }
+
+    default void key(String key) {
+    }
+
+    default void endObject() {
+    }
+
+    default void startArray() {
+    }
+
+    default void endArray() {
+    }
+
+    default void string(String value) {
+    }
+
+    default void number(JsonElement.JsonNumber value) {
+    }
+
+    default void bool(boolean value) {
+    }
+
+    default void nullValue() {
+    }
+}
@@ -0,0 +1,732 @@
+package me.kecker.jsonparser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.BiConsumer;
+
+/**
+ * Serializes {@link JsonElement}s, or documents described token by token through the {@link JsonVisitor} methods, as
+ * compact JSON. Output to streams and byte buffers is encoded as UTF-8, output to writers is passed on as characters.
+ * <p>
+ * Characters are encoded right into one output buffer, which is written to the target whenever it is full, so no
+ * intermediate strings are created. Runs of characters that need no escaping are copied in a tight loop. Numbers that
+ * fit into a long are formatted digit by digit instead of through {@link BigDecimal#toString()}.
+ * <p>
+ * Several top-level values are written on separate lines, as read by {@link JsonLines}, all through the same buffer.
+ * Output is only guaranteed to reach the target after {@link #flush()} or {@link #close()}. Tokens that would make the
+ * document invalid, like a name within an array, are rejected with an {@link IllegalStateException}. I/O errors of the
+ * visitor methods are reported as {@link UncheckedIOException}s.
+ */
+public final class JsonWriter implements JsonVisitor, Flushable, Closeable {
+
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+    // the most bytes or chars a single character occupies, as in the escape sequence backslash, 'u' and four hex digits
+    private static final int MAX_CHARACTER_LENGTH = 6;
+    private static final int MAX_LONG_LENGTH = 20;
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE_LITERAL = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE_LITERAL = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL_LITERAL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * For every ASCII character, 0 if it is written as it is, 'u' if it is written as a unicode escape, or the
+     * character of its short escape sequence.
+     */
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            ESCAPES[i] = 'u';
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+    }
+
+    private final Output output;
+    private final byte[] digits = new byte[MAX_LONG_LENGTH];
+
+    private int[] scopes = new int[32];
+    private int depth = 1;
+
+    // created once, as iterating over the members of every object with a new lambda would allocate it per object
+    private final BiConsumer<String, JsonElement> memberWriter = (name, member) -> {
+        key(name);
+        value(member);
+    };
+
+    /**
+     * Writes to the stream, which is closed by {@link #close()}.
+     */
+    public JsonWriter(OutputStream out) {
+        this(new StreamSink(Objects.requireNonNull(out)), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes the output to the writer as characters, without encoding it, and closes the writer on {@link #close()}.
+     */
+    public JsonWriter(Writer out) {
+        this(Objects.requireNonNull(out), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes to the buffer, starting at its position. Running out of space throws a
+     * {@link java.nio.BufferOverflowException} when the output buffer is flushed.
+     */
+    public JsonWriter(ByteBuffer out) {
+        this(new ByteBufferSink(Objects.requireNonNull(out)), DEFAULT_BUFFER_SIZE);
+    }
+
+    JsonWriter(Sink sink, int bufferSize) {
+        this(new Utf8Output(sink, checkBufferSize(bufferSize)));
+    }
+
+    JsonWriter(Writer out, int bufferSize) {
+        this(new CharOutput(out, checkBufferSize(bufferSize)));
+    }
+
+    private JsonWriter(Output output) {
+        this.output = output;
+        this.scopes[0] = EMPTY_DOCUMENT;
+    }
+
+    private static int checkBufferSize(int bufferSize) {
+        if (bufferSize < 2 * MAX_CHARACTER_LENGTH) {
+            throw new IllegalArgumentException("Buffer size must be at least " + 2 * MAX_CHARACTER_LENGTH + ", but was " + bufferSize);
+        }
+        return bufferSize;
+    }
+
+    /**
+     * @return the element as compact JSON
+     */
+    public static String toJson(JsonElement element) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.write(element);
+        } catch (IOException e) {
+            // a ByteArrayOutputStream does not throw
+            throw new UncheckedIOException(e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the element as the next value, like the visitor methods describing it would.
+     */
+    public void write(JsonElement element) throws IOException {
+        try {
+            value(element);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void value(JsonElement element) {
+        if (element instanceof JsonElement.JsonObject object) {
+            startObject();
+            object.members().forEach(memberWriter);
+            endObject();
+        } else if (element instanceof JsonElement.JsonArray array) {
+            startArray();
+            List<JsonElement> elements = array.elements();
+            if (elements instanceof RandomAccess) {
+                for (int i = 0; i < elements.size(); i++) {
+                    value(elements.get(i));
+                }
+            } else {
+                for (JsonElement child : elements) {
+                    value(child);
+                }
+            }
+            endArray();
+        } else if (element instanceof JsonElement.JsonString string) {
+            string(string.value());
+        } else if (element instanceof JsonElement.JsonNumber number) {
+            number(number);
+        } else if (element instanceof JsonElement.JsonBoolean bool) {
+            bool(bool.value());
+        } else {
+            nullValue();
+        }
+    }
+
+    @Override
+    public void startObject() {
+        beforeValue();
+        push(EMPTY_OBJECT);
+        output.writeAscii('{');
+    }
+
+    @Override
+    public void key(String key) {
+        switch (scopes[depth - 1]) {
+            case EMPTY_OBJECT -> {
+                // the first member needs no separator
+            }
+            case NONEMPTY_OBJECT -> output.writeAscii(',');
+            default -> throw new IllegalStateException("Names are only allowed in objects, before each value");
+        }
+        output.writeString(key);
+        output.writeAscii(':');
+        scopes[depth - 1] = DANGLING_NAME;
+    }
+
+    @Override
+    public void endObject() {
+        int scope = scopes[depth - 1];
+        if (scope != EMPTY_OBJECT && scope != NONEMPTY_OBJECT) {
+            throw new IllegalStateException("No object to end here");
+        }
+        depth--;
+        output.writeAscii('}');
+    }
+
+    @Override
+    public void startArray() {
+        beforeValue();
+        push(EMPTY_ARRAY);
+        output.writeAscii('[');
+    }
+
+    @Override
+    public void endArray() {
+        int scope = scopes[depth - 1];
+        if (scope != EMPTY_ARRAY && scope != NONEMPTY_ARRAY) {
+            throw new IllegalStateException("No array to end here");
+        }
+        depth--;
+        output.writeAscii(']');
+    }
+
+    @Override
+    public void string(String value) {
+        beforeValue();
+        output.writeString(value);
+    }
+
+    @Override
+    public void number(JsonElement.JsonNumber value) {
+        beforeValue();
+        if (!value.isCompact()) {
+            output.writeAscii(value.value().toString());
+        } else if (value.scale() == 0) {
+            writeLong(value.unscaledValue());
+        } else {
+            writeDecimal(value.unscaledValue(), value.scale());
+        }
+    }
+
+    /**
+     * Writes the value like {@link #number(JsonElement.JsonNumber)} would, without creating a {@link JsonElement}.
+     */
+    public void number(long value) {
+        beforeValue();
+        writeLong(value);
+    }
+
+    /**
+     * Writes the value in the notation of {@link Double#toString(double)}.
+     *
+     * @throws IllegalArgumentException if the value is NaN or infinite, which JSON cannot represent
+     */
+    public void number(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("JSON cannot represent " + value);
+        }
+        beforeValue();
+        output.writeAscii(Double.toString(value));
+    }
+
+    /**
+     * Writes the value in the notation of {@link Float#toString(float)}, i.e. with the shortest digits that identify the
+     * float, which widening it to a double would not.
+     *
+     * @throws IllegalArgumentException if the value is NaN or infinite, which JSON cannot represent
+     */
+    public void number(float value) {
+        if (!Float.isFinite(value)) {
+            throw new IllegalArgumentException("JSON cannot represent " + value);
+        }
+        beforeValue();
+        output.writeAscii(Float.toString(value));
+    }
+
+    @Override
+    public void bool(boolean value) {
+        beforeValue();
+        output.writeAscii(value ? TRUE_LITERAL : FALSE_LITERAL);
+    }
+
+    @Override
+    public void nullValue() {
+        beforeValue();
+        output.writeAscii(NULL_LITERAL);
+    }
+
+    /**
+     * Writes the buffered output to the target and flushes it.
+     */
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    /**
+     * Flushes the output and closes the target. Incomplete documents are not completed.
+     */
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    private void beforeValue() {
+        switch (scopes[depth - 1]) {
+            case EMPTY_DOCUMENT -> scopes[depth - 1] = NONEMPTY_DOCUMENT;
+            case NONEMPTY_DOCUMENT -> output.writeAscii('\n');
+            case EMPTY_ARRAY -> scopes[depth - 1] = NONEMPTY_ARRAY;
+            case NONEMPTY_ARRAY -> output.writeAscii(',');
+            case DANGLING_NAME -> scopes[depth - 1] = NONEMPTY_OBJECT;
+            default -> throw new IllegalStateException("Values in objects must be preceded by a name");
+        }
+    }
+
+    private void push(int scope) {
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth++] = scope;
+    }
+
+    private void writeLong(long value) {
+        int start = formatLong(value);
+        output.writeAscii(digits, start, MAX_LONG_LENGTH - start);
+    }
+
+    /**
+     * Writes {@code unscaledValue * 10^-scale} in plain notation if it has no more than six leading zeros, and in
+     * scientific notation otherwise, like {@link BigDecimal#toString()} would.
+     */
+    private void writeDecimal(long unscaledValue, int scale) {
+        int start = formatLong(unscaledValue);
+        boolean negative = unscaledValue < 0;
+        int signLength = negative ? 1 : 0;
+        int digitCount = MAX_LONG_LENGTH - start - signLength;
+        int digitStart = start + signLength;
+        if (scale > 0 && scale < digitCount) {
+            output.writeAscii(digits, start, signLength + digitCount - scale);
+            output.writeAscii('.');
+            output.writeAscii(digits, MAX_LONG_LENGTH - scale, scale);
+        } else if (scale > 0 && scale - digitCount < 6) {
+            output.writeAscii(digits, start, signLength);
+            output.writeAscii('0');
+            output.writeAscii('.');
+            for (int i = digitCount; i < scale; i++) {
+                output.writeAscii('0');
+            }
+            output.writeAscii(digits, digitStart, digitCount);
+        } else {
+            output.writeAscii(digits, start, signLength + 1);
+            if (digitCount > 1) {
+                output.writeAscii('.');
+                output.writeAscii(digits, digitStart + 1, digitCount - 1);
+            }
+            output.writeAscii('E');
+            long exponent = (long) digitCount - 1 - scale;
+            if (exponent >= 0) {
+                output.writeAscii('+');
+            }
+            writeLong(exponent);
+        }
+    }
+
+    /**
+     * Formats the value right-aligned into {@link #digits}.
+     *
+     * @return the index of the first character, which is the sign if the value is negative
+     */
+    private int formatLong(long value) {
+        int index = MAX_LONG_LENGTH;
+        // negative values cover Long.MIN_VALUE as well
+        long remaining = value < 0 ? value : -value;
+        do {
+            long quotient = remaining / 10;
+            digits[--index] = (byte) ('0' + (quotient * 10 - remaining));
+            remaining = quotient;
+        } while (remaining != 0);
+        if (value < 0) {
+            digits[--index] = '-';
+        }
+        return index;
+    }
+
+    /**
+     * The buffer the output is encoded into, which is written to the target whenever it is full. The buffer always ends
+     * at a character boundary when it is written, so that the target receives whole characters.
+     */
+    private abstract static class Output implements Flushable, Closeable {
+
+        abstract void writeAscii(char c);
+
+        abstract void writeAscii(byte[] ascii, int offset, int length);
+
+        abstract void writeAscii(String ascii);
+
+        /**
+         * Writes the value as a string literal, in quotes and with the characters escaped that need to be.
+         */
+        abstract void writeString(String value);
+
+        abstract void drain() throws IOException;
+
+        final void writeAscii(byte[] ascii) {
+            writeAscii(ascii, 0, ascii.length);
+        }
+
+        final void drainOrFail() {
+            try {
+                drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Encodes the output as UTF-8 for a {@link Sink}.
+     */
+    private static final class Utf8Output extends Output {
+
+        private final Sink sink;
+        private final byte[] buffer;
+        private int position;
+
+        private Utf8Output(Sink sink, int bufferSize) {
+            this.sink = sink;
+            this.buffer = new byte[bufferSize];
+        }
+
+        @Override
+        void writeAscii(char c) {
+            require(1);
+            buffer[position++] = (byte) c;
+        }
+
+        @Override
+        void writeAscii(byte[] ascii, int offset, int length) {
+            require(length);
+            System.arraycopy(ascii, offset, buffer, position, length);
+            position += length;
+        }
+
+        @Override
+        void writeAscii(String ascii) {
+            int length = ascii.length();
+            for (int i = 0; i < length; i++) {
+                writeAscii(ascii.charAt(i));
+            }
+        }
+
+        @Override
+        void writeString(String value) {
+            require(1);
+            buffer[position++] = '"';
+            int length = value.length();
+            int i = 0;
+            while (i < length) {
+                // copy the run of characters that need no escaping, up to the end of the buffer
+                int limit = Math.min(length, i + buffer.length - position);
+                char c = 0;
+                while (i < limit && (c = value.charAt(i)) < 0x80 && ESCAPES[c] == 0) {
+                    buffer[position++] = (byte) c;
+                    i++;
+                }
+                if (i == length) {
+                    break;
+                }
+                if (i == limit) {
+                    drainOrFail();
+                    continue;
+                }
+                require(2 * MAX_CHARACTER_LENGTH);
+                if (c < 0x80) {
+                    writeEscape(c);
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | c >> 6);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    // unpaired surrogates have no UTF-8 encoding, so they are preserved as escape sequences
+                    writeUnicodeEscape(c);
+                } else {
+                    buffer[position++] = (byte) (0xE0 | c >> 12);
+                    buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                }
+                i++;
+            }
+            require(1);
+            buffer[position++] = '"';
+        }
+
+        private void writeEscape(char c) {
+            byte escape = ESCAPES[c];
+            if (escape == 'u') {
+                writeUnicodeEscape(c);
+            } else {
+                buffer[position++] = '\\';
+                buffer[position++] = escape;
+            }
+        }
+
+        private void writeUnicodeEscape(char c) {
+            buffer[position++] = '\\';
+            buffer[position++] = 'u';
+            buffer[position++] = HEX_DIGITS[c >> 12];
+            buffer[position++] = HEX_DIGITS[c >> 8 & 0xF];
+            buffer[position++] = HEX_DIGITS[c >> 4 & 0xF];
+            buffer[position++] = HEX_DIGITS[c & 0xF];
+        }
+
+        /**
+         * Makes room for the given number of bytes, which must not exceed the buffer size.
+         */
+        private void require(int length) {
+            if (position + length > buffer.length) {
+                drainOrFail();
+            }
+        }
+
+        @Override
+        void drain() throws IOException {
+            if (position > 0) {
+                int length = position;
+                position = 0;
+                sink.write(buffer, 0, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+            sink.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                sink.close();
+            }
+        }
+    }
+
+    /**
+     * Passes the output on to a {@link Writer} as it is, so that only the escaping is done here.
+     */
+    private static final class CharOutput extends Output {
+
+        private final Writer out;
+        private final char[] buffer;
+        private int position;
+
+        private CharOutput(Writer out, int bufferSize) {
+            this.out = out;
+            this.buffer = new char[bufferSize];
+        }
+
+        @Override
+        void writeAscii(char c) {
+            require(1);
+            buffer[position++] = c;
+        }
+
+        @Override
+        void writeAscii(byte[] ascii, int offset, int length) {
+            require(length);
+            for (int i = offset; i < offset + length; i++) {
+                buffer[position++] = (char) ascii[i];
+            }
+        }
+
+        @Override
+        void writeAscii(String ascii) {
+            int length = ascii.length();
+            if (length > buffer.length) {
+                drainOrFail();
+                try {
+                    out.write(ascii);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            require(length);
+            ascii.getChars(0, length, buffer, position);
+            position += length;
+        }
+
+        @Override
+        void writeString(String value) {
+            require(1);
+            buffer[position++] = '"';
+            int length = value.length();
+            int i = 0;
+            while (i < length) {
+                // copy the run of characters that need no escaping, up to the end of the buffer
+                int limit = Math.min(length, i + buffer.length - position);
+                char c = 0;
+                while (i < limit && ((c = value.charAt(i)) < 0x80 ? ESCAPES[c] == 0 : !Character.isSurrogate(c))) {
+                    buffer[position++] = c;
+                    i++;
+                }
+                if (i == length) {
+                    break;
+                }
+                if (i == limit) {
+                    drainOrFail();
+                    continue;
+                }
+                require(2 * MAX_CHARACTER_LENGTH);
+                if (c < 0x80) {
+                    writeEscape(c);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    buffer[position++] = c;
+                    buffer[position++] = value.charAt(++i);
+                } else {
+                    // unpaired surrogates are escaped like in UTF-8 output, so that both produce the same text
+                    writeUnicodeEscape(c);
+                }
+                i++;
+            }
+            require(1);
+            buffer[position++] = '"';
+        }
+
+        private void writeEscape(char c) {
+            byte escape = ESCAPES[c];
+            if (escape == 'u') {
+                writeUnicodeEscape(c);
+            } else {
+                buffer[position++] = '\\';
+                buffer[position++] = (char) escape;
+            }
+        }
+
+        private void writeUnicodeEscape(char c) {
+            buffer[position++] = '\\';
+            buffer[position++] = 'u';
+            buffer[position++] = (char) HEX_DIGITS[c >> 12];
+            buffer[position++] = (char) HEX_DIGITS[c >> 8 & 0xF];
+            buffer[position++] = (char) HEX_DIGITS[c >> 4 & 0xF];
+            buffer[position++] = (char) HEX_DIGITS[c & 0xF];
+        }
+
+        /**
+         * Makes room for the given number of chars, which must not exceed the buffer size.
+         */
+        private void require(int length) {
+            if (position + length > buffer.length) {
+                drainOrFail();
+            }
+        }
+
+        @Override
+        void drain() throws IOException {
+            if (position > 0) {
+                int length = position;
+                position = 0;
+                out.write(buffer, 0, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * The target of UTF-8 encoded output.
+     */
+    interface Sink extends Flushable, Closeable {
+        void write(byte[] bytes, int offset, int length) throws IOException;
+    }
+
+    private record StreamSink(OutputStream out) implements Sink {
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private record ByteBufferSink(ByteBuffer out) implements Sink {
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            out.put(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            // the bytes are in the buffer already
+        }
+
+        @Override
+        public void close() {
+            // the buffer is left to the caller
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package me.kecker.jsonparser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link JsonInput} reading a UTF-8 encoded file by mapping it into memory, so that it is neither read through system
+ * calls nor copied onto the heap. Bytes are decoded like {@link Utf8JsonInput} does, but right out of the mapping.
+ * <p>
+ * Files of up to 2 GB are mapped as a whole and addressable like arrays, so that lazy numbers, tapes and parallel
+ * parsing work on them as well. Larger files are mapped in several windows and can only be read front to back. The
+ * mapping does not keep the file open; it is released once the input is garbage collected.
+ */
+public class MappedJsonInput extends JsonInput {
+
+    /**
+     * Each window also maps the bytes a UTF-8 sequence starting in its last byte may extend into.
+     */
+    private static final int WINDOW_OVERLAP = 3;
+    static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - WINDOW_OVERLAP;
+
+    private final ByteBuffer[] windows;
+    private final int windowSize;
+    private final byte[] sequence = new byte[4];
+    private byte[] run = new byte[0];
+    private int window;
+    private ByteBuffer bytes;
+    private int position;
+    private int limit;
+
+    private char current;
+    private int currentWidth;
+    private char lowSurrogate;
+    private CharSequence text;
+
+    public MappedJsonInput(Path file) throws IOException {
+        this(file, MAX_WINDOW_SIZE);
+    }
+
+    MappedJsonInput(Path file, int windowSize) throws IOException {
+        this(map(file, windowSize), windowSize, 0);
+    }
+
+    private MappedJsonInput(ByteBuffer[] windows, int windowSize, int position) {
+        this.windows = windows;
+        this.windowSize = windowSize;
+        this.bytes = windows[0];
+        this.limit = limit(0);
+        this.position = position;
+        decodeCurrent();
+    }
+
+    @Override
+    public char current() {
+        return current;
+    }
+
+    @Override
+    public void advance() {
+        if (lowSurrogate != 0) {
+            current = lowSurrogate;
+            lowSurrogate = 0;
+            return;
+        }
+        position += currentWidth;
+        decodeCurrent();
+    }
+
+    @Override
+    public boolean reachedEnd() {
+        return currentWidth == 0;
+    }
+
+    @Override
+    public void skipWhitespace() {
+        while (CharacterClass.isWhitespace(current)) {
+            // whitespace is always a single byte, so the mapped bytes can be skipped without decoding
+            position++;
+            while (position < limit && CharacterClass.isWhitespace(bytes.get(position))) {
+                position++;
+            }
+            decodeCurrent();
+        }
+    }
+
+    /**
+     * Copies runs of ASCII characters straight out of the mapping, only non-ASCII characters are decoded one by one.
+     */
+    @Override
+    public String stringRun() {
+        if (lowSurrogate == 0 && current < 0x80) {
+            int end = asciiStringRunEnd();
+            // the run is complete if it ends at an ASCII character or at the end of the file
+            if (end < limit ? bytes.get(end) >= 0 : window == windows.length - 1) {
+                int length = end - position;
+                if (run.length < length) {
+                    run = new byte[Math.max(length, run.length * 2)];
+                }
+                bytes.get(position, run, 0, length);
+                position = end;
+                decodeCurrent();
+                return new String(run, 0, length, StandardCharsets.ISO_8859_1);
+            }
+        }
+        StringBuilder builder = new StringBuilder();
+        appendStringRun(builder);
+        return builder.toString();
+    }
+
+    @Override
+    public void appendStringRun(StringBuilder builder) {
+        while (!reachedEnd()) {
+            if (lowSurrogate != 0 || current >= 0x80) {
+                builder.append(current);
+                advance();
+                continue;
+            }
+            if (!CharacterClass.isUnescaped(current)) {
+                return;
+            }
+            int end = asciiStringRunEnd();
+            for (int i = position; i < end; i++) {
+                builder.append((char) bytes.get(i));
+            }
+            position = end;
+            decodeCurrent();
+        }
+    }
+
+    @Override
+    void skipStringRun() {
+        while (!reachedEnd()) {
+            if (lowSurrogate != 0 || current >= 0x80) {
+                advance();
+                continue;
+            }
+            if (!CharacterClass.isUnescaped(current)) {
+                return;
+            }
+            position = asciiStringRunEnd();
+            decodeCurrent();
+        }
+    }
+
+    @Override
+    String stringRun(SymbolTable symbols) {
+        if (lowSurrogate == 0 && current < 0x80) {
+            int end = asciiStringRunEnd();
+            if (end < limit && bytes.get(end) == '"') {
+                String run = symbols.intern(bytes, position, end);
+                position = end;
+                decodeCurrent();
+                return run;
+            }
+        }
+        return super.stringRun(symbols);
+    }
+
+    private int asciiStringRunEnd() {
+        int end = position;
+        while (end < limit && CharacterClass.isUnescapedAscii(bytes.get(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Files mapped as a whole are addressed directly by byte offset, with every byte mapped to one character.
+     */
+    @Override
+    CharSequence text() {
+        if (windows.length > 1) {
+            return null;
+        }
+        if (text == null) {
+            text = new BufferText(bytes);
+        }
+        return text;
+    }
+
+    @Override
+    int position() {
+        if (windows.length > 1) {
+            return super.position();
+        }
+        return position;
+    }
+
+    @Override
+    void seek(int position) {
+        if (windows.length > 1) {
+            super.seek(position);
+        }
+        this.position = position;
+        this.lowSurrogate = 0;
+        decodeCurrent();
+    }
+
+    @Override
+    JsonInput duplicate() {
+        if (windows.length > 1) {
+            return super.duplicate();
+        }
+        return new MappedJsonInput(new ByteBuffer[]{bytes.duplicate()}, windowSize, position);
+    }
+
+    private void decodeCurrent() {
+        while (position >= limit && window < windows.length - 1) {
+            position -= windowSize;
+            window++;
+            bytes = windows[window];
+            limit = limit(window);
+        }
+        if (position >= limit) {
+            current = 0;
+            currentWidth = 0;
+            return;
+        }
+        byte lead = bytes.get(position);
+        if (lead >= 0) {
+            current = (char) lead;
+            currentWidth = 1;
+            return;
+        }
+        // the overlap of the windows makes sure that all bytes of the sequence are mapped
+        int available = Math.min(Utf8JsonInput.sequenceLength(lead & 0xFF), bytes.limit() - position);
+        bytes.get(position, sequence, 0, available);
+        long decoded = Utf8JsonInput.decodeSequence(sequence, 0, available);
+        int codePoint = (int) decoded;
+        currentWidth = (int) (decoded >>> 32);
+        if (Character.isSupplementaryCodePoint(codePoint)) {
+            current = Character.highSurrogate(codePoint);
+            lowSurrogate = Character.lowSurrogate(codePoint);
+        } else {
+            current = (char) codePoint;
+        }
+    }
+
+    /**
+     * @return the end of the bytes a window is responsible for, the overlap belongs to the next window
+     */
+    private int limit(int window) {
+        return window == windows.length - 1 ? windows[window].limit() : windowSize;
+    }
+
+    private static ByteBuffer[] map(Path file, int windowSize) throws IOException {
+        if (windowSize < 1 || windowSize > MAX_WINDOW_SIZE) {
+            throw new IllegalArgumentException("Window size must be between 1 and " + MAX_WINDOW_SIZE + ", but was " + windowSize);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer[] windows = new ByteBuffer[(int) Math.max(1, (size - WINDOW_OVERLAP + windowSize - 1) / windowSize)];
+            for (int i = 0; i < windows.length; i++) {
+                long offset = (long) i * windowSize;
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(windowSize + WINDOW_OVERLAP, size - offset));
+            }
+            return windows;
+        }
+    }
+
+    /**
+     * Presents the mapped bytes as ISO-8859-1 characters, which is exact for ASCII.
+     */
+    private record BufferText(ByteBuffer bytes) implements CharSequence {
+
+        @Override
+        public int length() {
+            return bytes.limit();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes.get(index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            byte[] copy = new byte[end - start];
+            bytes.get(start, copy);
+            return new String(copy, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
@@ -2,8 +2,24 @@ package me.kecker.jsonparser;
 
 import me.kecker.jsonparser.exceptions.IllegalNumberException;
 
+import java.math.BigDecimal;
+
 public class NumberUtils {
 
+    /** All powers of ten a double represents exactly. */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_DOUBLE_SIGNIFICAND = 1L << 53;
+    /** All powers of ten a float represents exactly. */
+    private static final float[] EXACT_FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+    private static final long MAX_EXACT_FLOAT_SIGNIFICAND = 1L << 24;
+    /** Any larger significand might overflow when another digit is appended. */
+    static final long MAX_SIGNIFICAND_BEFORE_DIGIT = (Long.MAX_VALUE - 9) / 10;
+
     public static int toDecimal(char character) throws IllegalNumberException {
         if (!isDigit(character)) {
             throw new IllegalNumberException("Character '" + character + "' is not a valid decimal digit.");
@@ -15,6 +31,110 @@ public class NumberUtils {
         return character >= '0' && character <= '9';
     }
 
+    /**
+     * Converts the decimal {@code significand * 10^-scale} to the nearest double.
+     * <p>
+     * If both the significand and the power of ten are exactly representable as double, a single multiplication or
+     * division is already rounded correctly. Only the other numbers take the detour over {@link BigDecimal}.
+     */
+    static double toDouble(long significand, int scale) {
+        if (-MAX_EXACT_DOUBLE_SIGNIFICAND <= significand && significand <= MAX_EXACT_DOUBLE_SIGNIFICAND
+                && -EXACT_POWERS_OF_TEN.length < scale && scale < EXACT_POWERS_OF_TEN.length) {
+            return scale >= 0
+                    ? significand / EXACT_POWERS_OF_TEN[scale]
+                    : significand * EXACT_POWERS_OF_TEN[-scale];
+        }
+        return BigDecimal.valueOf(significand, scale).doubleValue();
+    }
+
+    /**
+     * Converts the decimal {@code significand * 10^-scale} to the nearest float, like {@link #toDouble(long, int)}.
+     * Converting the nearest double instead would round twice, which is off by one ulp for decimals close to the
+     * midpoint of two floats.
+     */
+    static float toFloat(long significand, int scale) {
+        if (-MAX_EXACT_FLOAT_SIGNIFICAND <= significand && significand <= MAX_EXACT_FLOAT_SIGNIFICAND
+                && -EXACT_FLOAT_POWERS_OF_TEN.length < scale && scale < EXACT_FLOAT_POWERS_OF_TEN.length) {
+            return scale >= 0
+                    ? significand / EXACT_FLOAT_POWERS_OF_TEN[scale]
+                    : significand * EXACT_FLOAT_POWERS_OF_TEN[-scale];
+        }
+        return BigDecimal.valueOf(significand, scale).floatValue();
+    }
+
+    /**
+     * Converts the decimal {@code significand * 10^-scale} to a long, like {@link BigDecimal#longValueExact()}.
+     *
+     * @throws ArithmeticException if the decimal has a non-zero fractional part or does not fit into a long
+     */
+    static long toLongExact(long significand, int scale) {
+        if (significand == 0) {
+            return 0;
+        }
+        while (scale > 0 && significand % 10 == 0) {
+            significand /= 10;
+            scale--;
+        }
+        if (scale > 0) {
+            throw new ArithmeticException("Rounding necessary");
+        }
+        while (scale < 0) {
+            significand = Math.multiplyExact(significand, 10);
+            scale++;
+        }
+        return significand;
+    }
+
+    /**
+     * Decodes a number that has already been validated against the JSON grammar.
+     */
+    static JsonElement.JsonNumber parseValidNumber(CharSequence text, int start, int end) {
+        int index = start;
+        boolean negative = text.charAt(index) == '-';
+        if (negative) {
+            index++;
+        }
+        long significand = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        for (; index < end; index++) {
+            char character = text.charAt(index);
+            if (character == '.') {
+                fraction = true;
+                continue;
+            }
+            if (!isDigit(character)) {
+                break;
+            }
+            if (significand > MAX_SIGNIFICAND_BEFORE_DIGIT) {
+                return new JsonElement.JsonNumber(new BigDecimal(text.subSequence(start, end).toString()));
+            }
+            significand = significand * 10 + (character - '0');
+            if (fraction) {
+                fractionDigits++;
+            }
+        }
+        long exponent = 0;
+        if (index < end) {
+            index++; // skip the 'e'
+            boolean negativeExponent = text.charAt(index) == '-';
+            if (negativeExponent || text.charAt(index) == '+') {
+                index++;
+            }
+            for (; index < end && exponent <= Integer.MAX_VALUE; index++) {
+                exponent = exponent * 10 + (text.charAt(index) - '0');
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        long scale = fractionDigits - exponent;
+        if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+            return new JsonElement.JsonNumber(new BigDecimal(text.subSequence(start, end).toString()));
+        }
+        return JsonElement.JsonNumber.valueOf(negative ? -significand : significand, (int) scale);
+    }
+
     private NumberUtils() {
         // class should not be instantiated
     }
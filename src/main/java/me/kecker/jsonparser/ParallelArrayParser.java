@@ -0,0 +1,177 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parses documents whose root is a large array on several threads, see {@link JsonParseOptions#parallel()}.
+ * <p>
+ * A prescan tracking only strings, escapes and nesting depth splits the elements of the root array into chunks at
+ * top-level commas. The chunks are parsed independently on a {@link ForkJoinPool}, each by its own
+ * {@link JsonParseState} on a {@link JsonInput#duplicate() duplicate} of the input, and their elements are assembled
+ * in order.
+ * <p>
+ * The prescan is exact for valid documents only. Whenever a chunk fails, the document is parsed once more on the
+ * calling thread, so that invalid documents are rejected with the same exception as by the sequential parser.
+ */
+final class ParallelArrayParser {
+
+    /**
+     * Smaller documents are parsed faster on a single thread than split up.
+     */
+    static final int MIN_PARALLEL_LENGTH = 1 << 20;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    static JsonElement parse(JsonInput input, JsonParseOptions options) throws JsonParseException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        CharSequence text = input.text();
+        if (text == null || text.length() - input.position() < MIN_PARALLEL_LENGTH || pool.getParallelism() < 2) {
+            return sequential(input, options);
+        }
+        return parse(input, options, pool, pool.getParallelism() * CHUNKS_PER_THREAD);
+    }
+
+    static JsonElement parse(JsonInput input, JsonParseOptions options, ForkJoinPool pool, int chunkCount)
+            throws JsonParseException {
+        CharSequence text = input.text();
+        int open = input.position();
+        while (open < text.length() && CharacterClass.isWhitespace(text.charAt(open))) {
+            open++;
+        }
+        if (open == text.length() || text.charAt(open) != '[') {
+            return sequential(input, options);
+        }
+        int[] bounds = split(text, open, Math.max(1, (text.length() - open) / chunkCount));
+        if (bounds == null || text.charAt(bounds[bounds.length - 1]) != ']') {
+            return sequential(input, options);
+        }
+
+        // the chunks must not run in parallel themselves, nor index the rest of the document from their start each
+        JsonParseOptions chunkOptions = options.withParallel(false).withStructuralIndex(false);
+        List<Callable<List<JsonElement>>> chunks = new ArrayList<>(bounds.length - 1);
+        for (int i = 0; i < bounds.length - 1; i++) {
+            int start = bounds[i] + 1;
+            int end = bounds[i + 1];
+            chunks.add(() -> parseChunk(input.duplicate(), chunkOptions, start, end));
+        }
+        try {
+            List<Future<List<JsonElement>>> results = pool.invokeAll(chunks);
+            int size = 0;
+            for (Future<List<JsonElement>> result : results) {
+                size += result.get().size();
+            }
+            if (!hasOnlyWhitespaceAfter(input.duplicate(), bounds[bounds.length - 1] + 1)) {
+                return sequential(input, options);
+            }
+            JsonElement[] elements = new JsonElement[size];
+            int index = 0;
+            for (Future<List<JsonElement>> result : results) {
+                for (JsonElement element : result.get()) {
+                    elements[index++] = element;
+                }
+            }
+            return new JsonElement.JsonArray(Collections.unmodifiableList(Arrays.asList(elements)));
+        } catch (ExecutionException e) {
+            return sequential(input, options);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return sequential(input, options);
+        }
+    }
+
+    /**
+     * @return the opening bracket, the commas at which the root array is split and the character closing it, or null if
+     * the root array is not closed within the text
+     */
+    private static int[] split(CharSequence text, int open, int chunkLength) {
+        int[] bounds = new int[16];
+        int count = 0;
+        bounds[count++] = open;
+        int nextSplit = open + chunkLength;
+        int depth = 0;
+        boolean inString = false;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> inString = true;
+                case '[', '{' -> depth++;
+                case ']', '}' -> {
+                    depth--;
+                    if (depth == 0) {
+                        bounds = Arrays.copyOf(bounds, count + 1);
+                        bounds[count] = i;
+                        return bounds;
+                    }
+                }
+                case ',' -> {
+                    if (depth == 1 && i >= nextSplit) {
+                        if (count == bounds.length) {
+                            bounds = Arrays.copyOf(bounds, count * 2);
+                        }
+                        bounds[count++] = i;
+                        nextSplit = i + chunkLength;
+                    }
+                }
+                default -> {
+                    // other characters do not affect the structure
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the comma-separated elements in {@code [start, end)}.
+     */
+    private static List<JsonElement> parseChunk(JsonInput input, JsonParseOptions options, int start, int end)
+            throws JsonParseException {
+        JsonParseState state = new JsonParseState(input, options);
+        // the elements are nested in the root array, which counts towards the maximum depth like it does sequentially
+        state.checkDepth(1);
+        state.seek(start);
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        builder.startArray();
+        state.element(builder, 1);
+        while (state.position() < end && !state.reachedEnd() && state.current() == ',') {
+            state.advance();
+            state.element(builder, 1);
+        }
+        // the end must still be within the input, which a duplicate of an array range may not be
+        if (state.position() != end || state.reachedEnd()) {
+            throw new JsonParseException("Chunk does not end at the expected position " + end);
+        }
+        builder.endArray();
+        return ((JsonElement.JsonArray) builder.result()).elements();
+    }
+
+    private static boolean hasOnlyWhitespaceAfter(JsonInput input, int position) {
+        input.seek(position);
+        input.skipWhitespace();
+        return input.reachedEnd();
+    }
+
+    private static JsonElement sequential(JsonInput input, JsonParseOptions options) throws JsonParseException {
+        return new JsonParseState(input, options).json();
+    }
+
+    private ParallelArrayParser() {
+        // class should not be instantiated
+    }
+}
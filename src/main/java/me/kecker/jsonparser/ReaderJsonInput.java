@@ -0,0 +1,119 @@
+package me.kecker.jsonparser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * {@link JsonInput} reading from a {@link Reader} through a fixed-size buffer that is refilled on demand.
+ * <p>
+ * The reader is consumed until its end but not closed. I/O errors are reported as {@link UncheckedIOException}s.
+ */
+public class ReaderJsonInput extends JsonInput {
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+
+    public ReaderJsonInput(Reader reader) {
+        this(reader, Utf8JsonInput.DEFAULT_BUFFER_SIZE);
+    }
+
+    public ReaderJsonInput(Reader reader, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive, but was " + bufferSize);
+        }
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        fill();
+    }
+
+    @Override
+    public char current() {
+        return buffer[position];
+    }
+
+    @Override
+    public void advance() {
+        position++;
+        if (position == limit) {
+            fill();
+        }
+    }
+
+    @Override
+    public boolean reachedEnd() {
+        return position >= limit;
+    }
+
+    @Override
+    public void skipWhitespace() {
+        while (position < limit && CharacterClass.isWhitespace(buffer[position])) {
+            position++;
+            if (position == limit) {
+                fill();
+            }
+        }
+    }
+
+    @Override
+    public String stringRun() {
+        int end = stringRunEnd();
+        if (end < limit) {
+            String run = new String(buffer, position, end - position);
+            position = end;
+            return run;
+        }
+        // the run might continue after the buffered characters
+        StringBuilder builder = new StringBuilder();
+        appendStringRun(builder);
+        return builder.toString();
+    }
+
+    @Override
+    public void appendStringRun(StringBuilder builder) {
+        while (position < limit) {
+            int end = stringRunEnd();
+            builder.append(buffer, position, end - position);
+            position = end;
+            if (position < limit) {
+                return;
+            }
+            fill();
+        }
+    }
+
+    @Override
+    String stringRun(SymbolTable symbols) {
+        int end = stringRunEnd();
+        if (end < limit && buffer[end] == '"') {
+            String run = symbols.intern(buffer, position, end);
+            position = end;
+            return run;
+        }
+        return super.stringRun(symbols);
+    }
+
+    private int stringRunEnd() {
+        int index = position;
+        while (index < limit && CharacterClass.isUnescaped(buffer[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    private void fill() {
+        position = 0;
+        limit = 0;
+        try {
+            int read;
+            do {
+                read = reader.read(buffer);
+            } while (read == 0);
+            limit = Math.max(read, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+
+import java.util.Objects;
+
+/**
+ * Parses documents one after another, keeping its scratch buffers, container stacks and cache of member names between
+ * them. Parsing many small documents then allocates little more than the resulting trees, and member names that recur
+ * across documents are allocated only once.
+ * <p>
+ * The buffers keep the size they have grown to for the largest document so far. An instance must only be used by one
+ * thread at a time; {@link JsonParserPool} hands out instances to concurrent callers.
+ */
+public final class ReusableJsonParser {
+
+    // takes the place of the last input, so that the parser does not retain the source of the last document
+    private static final JsonInput NO_INPUT = new StringJsonInput("");
+
+    private final JsonParseOptions options;
+    private final JsonParseState state;
+    private final JsonTreeBuilder builder = new JsonTreeBuilder();
+    private boolean parsing;
+
+    public ReusableJsonParser() {
+        this(JsonParseOptions.DEFAULT);
+    }
+
+    public ReusableJsonParser(JsonParseOptions options) {
+        this.options = Objects.requireNonNull(options);
+        SymbolTable symbols = options.keyCacheSize() > 0 ? new SymbolTable(options.keyCacheSize()) : null;
+        this.state = new JsonParseState(NO_INPUT, options, symbols);
+    }
+
+    public JsonParseOptions options() {
+        return options;
+    }
+
+    public JsonElement parse(String source) throws JsonParseException {
+        return parse(new StringJsonInput(source));
+    }
+
+    /**
+     * Parses UTF-8 encoded JSON without decoding it into a {@link String} first.
+     */
+    public JsonElement parse(byte[] source) throws JsonParseException {
+        return parse(new Utf8JsonInput(source));
+    }
+
+    /**
+     * Parses the UTF-8 encoded JSON in {@code source[offset, offset + length)}.
+     */
+    public JsonElement parse(byte[] source, int offset, int length) throws JsonParseException {
+        return parse(new Utf8JsonInput(source, offset, length));
+    }
+
+    /**
+     * Documents parsed in parallel, see {@link JsonParseOptions#parallel()}, do not reuse the buffers of this parser.
+     */
+    public JsonElement parse(JsonInput input) throws JsonParseException {
+        if (options.parallel()) {
+            return ParallelArrayParser.parse(input, options);
+        }
+        checkIdle();
+        try {
+            parse(input, builder);
+            return builder.result();
+        } finally {
+            builder.reset();
+        }
+    }
+
+    public void parse(String source, JsonVisitor visitor) throws JsonParseException {
+        parse(new StringJsonInput(source), visitor);
+    }
+
+    public void parse(byte[] source, JsonVisitor visitor) throws JsonParseException {
+        parse(new Utf8JsonInput(source), visitor);
+    }
+
+    /**
+     * @throws IllegalStateException if the parser is already parsing a document, i.e. if it is called by the visitor
+     */
+    public void parse(JsonInput input, JsonVisitor visitor) throws JsonParseException {
+        checkIdle();
+        parsing = true;
+        state.reset(input);
+        try {
+            state.json(visitor);
+        } finally {
+            state.reset(NO_INPUT);
+            parsing = false;
+        }
+    }
+
+    private void checkIdle() {
+        if (parsing) {
+            throw new IllegalStateException("The parser is already parsing a document");
+        }
+    }
+}
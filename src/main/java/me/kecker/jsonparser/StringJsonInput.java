@@ -0,0 +1,112 @@
+package me.kecker.jsonparser;
+
+/**
+ * {@link JsonInput} reading from a {@link String}.
+ */
+public class StringJsonInput extends JsonInput {
+
+    private final String source;
+    private char current;
+    private int currentIndex;
+
+    public StringJsonInput(String source) {
+        this.source = source;
+        this.currentIndex = 0;
+        this.current = reachedEnd() ? 0 : this.source.charAt(0);
+    }
+
+    @Override
+    public char current() {
+        return current;
+    }
+
+    @Override
+    public void advance() {
+        this.currentIndex++;
+        this.current = reachedEnd() ? 0 : this.source.charAt(this.currentIndex);
+    }
+
+    @Override
+    public boolean reachedEnd() {
+        return currentIndex == this.source.length();
+    }
+
+    @Override
+    public void skipWhitespace() {
+        int index = this.currentIndex;
+        int length = this.source.length();
+        while (index < length && CharacterClass.isWhitespace(this.source.charAt(index))) {
+            index++;
+        }
+        if (index != this.currentIndex) {
+            moveTo(index);
+        }
+    }
+
+    @Override
+    public String stringRun() {
+        int start = this.currentIndex;
+        int end = stringRunEnd();
+        moveTo(end);
+        return this.source.substring(start, end);
+    }
+
+    @Override
+    public void appendStringRun(StringBuilder builder) {
+        int start = this.currentIndex;
+        int end = stringRunEnd();
+        moveTo(end);
+        builder.append(this.source, start, end);
+    }
+
+    @Override
+    void skipStringRun() {
+        moveTo(stringRunEnd());
+    }
+
+    @Override
+    String stringRun(SymbolTable symbols) {
+        int start = this.currentIndex;
+        int end = stringRunEnd();
+        moveTo(end);
+        return !reachedEnd() && this.current == '"'
+                ? symbols.intern(this.source, start, end)
+                : this.source.substring(start, end);
+    }
+
+    private int stringRunEnd() {
+        int index = this.currentIndex;
+        int length = this.source.length();
+        while (index < length && CharacterClass.isUnescaped(this.source.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private void moveTo(int index) {
+        this.currentIndex = index;
+        this.current = reachedEnd() ? 0 : this.source.charAt(index);
+    }
+
+    @Override
+    CharSequence text() {
+        return this.source;
+    }
+
+    @Override
+    int position() {
+        return this.currentIndex;
+    }
+
+    @Override
+    void seek(int position) {
+        moveTo(position);
+    }
+
+    @Override
+    JsonInput duplicate() {
+        StringJsonInput duplicate = new StringJsonInput(this.source);
+        duplicate.moveTo(this.currentIndex);
+        return duplicate;
+    }
+}
@@ -0,0 +1,195 @@
+package me.kecker.jsonparser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Bitmaps of a UTF-8 encoded document held in memory with one bit per byte, found in a first pass over the bytes before
+ * parsing:
+ * <ul>
+ *     <li>the starts of all tokens: the structural characters {@code {}[]:,} and the opening quotes of strings outside
+ *     of strings, as well as the first byte of every other run of characters following them or whitespace,</li>
+ *     <li>the quotes that open or close strings, i.e. that are not escaped,</li>
+ *     <li>the bytes that keep strings from being copied as they are: backslashes, control characters and the bytes of
+ *     non-ASCII characters.</li>
+ * </ul>
+ * {@link JsonParseState} walks these bitmaps to jump over whitespace to the next token and to find the end of strings,
+ * instead of inspecting every byte with {@link JsonInput#advance()}.
+ * <p>
+ * The bytes are processed in blocks of {@value BlockClassifier#BLOCK_SIZE}, whose character classes are determined by a
+ * {@link BlockClassifier} as bit masks. Escaped quotes and the extent of strings are then derived with a few bitwise
+ * operations per block instead of per byte, in the manner of simdjson.
+ * <p>
+ * The index does not validate the document. It is only exact for a valid prefix of it, which is all the parser relies
+ * on: the parser has checked every byte before a position it looks up.
+ */
+final class StructuralIndex {
+
+    private static final int BLOCK_SIZE = BlockClassifier.BLOCK_SIZE;
+
+    private final byte[] bytes;
+    private final int start;
+    private final int end;
+    private final long[] tokens;
+    private final long[] quotes;
+    private final long[] specials;
+
+    // state carried from one block to the next
+    private boolean escapeCarry;
+    private long inStringCarry;
+    private long separatorCarry = 1;
+
+    StructuralIndex(byte[] bytes, int start, int end) {
+        this(bytes, start, end, BlockClassifier.create());
+    }
+
+    StructuralIndex(byte[] bytes, int start, int end, BlockClassifier classifier) {
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+        int blocks = (end - start + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.tokens = new long[blocks];
+        this.quotes = new long[blocks];
+        this.specials = new long[blocks];
+        int block = 0;
+        int offset = start;
+        for (; end - offset >= BLOCK_SIZE; offset += BLOCK_SIZE) {
+            classifier.classify(bytes, offset);
+            indexBlock(classifier, block++);
+        }
+        if (offset < end) {
+            // pad the last block with whitespace, which neither starts a token nor belongs to a string
+            byte[] padded = new byte[BLOCK_SIZE];
+            Arrays.fill(padded, (byte) ' ');
+            System.arraycopy(bytes, offset, padded, 0, end - offset);
+            classifier.classify(padded, 0);
+            indexBlock(classifier, block);
+        }
+    }
+
+    /**
+     * @return the position of the first token starting at or after the position, or the end of the document if there
+     * is none. If the position is whitespace outside of strings, everything up to the returned position is whitespace.
+     */
+    int nextToken(int position) {
+        return next(tokens, position);
+    }
+
+    /**
+     * @param position a position inside a string, e.g. right after its opening quote
+     * @return the position of the closing quote of the string, or -1 if there is none or if the string contains escape
+     * sequences, control characters or non-ASCII characters up to it
+     */
+    int closingQuote(int position) {
+        int quote = next(quotes, position);
+        if (quote == end || any(specials, position, quote)) {
+            return -1;
+        }
+        return quote;
+    }
+
+    /**
+     * @return the bytes of a range found by {@link #closingQuote(int)} as a string
+     */
+    String string(int start, int end) {
+        return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return the bytes of a range found by {@link #closingQuote(int)}, canonicalized through the symbol table
+     */
+    String name(SymbolTable symbols, int start, int end) {
+        return symbols.intern(bytes, start, end);
+    }
+
+    private int next(long[] bitmap, int position) {
+        int relative = position - start;
+        int block = relative >>> 6;
+        if (block >= bitmap.length) {
+            return end;
+        }
+        long bits = bitmap[block] & (-1L << relative);
+        while (bits == 0) {
+            if (++block == bitmap.length) {
+                return end;
+            }
+            bits = bitmap[block];
+        }
+        return Math.min(start + (block << 6) + Long.numberOfTrailingZeros(bits), end);
+    }
+
+    /**
+     * @return true if any bit of the bitmap is set in {@code [from, to)}
+     */
+    private boolean any(long[] bitmap, int from, int to) {
+        int first = (from - start) >>> 6;
+        int last = (to - start) >>> 6;
+        long head = -1L << (from - start);
+        long tail = ~(-1L << (to - start));
+        if (first == last) {
+            return (bitmap[first] & head & tail) != 0;
+        }
+        if ((bitmap[first] & head) != 0) {
+            return true;
+        }
+        for (int block = first + 1; block < last; block++) {
+            if (bitmap[block] != 0) {
+                return true;
+            }
+        }
+        return (bitmap[last] & tail) != 0;
+    }
+
+    private void indexBlock(BlockClassifier block, int index) {
+        long quoteBits = block.quotes & ~escaped(block.backslashes);
+        // opening quotes and the contents of strings, but not the closing quotes
+        long inString = prefixXor(quoteBits) ^ inStringCarry;
+        inStringCarry = inString >> 63;
+        long openingQuotes = quoteBits & inString;
+        long outside = ~(inString | quoteBits);
+
+        long operators = block.operators & outside;
+        // any other character outside of strings starts a token if it follows an operator, whitespace or a string
+        long separators = operators | block.whitespace & outside | quoteBits & ~inString;
+        long scalars = outside & ~operators & ~block.whitespace;
+        long follows = separators << 1 | separatorCarry;
+        separatorCarry = separators >>> 63;
+
+        tokens[index] = operators | openingQuotes | scalars & follows;
+        quotes[index] = quoteBits;
+        specials[index] = block.specials | block.backslashes;
+    }
+
+    /**
+     * @return the characters following a backslash that is not escaped itself
+     */
+    private long escaped(long backslashes) {
+        long escaped = escapeCarry ? 1 : 0;
+        escapeCarry = false;
+        long escapes = backslashes & ~escaped;
+        // backslashes are rare, so walking them one by one beats the branch-free carry tricks
+        while (escapes != 0) {
+            long escape = escapes & -escapes;
+            long next = escape << 1;
+            if (next == 0) {
+                escapeCarry = true;
+            }
+            escaped |= next;
+            escapes &= ~(escape | next);
+        }
+        return escaped;
+    }
+
+    /**
+     * @return a mask with bit {@code i} set if an odd number of bits at or below {@code i} is set in the input
+     */
+    private static long prefixXor(long bits) {
+        bits ^= bits << 1;
+        bits ^= bits << 2;
+        bits ^= bits << 4;
+        bits ^= bits << 8;
+        bits ^= bits << 16;
+        bits ^= bits << 32;
+        return bits;
+    }
+}
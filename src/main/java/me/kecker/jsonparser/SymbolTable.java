@@ -0,0 +1,227 @@
+package me.kecker.jsonparser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Bounded cache canonicalizing member names, so that documents repeating the same names (like arrays of records) share
+ * one {@link String} instance per name instead of retaining a copy per occurrence.
+ * <p>
+ * Names are looked up by hashing the characters right in the input's storage, so a name that is already cached is
+ * returned without allocating anything. The hash is the one of {@link String#hashCode()}, so that all lookup variants
+ * agree. Each hash maps to two slots; once both are taken, the less recently inserted name is evicted. Long names are
+ * not cached at all, as they rarely repeat.
+ * <p>
+ * A table may also be fixed to a known set of names, see {@link #SymbolTable(Collection)}.
+ */
+final class SymbolTable {
+
+    static final int MAX_SYMBOL_LENGTH = 64;
+
+    private final String[] symbols;
+    private final int[] hashes;
+    private final int mask;
+    private final boolean fixed;
+
+    /**
+     * @param capacity the maximum number of cached names, rounded up to a power of two
+     */
+    SymbolTable(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Creates a table holding only the given names, which is never modified afterwards and can therefore be shared by
+     * several threads. Looking up any other name returns a new String without caching it. The table is sized so that
+     * the names rarely share slots; a name that would evict another one is not cached either.
+     */
+    SymbolTable(Collection<String> names) {
+        this(names.size() * 4, true);
+        for (String name : names) {
+            if (name.length() > MAX_SYMBOL_LENGTH) {
+                continue;
+            }
+            int hash = name.hashCode();
+            int index = index(hash);
+            for (int probe = 0; probe < 2; probe++) {
+                int slot = index ^ probe;
+                if (symbols[slot] == null || symbols[slot].equals(name)) {
+                    symbols[slot] = name;
+                    hashes[slot] = hash;
+                    break;
+                }
+            }
+        }
+    }
+
+    private SymbolTable(int capacity, boolean fixed) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.symbols = new String[size];
+        this.hashes = new int[size];
+        this.mask = size - 1;
+        this.fixed = fixed;
+    }
+
+    String intern(String name) {
+        if (name.length() > MAX_SYMBOL_LENGTH) {
+            return name;
+        }
+        int hash = name.hashCode();
+        int index = index(hash);
+        for (int probe = 0; probe < 2; probe++) {
+            int slot = index ^ probe;
+            String symbol = symbols[slot];
+            if (symbol != null && hashes[slot] == hash && symbol.equals(name)) {
+                return symbol;
+            }
+        }
+        return insert(index, hash, name);
+    }
+
+    String intern(String source, int start, int end) {
+        if (end - start > MAX_SYMBOL_LENGTH) {
+            return source.substring(start, end);
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        int index = index(hash);
+        for (int probe = 0; probe < 2; probe++) {
+            int slot = index ^ probe;
+            String symbol = symbols[slot];
+            if (symbol != null && hashes[slot] == hash && symbol.length() == end - start
+                    && source.regionMatches(start, symbol, 0, end - start)) {
+                return symbol;
+            }
+        }
+        return insert(index, hash, source.substring(start, end));
+    }
+
+    String intern(char[] source, int start, int end) {
+        if (end - start > MAX_SYMBOL_LENGTH) {
+            return new String(source, start, end - start);
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + source[i];
+        }
+        int index = index(hash);
+        for (int probe = 0; probe < 2; probe++) {
+            int slot = index ^ probe;
+            String symbol = symbols[slot];
+            if (symbol != null && hashes[slot] == hash && matches(symbol, source, start, end)) {
+                return symbol;
+            }
+        }
+        return insert(index, hash, new String(source, start, end - start));
+    }
+
+    /**
+     * Variant for ASCII bytes.
+     */
+    String intern(byte[] source, int start, int end) {
+        if (end - start > MAX_SYMBOL_LENGTH) {
+            return new String(source, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + (source[i] & 0xFF);
+        }
+        int index = index(hash);
+        for (int probe = 0; probe < 2; probe++) {
+            int slot = index ^ probe;
+            String symbol = symbols[slot];
+            if (symbol != null && hashes[slot] == hash && matches(symbol, source, start, end)) {
+                return symbol;
+            }
+        }
+        return insert(index, hash, new String(source, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Like {@link #intern(byte[], int, int)}, for ASCII names in buffers without an accessible array. The absolute
+     * accessors leave the buffer's position untouched.
+     */
+    String intern(ByteBuffer source, int start, int end) {
+        if (end - start > MAX_SYMBOL_LENGTH) {
+            return copy(source, start, end);
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + (source.get(i) & 0xFF);
+        }
+        int index = index(hash);
+        for (int probe = 0; probe < 2; probe++) {
+            int slot = index ^ probe;
+            String symbol = symbols[slot];
+            if (symbol != null && hashes[slot] == hash && matches(symbol, source, start, end)) {
+                return symbol;
+            }
+        }
+        return insert(index, hash, copy(source, start, end));
+    }
+
+    private int index(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Inserts the name into the first slot of its pair, moving the previous occupant to the second slot. Fixed tables
+     * are left as they are.
+     */
+    private String insert(int index, int hash, String name) {
+        if (fixed) {
+            return name;
+        }
+        int other = index ^ 1;
+        symbols[other] = symbols[index];
+        hashes[other] = hashes[index];
+        symbols[index] = name;
+        hashes[index] = hash;
+        return name;
+    }
+
+    private static boolean matches(String symbol, char[] source, int start, int end) {
+        if (symbol.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (symbol.charAt(i - start) != source[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String symbol, byte[] source, int start, int end) {
+        if (symbol.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (symbol.charAt(i - start) != (char) (source[i] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String symbol, ByteBuffer source, int start, int end) {
+        if (symbol.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (symbol.charAt(i - start) != (char) (source.get(i) & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String copy(ByteBuffer source, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        source.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
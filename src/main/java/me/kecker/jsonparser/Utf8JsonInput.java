@@ -0,0 +1,420 @@
+package me.kecker.jsonparser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link JsonInput} reading UTF-8 encoded bytes directly, without decoding the whole source into a {@link String} first.
+ * <p>
+ * JSON structure is plain ASCII, so only non-ASCII characters (which may only legally occur inside strings) are decoded.
+ * Malformed byte sequences are replaced by U+FFFD, just like {@code new String(bytes, UTF_8)} does.
+ * <p>
+ * Streams and channels are read through a fixed-size buffer that is refilled on demand, so the source never has to be
+ * held in memory as a whole. I/O errors are reported as {@link UncheckedIOException}s. Files are read by
+ * {@link MappedJsonInput} instead.
+ */
+public class Utf8JsonInput extends JsonInput {
+
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int MIN_BUFFER_SIZE = 4;
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    private final ByteSource source;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+
+    private char current;
+    private int currentWidth;
+    private char lowSurrogate;
+    private CharSequence text;
+
+    public Utf8JsonInput(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    public Utf8JsonInput(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + bytes.length);
+        }
+        this.source = null;
+        this.buffer = bytes;
+        this.position = offset;
+        this.limit = offset + length;
+        decodeCurrent();
+    }
+
+    /**
+     * Reads the bytes between the buffer's position and limit. The position of the given buffer is not modified.
+     * Buffers without an accessible backing array, such as direct buffers, are copied in chunks of limited size.
+     */
+    public Utf8JsonInput(ByteBuffer bytes) {
+        if (bytes.hasArray()) {
+            this.source = null;
+            this.buffer = bytes.array();
+            this.position = bytes.arrayOffset() + bytes.position();
+            this.limit = bytes.arrayOffset() + bytes.limit();
+        } else {
+            ByteBuffer remaining = bytes.duplicate();
+            this.source = (target, offset, length) -> {
+                if (!remaining.hasRemaining()) {
+                    return -1;
+                }
+                int transfer = Math.min(length, remaining.remaining());
+                remaining.get(target, offset, transfer);
+                return transfer;
+            };
+            this.buffer = new byte[Math.min(DEFAULT_BUFFER_SIZE, Math.max(remaining.remaining(), MIN_BUFFER_SIZE))];
+        }
+        decodeCurrent();
+    }
+
+    /**
+     * Reads the stream until its end. The stream is not closed.
+     */
+    public Utf8JsonInput(InputStream source) {
+        this(source, DEFAULT_BUFFER_SIZE);
+    }
+
+    public Utf8JsonInput(InputStream source, int bufferSize) {
+        this(source::read, bufferSize);
+    }
+
+    /**
+     * Reads the channel, which must be in blocking mode, until its end. The channel is not closed.
+     */
+    public Utf8JsonInput(ReadableByteChannel source) {
+        this(source, DEFAULT_BUFFER_SIZE);
+    }
+
+    public Utf8JsonInput(ReadableByteChannel source, int bufferSize) {
+        this((target, offset, length) -> source.read(ByteBuffer.wrap(target, offset, length)), bufferSize);
+    }
+
+    private Utf8JsonInput(ByteSource source, int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_SIZE + ", but was " + bufferSize);
+        }
+        this.source = source;
+        this.buffer = new byte[bufferSize];
+        decodeCurrent();
+    }
+
+    @Override
+    public char current() {
+        return current;
+    }
+
+    @Override
+    public void advance() {
+        if (lowSurrogate != 0) {
+            current = lowSurrogate;
+            lowSurrogate = 0;
+            return;
+        }
+        position += currentWidth;
+        decodeCurrent();
+    }
+
+    @Override
+    public boolean reachedEnd() {
+        return currentWidth == 0;
+    }
+
+    @Override
+    public void skipWhitespace() {
+        while (CharacterClass.isWhitespace(current)) {
+            // whitespace is always a single byte, so the buffered bytes can be skipped without decoding
+            position++;
+            while (position < limit && CharacterClass.isWhitespace(buffer[position])) {
+                position++;
+            }
+            decodeCurrent();
+        }
+    }
+
+    /**
+     * Copies runs of ASCII characters straight out of the buffer, only non-ASCII characters are decoded one by one.
+     */
+    @Override
+    public String stringRun() {
+        if (lowSurrogate == 0 && current < 0x80) {
+            int end = asciiStringRunEnd();
+            // the run is complete if it ends at an ASCII character or at the end of an in-memory source
+            if (end < limit ? buffer[end] >= 0 : source == null) {
+                String run = new String(buffer, position, end - position, StandardCharsets.ISO_8859_1);
+                position = end;
+                decodeCurrent();
+                return run;
+            }
+        }
+        StringBuilder builder = new StringBuilder();
+        appendStringRun(builder);
+        return builder.toString();
+    }
+
+    @Override
+    public void appendStringRun(StringBuilder builder) {
+        while (!reachedEnd()) {
+            if (lowSurrogate != 0 || current >= 0x80) {
+                builder.append(current);
+                advance();
+                continue;
+            }
+            if (!CharacterClass.isUnescaped(current)) {
+                return;
+            }
+            int end = asciiStringRunEnd();
+            for (int i = position; i < end; i++) {
+                builder.append((char) buffer[i]);
+            }
+            position = end;
+            decodeCurrent();
+        }
+    }
+
+    @Override
+    void skipStringRun() {
+        while (!reachedEnd()) {
+            if (lowSurrogate != 0 || current >= 0x80) {
+                advance();
+                continue;
+            }
+            if (!CharacterClass.isUnescaped(current)) {
+                return;
+            }
+            position = asciiStringRunEnd();
+            decodeCurrent();
+        }
+    }
+
+    @Override
+    String stringRun(SymbolTable symbols) {
+        if (lowSurrogate == 0 && current < 0x80) {
+            int end = asciiStringRunEnd();
+            if (end < limit && buffer[end] == '"') {
+                String run = symbols.intern(buffer, position, end);
+                position = end;
+                decodeCurrent();
+                return run;
+            }
+        }
+        return super.stringRun(symbols);
+    }
+
+    private int asciiStringRunEnd() {
+        int end = position;
+        while (end < limit && CharacterClass.isUnescapedAscii(buffer[end])) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Arrays and heap buffers are addressed directly by byte offset, with every byte mapped to one character.
+     */
+    @Override
+    CharSequence text() {
+        if (source != null) {
+            return null;
+        }
+        if (text == null) {
+            text = new ByteText(buffer);
+        }
+        return text;
+    }
+
+    @Override
+    StructuralIndex structuralIndex() {
+        if (source != null) {
+            return null;
+        }
+        return new StructuralIndex(buffer, position, limit);
+    }
+
+    @Override
+    int position() {
+        return position;
+    }
+
+    @Override
+    void seek(int position) {
+        if (source != null) {
+            super.seek(position);
+        }
+        this.position = position;
+        this.lowSurrogate = 0;
+        decodeCurrent();
+    }
+
+    @Override
+    JsonInput duplicate() {
+        if (source != null) {
+            return super.duplicate();
+        }
+        return new Utf8JsonInput(buffer, position, limit - position);
+    }
+
+    private void decodeCurrent() {
+        if (!ensureAvailable(1)) {
+            current = 0;
+            currentWidth = 0;
+            return;
+        }
+        byte lead = buffer[position];
+        if (lead >= 0) {
+            current = (char) lead;
+            currentWidth = 1;
+            return;
+        }
+        decodeMultiByte(lead & 0xFF);
+    }
+
+    private void decodeMultiByte(int lead) {
+        ensureAvailable(sequenceLength(lead));
+        long sequence = decodeSequence(buffer, position, limit);
+        int codePoint = (int) sequence;
+        currentWidth = (int) (sequence >>> 32);
+        if (Character.isSupplementaryCodePoint(codePoint)) {
+            current = Character.highSurrogate(codePoint);
+            lowSurrogate = Character.lowSurrogate(codePoint);
+        } else {
+            current = (char) codePoint;
+        }
+    }
+
+    /**
+     * @return the number of bytes of the sequence starting with the (unsigned) lead byte, or 1 for invalid lead bytes
+     */
+    static int sequenceLength(int lead) {
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            return 2;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            return 3;
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            return 4;
+        }
+        return 1;
+    }
+
+    /**
+     * Decodes the multi-byte sequence at {@code bytes[index]}, which must be followed by all of its bytes that come
+     * before {@code limit}.
+     *
+     * @return the number of bytes consumed in the upper and the code point in the lower 32 bits. Malformed sequences
+     * consume their longest valid prefix, or a single byte, and decode to U+FFFD.
+     */
+    static long decodeSequence(byte[] bytes, int index, int limit) {
+        int lead = bytes[index] & 0xFF;
+        int length = sequenceLength(lead);
+        if (length == 1) {
+            return malformed(1);
+        }
+        int codePoint = lead & (0x7F >> length);
+        for (int i = 1; i < length; i++) {
+            if (index + i >= limit) {
+                return malformed(i);
+            }
+            int continuation = bytes[index + i] & 0xFF;
+            if (continuation < lowerContinuationBound(lead, i) || continuation > upperContinuationBound(lead, i)) {
+                return malformed(i);
+            }
+            codePoint = (codePoint << 6) | (continuation & 0x3F);
+        }
+        if (Character.isSurrogate((char) codePoint) && length == 3) {
+            // encoded surrogates are malformed as a whole
+            return malformed(length);
+        }
+        return (long) length << 32 | codePoint;
+    }
+
+    /**
+     * The second byte of some sequences is restricted further to exclude overlong encodings and code points beyond U+10FFFF
+     * (see table 3-7 of the Unicode standard).
+     */
+    private static int lowerContinuationBound(int lead, int index) {
+        if (index == 1 && lead == 0xE0) {
+            return 0xA0;
+        }
+        if (index == 1 && lead == 0xF0) {
+            return 0x90;
+        }
+        return 0x80;
+    }
+
+    private static int upperContinuationBound(int lead, int index) {
+        if (index == 1 && lead == 0xF4) {
+            return 0x8F;
+        }
+        return 0xBF;
+    }
+
+    private static long malformed(int width) {
+        return (long) width << 32 | REPLACEMENT_CHARACTER;
+    }
+
+    /**
+     * Makes sure that at least {@code count} bytes are buffered from the current position on, if the source has that many left.
+     *
+     * @return true if enough bytes are available
+     */
+    private boolean ensureAvailable(int count) {
+        if (limit - position >= count) {
+            return true;
+        }
+        if (source == null) {
+            return false;
+        }
+        int remaining = limit - position;
+        System.arraycopy(buffer, position, buffer, 0, remaining);
+        position = 0;
+        limit = remaining;
+        try {
+            while (limit < count) {
+                int read = source.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    return false;
+                }
+                limit += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    private interface ByteSource {
+        int read(byte[] target, int offset, int length) throws IOException;
+    }
+
+    /**
+     * Presents bytes as ISO-8859-1 characters, which is exact for ASCII.
+     */
+    private record ByteText(byte[] bytes) implements CharSequence {
+
+        @Override
+        public int length() {
+            return bytes.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (bytes[index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package me.kecker.jsonparser.exceptions;
+
+/**
+ * Thrown if a well-formed value does not fit the type it is bound to, e.g. a string where a number is expected.
+ */
+public class JsonBindingException extends JsonParseException {
+    public JsonBindingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package me.kecker.jsonparser.exceptions;
+
+public class MaxDepthExceededException extends JsonParseException {
+    public MaxDepthExceededException(int maxDepth) {
+        super("Nesting depth exceeds the maximum of " + maxDepth + ".");
+    }
+}
@@ -0,0 +1,16 @@
+package me.kecker.jsonparser.exceptions;
+
+/**
+ * Wraps a {@link JsonParseException} where checked exceptions cannot be thrown, such as in streams.
+ */
+public class UncheckedJsonParseException extends RuntimeException {
+
+    public UncheckedJsonParseException(String message, JsonParseException cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized JsonParseException getCause() {
+        return (JsonParseException) super.getCause();
+    }
+}
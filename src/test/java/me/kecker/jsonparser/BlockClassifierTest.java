@@ -0,0 +1,71 @@
+package me.kecker.jsonparser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockClassifierTest {
+
+    @Test
+    @DisplayName("Without the vector module, the scalar classifier is used")
+    void testCreate() {
+        assertThat(BlockClassifier.create()).isInstanceOf(BlockClassifier.Scalar.class);
+    }
+
+    @Test
+    @DisplayName("Every byte value should be classified like a lookup would")
+    void testAllBytes() {
+        byte[] bytes = new byte[256 + 1];
+        for (int i = 0; i < 256; i++) {
+            bytes[i] = (byte) i;
+        }
+        for (int offset = 0; offset < 256; offset += BlockClassifier.BLOCK_SIZE) {
+            assertClassified(bytes, offset);
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Neighbouring bytes should not affect each other")
+    @ValueSource(ints = {1, 2, 3})
+    void testRandomBlocks(int seed) {
+        Random random = new Random(seed);
+        byte[] alphabet = "\"\\ \t\n\r{}[]:,[{az09\u0001\u001f\u007f".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] bytes = new byte[BlockClassifier.BLOCK_SIZE + 3];
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = random.nextBoolean() ? alphabet[random.nextInt(alphabet.length)] : (byte) random.nextInt();
+            }
+            assertClassified(bytes, random.nextInt(4));
+        }
+    }
+
+    private static void assertClassified(byte[] bytes, int offset) {
+        BlockClassifier classifier = new BlockClassifier.Scalar();
+        classifier.classify(bytes, offset);
+        long quotes = 0;
+        long backslashes = 0;
+        long whitespace = 0;
+        long operators = 0;
+        long specials = 0;
+        for (int i = 0; i < BlockClassifier.BLOCK_SIZE; i++) {
+            int b = bytes[offset + i] & 0xFF;
+            long bit = 1L << i;
+            quotes |= b == '"' ? bit : 0;
+            backslashes |= b == '\\' ? bit : 0;
+            whitespace |= b == ' ' || b == '\t' || b == '\n' || b == '\r' ? bit : 0;
+            operators |= "{}[]:,".indexOf(b) >= 0 ? bit : 0;
+            specials |= b < 0x20 || b >= 0x80 ? bit : 0;
+        }
+        assertThat(classifier.quotes).isEqualTo(quotes);
+        assertThat(classifier.backslashes).isEqualTo(backslashes);
+        assertThat(classifier.whitespace).isEqualTo(whitespace);
+        assertThat(classifier.operators).isEqualTo(operators);
+        assertThat(classifier.specials).isEqualTo(specials);
+    }
+}
@@ -0,0 +1,75 @@
+package me.kecker.jsonparser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CharacterClassTest {
+
+    @Test
+    @DisplayName("Exactly the four JSON whitespace characters should be whitespace")
+    void testWhitespace() {
+        for (char c = 0; c < 0x3000; c++) {
+            boolean expected = c == ' ' || c == '\n' || c == '\r' || c == '\t';
+            assertThat(CharacterClass.isWhitespace(c)).as("U+%04X", (int) c).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("No byte of a multi-byte UTF-8 sequence should be whitespace")
+    void testWhitespaceBytes() {
+        for (int b = 0x80; b <= 0xFF; b++) {
+            assertThat(CharacterClass.isWhitespace((byte) b)).isFalse();
+        }
+        assertThat(CharacterClass.isWhitespace((byte) ' ')).isTrue();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Digits, signs, points and exponent markers might occur in numbers")
+    @ValueSource(chars = {'0', '5', '9', '-', '+', '.', 'e', 'E'})
+    void testMightOccurInNumber(char character) {
+        assertThat(CharacterClass.mightOccurInNumber(character)).isTrue();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Other characters do not occur in numbers")
+    @ValueSource(chars = {'a', 'x', ' ', ',', '\uff11', '\u0660'})
+    void testMightNotOccurInNumber(char character) {
+        assertThat(CharacterClass.mightOccurInNumber(character)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Letters should match Character.isAlphabetic")
+    void testLetters() {
+        for (char c = 0; c < 0x3000; c++) {
+            assertThat(CharacterClass.isLetter(c)).as("U+%04X", (int) c).isEqualTo(Character.isAlphabetic(c));
+        }
+    }
+
+    @Test
+    @DisplayName("Only ASCII hex digits should have a hex value")
+    void testHexValue() {
+        assertThat(CharacterClass.hexValue('0')).isEqualTo(0);
+        assertThat(CharacterClass.hexValue('9')).isEqualTo(9);
+        assertThat(CharacterClass.hexValue('a')).isEqualTo(10);
+        assertThat(CharacterClass.hexValue('F')).isEqualTo(15);
+        assertThat(CharacterClass.hexValue('g')).isEqualTo(-1);
+        assertThat(CharacterClass.hexValue('%')).isEqualTo(-1);
+        assertThat(CharacterClass.hexValue('\uff11')).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("All characters but quotes, backslashes and control characters may occur unescaped")
+    void testUnescaped() {
+        for (char c = 0; c < 0x3000; c++) {
+            boolean expected = c >= 0x20 && c != '"' && c != '\\';
+            assertThat(CharacterClass.isUnescaped(c)).as("U+%04X", (int) c).isEqualTo(expected);
+        }
+        assertThat(CharacterClass.isUnescapedAscii((byte) 'a')).isTrue();
+        assertThat(CharacterClass.isUnescapedAscii((byte) '"')).isFalse();
+        assertThat(CharacterClass.isUnescapedAscii((byte) 0xC3)).isFalse();
+    }
+}
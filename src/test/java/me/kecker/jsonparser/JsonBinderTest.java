@@ -0,0 +1,166 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonBindingException;
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonBinderTest {
+
+    record Primitives(boolean flag, byte b, short s, int i, long l, float f, double d) {
+    }
+
+    record Boxed(Boolean flag, Integer i, Long l, Double d, BigDecimal decimal, BigInteger big) {
+    }
+
+    record Floats(float prim, Float boxed, List<Float> list) {
+    }
+
+    enum Level {
+        LOW, HIGH
+    }
+
+    record Address(String street, String city) {
+    }
+
+    record User(long id, String name, Level level, List<String> tags, Address address, JsonElement extra) {
+    }
+
+    record Node(String name, List<Node> children) {
+    }
+
+    record Unsupported(char c) {
+    }
+
+    record Validated(int value) {
+        Validated {
+            if (value < 0) {
+                throw new IllegalArgumentException("negative");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Primitive components should be bound without losing precision")
+    void testPrimitives() throws JsonParseException {
+        Primitives result = JsonBinder.of(Primitives.class)
+                .parse("{\"flag\": true, \"b\": -128, \"s\": 32767, \"i\": -7, \"l\": 9007199254740993, \"f\": 1.5, \"d\": 0.1}");
+        assertThat(result).isEqualTo(new Primitives(true, (byte) -128, (short) 32767, -7, 9007199254740993L, 1.5f, 0.1));
+    }
+
+    @Test
+    @DisplayName("Missing members should leave components at their default values")
+    void testMissingMembers() throws JsonParseException {
+        assertThat(JsonBinder.of(Primitives.class).parse("{}")).isEqualTo(new Primitives(false, (byte) 0, (short) 0, 0, 0, 0, 0));
+        assertThat(JsonBinder.of(Boxed.class).parse("{\"i\": null}")).isEqualTo(new Boxed(null, null, null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Wrapper and arbitrary-precision components should be bound")
+    void testBoxed() throws JsonParseException {
+        Boxed result = JsonBinder.of(Boxed.class)
+                .parse("{\"flag\": false, \"i\": 3, \"l\": -4, \"d\": 2.5e3, \"decimal\": 1.10, \"big\": 123456789012345678901234567890}");
+        assertThat(result).isEqualTo(new Boxed(false, 3, -4L, 2500.0, new BigDecimal("1.10"),
+                new BigInteger("123456789012345678901234567890")));
+    }
+
+    @Test
+    @DisplayName("Float components should be rounded to the nearest float only once")
+    void testFloatsRoundedOnce() throws JsonParseException {
+        // just above the midpoint between 1.0f and the next float, which the nearest double is equal to
+        String halfway = "1.0000000596046447753906251";
+        Floats result = JsonBinder.of(Floats.class)
+                .parse("{\"prim\": " + halfway + ", \"boxed\": " + halfway + ", \"list\": [" + halfway + ", 0.1]}");
+        float expected = Float.parseFloat(halfway);
+        assertThat(expected).isEqualTo(1.0000001f);
+        assertThat(result).isEqualTo(new Floats(expected, expected, List.of(expected, 0.1f)));
+    }
+
+    @Test
+    @DisplayName("Nested records, lists, enums and trees should be bound and unknown members skipped")
+    void testNested() throws JsonParseException {
+        String source = """
+                {"id": 1, "unknown": {"deep": [1, "\\u0041", null]}, "name": "J\\u00fcrgen", "level": "HIGH",
+                 "tags": ["a", null], "address": {"city": "Berlin", "zip": "10115"}, "extra": [true]}
+                """;
+        User user = JsonBinder.of(User.class).parse(source.getBytes(StandardCharsets.UTF_8));
+        assertThat(user.id()).isEqualTo(1);
+        assertThat(user.name()).isEqualTo("Jürgen");
+        assertThat(user.level()).isEqualTo(Level.HIGH);
+        assertThat(user.tags()).containsExactly("a", null);
+        assertThat(user.address()).isEqualTo(new Address(null, "Berlin"));
+        assertThat(user.extra()).isEqualTo(JsonParser.parse("[true]"));
+        assertThat(JsonBinder.of(User.class).parse("{\"extra\": null}").extra()).isEqualTo(JsonElement.NULL);
+    }
+
+    @Test
+    @DisplayName("Records should be allowed to contain themselves")
+    void testRecursive() throws JsonParseException {
+        Node node = JsonBinder.of(Node.class).parse("{\"name\": \"root\", \"children\": [{\"name\": \"leaf\", \"children\": []}]}");
+        assertThat(node).isEqualTo(new Node("root", List.of(new Node("leaf", List.of()))));
+    }
+
+    @Test
+    @DisplayName("read should bind the records of an array one by one")
+    void testRead() throws JsonParseException {
+        JsonReader reader = new JsonReader("[{\"street\": \"Main\"}, null, {\"city\": \"X\"}]");
+        List<Address> addresses = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            addresses.add(JsonBinder.of(Address.class).read(reader));
+        }
+        reader.endArray();
+        assertThat(addresses).containsExactly(new Address("Main", null), null, new Address(null, "X"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"i\": \"1\"}", "{\"i\": 1.5}", "{\"i\": 2147483648}", "{\"b\": 128}", "{\"flag\": 1}",
+            "{\"l\": null}", "[]"})
+    @DisplayName("Values that do not fit the components should be rejected")
+    void testMismatch(String source) {
+        assertThrows(JsonBindingException.class, () -> JsonBinder.of(Primitives.class).parse(source));
+    }
+
+    @Test
+    @DisplayName("Unknown enum constants and fractional big integers should be rejected")
+    void testReferenceMismatch() {
+        assertThrows(JsonBindingException.class, () -> JsonBinder.of(User.class).parse("{\"level\": \"MEDIUM\"}"));
+        assertThrows(JsonBindingException.class, () -> JsonBinder.of(User.class).parse("{\"tags\": [1]}"));
+        assertThrows(JsonBindingException.class, () -> JsonBinder.of(Boxed.class).parse("{\"big\": 1.5}"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"unknown\": [1,]}", "{\"name\": \"a\"} {}", "{\"name\": \"a\""})
+    @DisplayName("Malformed documents should be rejected")
+    void testMalformed(String source) {
+        assertThrows(JsonParseException.class, () -> JsonBinder.of(User.class).parse(source));
+    }
+
+    @Test
+    @DisplayName("Binders should be created once per record class and reject unsupported types")
+    void testOf() {
+        assertThat(JsonBinder.of(User.class)).isSameAs(JsonBinder.of(User.class));
+        assertThrows(IllegalArgumentException.class, () -> JsonBinder.of(Unsupported.class));
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Class<Record> notARecord = (Class) Map.class;
+        assertThrows(IllegalArgumentException.class, () -> JsonBinder.of(notARecord));
+    }
+
+    @Test
+    @DisplayName("Exceptions of the canonical constructor should be propagated")
+    void testConstructorException() {
+        assertThrows(IllegalArgumentException.class, () -> JsonBinder.of(Validated.class).parse("{\"value\": -1}"));
+    }
+}
@@ -0,0 +1,77 @@
+package me.kecker.jsonparser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonElementTest {
+
+    @ParameterizedTest
+    @DisplayName("Compact numbers should equal BigDecimal-backed numbers of the same value and scale")
+    @CsvSource({"42, 0, 42", "-42, 0, -42", "150, 2, 1.50", "25, -3, 2.5E+4", "0, 5, 0.00000"})
+    void testNumberEquality(long unscaledValue, int scale, String decimal) {
+        JsonElement.JsonNumber compact = JsonElement.JsonNumber.valueOf(unscaledValue, scale);
+        JsonElement.JsonNumber big = new JsonElement.JsonNumber(decimal);
+        assertThat(compact).isEqualTo(big);
+        assertThat(big).isEqualTo(compact);
+        assertThat(compact.hashCode()).isEqualTo(big.hashCode());
+        assertThat(compact.value()).isEqualTo(new BigDecimal(decimal));
+        assertThat(compact).hasToString(big.toString());
+    }
+
+    @Test
+    @DisplayName("Numbers with different scales should not be equal, but compare as equal")
+    void testNumberScale() {
+        JsonElement.JsonNumber one = JsonElement.JsonNumber.valueOf(1);
+        JsonElement.JsonNumber onePointZero = JsonElement.JsonNumber.valueOf(10, 1);
+        assertThat(one).isNotEqualTo(onePointZero);
+        assertThat(one).isEqualByComparingTo(onePointZero);
+        assertThat(onePointZero).isEqualByComparingTo(new JsonElement.JsonNumber("1.000"));
+    }
+
+    @Test
+    @DisplayName("compareTo() should order numbers of all representations by value")
+    void testNumberCompareTo() {
+        assertThat(JsonElement.JsonNumber.valueOf(-5)).isLessThan(JsonElement.JsonNumber.valueOf(3));
+        assertThat(JsonElement.JsonNumber.valueOf(25, 1)).isGreaterThan(JsonElement.JsonNumber.valueOf(2));
+        assertThat(JsonElement.JsonNumber.valueOf(Long.MAX_VALUE)).isLessThan(new JsonElement.JsonNumber("9223372036854775808"));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Primitive accessors should return the same values as BigDecimal")
+    @CsvSource({"42, 0", "-7, 0", "12345, 2", "-19, 1", "3, -4", "1, 30", "7, -30"})
+    void testNumberAccessors(long unscaledValue, int scale) {
+        JsonElement.JsonNumber number = JsonElement.JsonNumber.valueOf(unscaledValue, scale);
+        BigDecimal expected = BigDecimal.valueOf(unscaledValue, scale);
+        assertThat(number.bigDecimalValue()).isEqualTo(expected);
+        assertThat(number.longValue()).isEqualTo(expected.longValue());
+        assertThat(number.doubleValue()).isEqualTo(expected.doubleValue());
+    }
+
+    @Test
+    @DisplayName("longValueExact() should throw exception for fractions")
+    void testNumberLongValueExact() {
+        assertThat(JsonElement.JsonNumber.valueOf(4200, 2).longValueExact()).isEqualTo(42L);
+        assertThrows(ArithmeticException.class, () -> JsonElement.JsonNumber.valueOf(15, 1).longValueExact());
+        assertThrows(ArithmeticException.class, () -> new JsonElement.JsonNumber("1.5").longValueExact());
+    }
+
+    @Test
+    @DisplayName("Lazy numbers should behave like the number they refer to")
+    void testLazyNumber() {
+        JsonElement.JsonNumber lazy = JsonElement.JsonNumber.lazy("[-1.25,", 1, 6);
+        JsonElement.JsonNumber expected = new JsonElement.JsonNumber("-1.25");
+        assertThat(lazy).isEqualTo(expected);
+        assertThat(lazy.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(lazy).isEqualByComparingTo(JsonElement.JsonNumber.valueOf(-125, 2));
+        assertThat(lazy.doubleValue()).isEqualTo(-1.25);
+        assertThat(lazy.longValue()).isEqualTo(-1L);
+        assertThat(lazy).hasToString(expected.toString());
+    }
+}
@@ -0,0 +1,126 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.UncheckedJsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonLinesTest {
+
+    @ParameterizedTest
+    @DisplayName("Every line should be parsed into one value, also if lines span several blocks")
+    @ValueSource(ints = {1, 3, 16, 4096})
+    void testLines(int blockSize) throws JsonParseException {
+        String lines = "{\"id\": 1, \"name\": \"é\"}\n[1, 2]\r\n\n   \n\"text\"\n42";
+        List<JsonElement> elements = JsonLines.DEFAULT.stream(source(lines), blockSize).toList();
+        assertThat(elements).containsExactly(
+                JsonParser.parse("{\"id\": 1, \"name\": \"é\"}"),
+                JsonParser.parse("[1, 2]"),
+                new JsonElement.JsonString("text"),
+                JsonElement.JsonNumber.valueOf(42));
+    }
+
+    @Test
+    @DisplayName("Invalid lines should be reported with their line number and skipped")
+    void testErrorHandler() {
+        Map<Long, JsonParseException> errors = new ConcurrentHashMap<>();
+        List<JsonElement> elements = JsonLines.DEFAULT.withErrorHandler(errors::put)
+                .stream(new ByteArrayInputStream(bytes("1\n[2,\n\n{}\n4 5\n6\n")))
+                .toList();
+        assertThat(elements).hasSize(3);
+        assertThat(errors).containsOnlyKeys(2L, 5L);
+    }
+
+    @Test
+    @DisplayName("The default error handler should skip invalid lines without aborting the stream")
+    void testDefaultErrorHandler() {
+        List<JsonElement> elements = JsonLines.DEFAULT.stream(new ByteArrayInputStream(bytes("1\nnope\ntrue\n"))).toList();
+        assertThat(elements).containsExactly(JsonElement.JsonNumber.valueOf(1), JsonElement.JsonBoolean.TRUE);
+    }
+
+    @Test
+    @DisplayName("The failing error handler should abort the stream")
+    void testFailingErrorHandler() {
+        Stream<JsonElement> stream = JsonLines.DEFAULT.withErrorHandler(JsonLines.FAIL)
+                .stream(new ByteArrayInputStream(bytes("1\ntrue\nnope\n")));
+        UncheckedJsonParseException exception = assertThrows(UncheckedJsonParseException.class, stream::toList);
+        assertThat(exception).hasMessage("Invalid JSON in line 3");
+        assertThat(exception.getCause()).isInstanceOf(JsonParseException.class);
+    }
+
+    @Test
+    @DisplayName("Lines parsed on the same thread should share the instances of their member names")
+    void testSharedMemberNames() {
+        List<JsonElement> elements = JsonLines.DEFAULT.stream(source("{\"name\": 1}\n{\"name\": 2}"), 4).toList();
+        String first = ((JsonElement.JsonObject) elements.get(0)).members().keySet().iterator().next();
+        String second = ((JsonElement.JsonObject) elements.get(1)).members().keySet().iterator().next();
+        assertThat(second).isSameAs(first);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Parallel streams should yield the same values, in order if requested")
+    @ValueSource(booleans = {true, false})
+    void testParallel(boolean ordered) {
+        String lines = IntStream.range(0, 5000).mapToObj(i -> "{\"id\": " + i + "}").collect(Collectors.joining("\n"));
+        List<JsonElement> expected = JsonLines.DEFAULT.stream(source(lines), 64).toList();
+
+        JsonLines parallel = JsonLines.DEFAULT.withParallel(true).withOrdered(ordered);
+        List<JsonElement> elements = parallel.stream(source(lines), 64).toList();
+        if (ordered) {
+            assertThat(elements).isEqualTo(expected);
+        } else {
+            assertThat(elements).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Files should be read until their end and closed with the stream")
+    void testFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("records.ndjson");
+        Files.writeString(file, "{\"a\": 1}\n{\"a\": 2}\n");
+        try (Stream<JsonElement> stream = JsonLines.DEFAULT.stream(file)) {
+            assertThat(stream.count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("I/O errors are reported as UncheckedIOException")
+    void testIOException() {
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("broken");
+            }
+        };
+        assertThrows(UncheckedIOException.class, () -> JsonLines.DEFAULT.stream(broken).toList());
+    }
+
+    private static JsonLines.ByteSource source(String text) {
+        InputStream stream = new ByteArrayInputStream(bytes(text));
+        return stream::read;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
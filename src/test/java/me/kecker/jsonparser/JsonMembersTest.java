@@ -0,0 +1,82 @@
+package me.kecker.jsonparser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonMembersTest {
+
+    @ParameterizedTest
+    @DisplayName("Members should be found by name and iterated in insertion order")
+    @ValueSource(ints = {0, 1, JsonMembers.INDEX_THRESHOLD, JsonMembers.INDEX_THRESHOLD + 1, 100})
+    void testGet(int count) {
+        Map<String, JsonElement> expected = new LinkedHashMap<>();
+        for (int i = count; i > 0; i--) {
+            expected.put("member" + i, JsonElement.JsonNumber.valueOf(i));
+        }
+        JsonMembers members = members(expected);
+
+        assertThat(members).hasSize(count).isEqualTo(expected);
+        assertThat(members.keySet()).containsExactlyElementsOf(expected.keySet());
+        for (Map.Entry<String, JsonElement> entry : expected.entrySet()) {
+            // look up with an equal but not identical name
+            assertThat(members.get(new String(entry.getKey()))).isEqualTo(entry.getValue());
+        }
+        assertThat(members.get("member" + (count + 1))).isNull();
+        assertThat(members.containsKey("member0")).isFalse();
+        assertThat(members.get(42)).isNull();
+        assertThat(members.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    @ParameterizedTest
+    @DisplayName("The last value of a duplicate name should win at the position of the first occurrence")
+    @ValueSource(ints = {3, 20})
+    void testDuplicateNames(int count) {
+        List<String> names = new ArrayList<>();
+        List<JsonElement> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add("member" + i);
+            values.add(JsonElement.JsonNumber.valueOf(i));
+        }
+        names.add("member1");
+        values.add(JsonElement.NULL);
+        JsonMembers members = new JsonMembers(names.toArray(String[]::new), values.toArray(JsonElement[]::new), 0, names.size());
+
+        assertThat(members).hasSize(count);
+        assertThat(members.get("member1")).isEqualTo(JsonElement.NULL);
+        assertThat(new ArrayList<>(members.keySet()).get(1)).isEqualTo("member1");
+    }
+
+    @Test
+    @DisplayName("Only the given range of the arrays should be taken")
+    void testRange() {
+        String[] names = {"a", "b", "c", "d"};
+        JsonElement[] values = {JsonElement.NULL, JsonElement.JsonBoolean.TRUE, JsonElement.JsonBoolean.FALSE, JsonElement.NULL};
+        JsonMembers members = new JsonMembers(names, values, 1, 2);
+        assertThat(members).isEqualTo(Map.of("b", JsonElement.JsonBoolean.TRUE, "c", JsonElement.JsonBoolean.FALSE));
+    }
+
+    @Test
+    @DisplayName("Members should not be modifiable")
+    void testImmutable() {
+        JsonMembers members = members(Map.of("a", JsonElement.NULL));
+        assertThrows(UnsupportedOperationException.class, () -> members.put("b", JsonElement.NULL));
+        assertThrows(UnsupportedOperationException.class, () -> members.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> members.entrySet().iterator().next().setValue(JsonElement.NULL));
+    }
+
+    private static JsonMembers members(Map<String, JsonElement> map) {
+        String[] names = map.keySet().toArray(String[]::new);
+        JsonElement[] values = map.values().toArray(JsonElement[]::new);
+        return new JsonMembers(names, values, 0, names.length);
+    }
+}
@@ -3,6 +3,7 @@ package me.kecker.jsonparser;
 import me.kecker.jsonparser.exceptions.IllegalNumberException;
 import me.kecker.jsonparser.exceptions.IllegalTokenException;
 import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.MaxDepthExceededException;
 import me.kecker.jsonparser.exceptions.UnexpectedCharacterException;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +13,9 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -253,6 +257,34 @@ class JsonParseStateTest {
         assertThat(parserState.reachedEnd()).isEqualTo(true);
     }
 
+    @ParameterizedTest
+    @DisplayName("number() should keep the exact value and scale of the input")
+    @ValueSource(strings = {"1.50", "-0.001", "1E+2", "2.5e-3", "9223372036854775807", "-9223372036854775808",
+            "12345678901234567890.123456789", "1e400", "0.0000000000000000000000000001"})
+    void testNumberExactValue(String input) throws JsonParseException {
+        JsonParseState parserState = new JsonParseState(input);
+        JsonElement.JsonNumber result = parserState.number();
+        assertThat(result.value()).isEqualTo(new BigDecimal(input));
+        assertThat(parserState.reachedEnd()).isEqualTo(true);
+    }
+
+    @ParameterizedTest
+    @DisplayName("number() should throw exception for incomplete numbers")
+    @ValueSource(strings = {"-", "1e", "1E+", "-a", "1-2", "1.5.5", "1e5e5"})
+    void testNumberIncomplete(String input) {
+        JsonParseState parserState = new JsonParseState(input);
+        assertThrows(IllegalNumberException.class, parserState::number);
+    }
+
+    @Test
+    @DisplayName("number() should stop at the first character after the number")
+    void testNumberFollowedByStructure() throws JsonParseException {
+        JsonParseState parserState = new JsonParseState("-12.5e1,");
+        JsonElement.JsonNumber result = parserState.number();
+        assertThat(result.value()).isEqualByComparingTo("-125");
+        assertThat(parserState.current()).isEqualTo(',');
+    }
+
     @Test
     @DisplayName("bool() should throw exception for any non-boolean input")
     void testBooleanOtherInput() {
@@ -313,6 +345,23 @@ class JsonParseStateTest {
         assertThat(parserState.reachedEnd()).isEqualTo(true);
     }
 
+    @Test
+    @DisplayName("string() should join unescaped runs and escape sequences")
+    void testStringRunsAndEscapes() throws JsonParseException {
+        JsonParseState parserState = new JsonParseState("\"ab\\ncd\\u0041\\\"\u00e9f\" ");
+        JsonElement.JsonString result = parserState.string();
+        assertThat(result.value()).isEqualTo("ab\ncdA\"\u00e9f");
+        assertThat(parserState.current()).isEqualTo(' ');
+    }
+
+    @ParameterizedTest
+    @DisplayName("string() should throw exception for unterminated strings")
+    @ValueSource(strings = {"\"abc", "\"ab\\ncd", "\""})
+    void testStringUnterminated(String input) {
+        JsonParseState parserState = new JsonParseState(input);
+        assertThrows(UnexpectedCharacterException.class, parserState::string);
+    }
+
     @Test
     @DisplayName("string() should throw exception for illegal escape")
     void testParseStringIllegalEscape() {
@@ -667,6 +716,30 @@ class JsonParseStateTest {
         assertThrows(UnexpectedCharacterException.class, jsonParseState::string);
     }
 
+    @ParameterizedTest
+    @DisplayName("Unicode escapes must consist of ASCII hex digits")
+    @ValueSource(strings = {"\\u00g0", "\\u-001", "\\u%%%%", "\\u\uff11\uff11\uff11\uff11"})
+    void testStringIllegalHexDigit(String escape) {
+        JsonParseState jsonParseState = new JsonParseState("\"" + escape + "\"");
+        assertThrows(UnexpectedCharacterException.class, jsonParseState::string);
+    }
+
+    @Test
+    @DisplayName("Literals followed by further letters should be rejected")
+    void testLiteralFollowedByLetters() {
+        assertThrows(IllegalTokenException.class, new JsonParseState("nullx")::nullType);
+        assertThrows(IllegalTokenException.class, new JsonParseState("truex")::bool);
+        assertThrows(IllegalTokenException.class, new JsonParseState("fals")::bool);
+    }
+
+    @Test
+    @DisplayName("Literals followed by a non-letter should be accepted")
+    void testLiteralFollowedByNonLetter() throws JsonParseException {
+        JsonParseState parserState = new JsonParseState("false,");
+        assertThat(parserState.bool()).isEqualTo(JsonElement.JsonBoolean.FALSE);
+        assertThat(parserState.current()).isEqualTo(',');
+    }
+
     @ParameterizedTest
     @DisplayName("string() should throw exception upon illegal characters")
     @MethodSource("provideInputForTestStringIllegalCharacter")
@@ -689,6 +762,105 @@ class JsonParseStateTest {
         assertThrows(AssertionError.class, jsonParseState::current);
     }
 
+    @Test
+    @DisplayName("Visitor should receive the events of the document in order")
+    void testVisitorEvents() throws JsonParseException {
+        JsonParseState parserState = new JsonParseState(" {\"a\": [1, \"b\", true, null], \"c\": {}} ");
+        RecordingVisitor visitor = new RecordingVisitor();
+        parserState.json(visitor);
+        assertThat(visitor.events).containsExactly(
+                "startObject", "key:a", "startArray", "number:1", "string:b", "bool:true", "null", "endArray",
+                "key:c", "startObject", "endObject", "endObject");
+    }
+
+    @Test
+    @DisplayName("Visitor should not receive events after a syntax error")
+    void testVisitorStopsAtError() {
+        JsonParseState parserState = new JsonParseState("[1, x]");
+        RecordingVisitor visitor = new RecordingVisitor();
+        assertThrows(JsonParseException.class, () -> parserState.json(visitor));
+        assertThat(visitor.events).containsExactly("startArray", "number:1");
+    }
+
+    @Test
+    @DisplayName("Nesting deeper than the thread stack allows should be parsed if the maximum depth permits it")
+    void testDeepNesting() throws JsonParseException {
+        int depth = 100_000;
+        String json = "[{\"a\":".repeat(depth) + "1" + "}]".repeat(depth);
+        JsonParseState parserState = new JsonParseState(new StringJsonInput(json),
+                JsonParseOptions.DEFAULT.withMaxDepth(2 * depth));
+        RecordingVisitor visitor = new RecordingVisitor();
+        parserState.json(visitor);
+        assertThat(visitor.events).hasSize(5 * depth + 1).endsWith("endObject", "endArray");
+    }
+
+    @ParameterizedTest
+    @DisplayName("Nesting beyond the maximum depth should be rejected")
+    @ValueSource(strings = {"[[[1]]]", "{\"a\": [{}]}", "[[], [[[", "[[[[[[[[[[[[[[[[[[[["})
+    void testMaxDepthExceeded(String json) {
+        JsonParseState parserState = new JsonParseState(new StringJsonInput(json), JsonParseOptions.DEFAULT.withMaxDepth(2));
+        assertThrows(MaxDepthExceededException.class, parserState::json);
+    }
+
+    @Test
+    @DisplayName("Nesting up to the maximum depth should be accepted")
+    void testMaxDepth() throws JsonParseException {
+        JsonParseOptions options = JsonParseOptions.DEFAULT.withMaxDepth(3);
+        assertThat(new JsonParseState(new StringJsonInput("[{\"a\": [1]}, []]"), options).json())
+                .isEqualTo(JsonParser.parse("[{\"a\": [1]}, []]"));
+        assertThat(new JsonParseState(new StringJsonInput("1"), options.withMaxDepth(0)).json())
+                .isEqualTo(JsonElement.JsonNumber.valueOf(1));
+    }
+
+    private static class RecordingVisitor implements JsonVisitor {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void startObject() {
+            events.add("startObject");
+        }
+
+        @Override
+        public void key(String key) {
+            events.add("key:" + key);
+        }
+
+        @Override
+        public void endObject() {
+            events.add("endObject");
+        }
+
+        @Override
+        public void startArray() {
+            events.add("startArray");
+        }
+
+        @Override
+        public void endArray() {
+            events.add("endArray");
+        }
+
+        @Override
+        public void string(String value) {
+            events.add("string:" + value);
+        }
+
+        @Override
+        public void number(JsonElement.JsonNumber value) {
+            events.add("number:" + value.value());
+        }
+
+        @Override
+        public void bool(boolean value) {
+            events.add("bool:" + value);
+        }
+
+        @Override
+        public void nullValue() {
+            events.add("null");
+        }
+    }
+
     private static Stream<Arguments> provideInputForTestParseStringWithEscapedControlCharacters() {
         return Stream.of(
                 Arguments.of("\\/", "/"),
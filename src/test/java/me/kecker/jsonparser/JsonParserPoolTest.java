@@ -0,0 +1,63 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonParserPoolTest {
+
+    @Test
+    @DisplayName("A released parser should be handed out again")
+    void testReuse() {
+        JsonParserPool pool = new JsonParserPool(JsonParseOptions.DEFAULT, 1);
+        ReusableJsonParser parser = pool.acquire();
+        assertThat(pool.acquire()).isNotSameAs(parser);
+        pool.release(parser);
+        assertThat(pool.acquire()).isSameAs(parser);
+    }
+
+    @Test
+    @DisplayName("Parsers with other options should not be accepted")
+    void testOtherOptions() {
+        JsonParserPool pool = new JsonParserPool(JsonParseOptions.DEFAULT, 4);
+        ReusableJsonParser parser = new ReusableJsonParser(JsonParseOptions.DEFAULT.withLazyNumbers(true));
+        assertThrows(IllegalArgumentException.class, () -> pool.release(parser));
+        assertThrows(IllegalArgumentException.class, () -> new JsonParserPool(JsonParseOptions.DEFAULT, 0));
+    }
+
+    @Test
+    @DisplayName("Concurrent callers should each get the result of their own document")
+    void testConcurrentParsing() throws Exception {
+        JsonParserPool pool = new JsonParserPool(JsonParseOptions.DEFAULT, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = IntStream.range(0, 2000).<Callable<Boolean>>mapToObj(i -> () -> {
+                String document = "{\"id\": " + i + ", \"list\": [" + i + ", \"" + i + "\"]}";
+                return pool.parse(document).equals(JsonParser.parse(document));
+            }).toList();
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid documents should be rejected and their parser returned to the pool")
+    void testInvalid() throws JsonParseException {
+        JsonParserPool pool = new JsonParserPool(JsonParseOptions.DEFAULT, 1);
+        assertThrows(JsonParseException.class, () -> pool.parse("[1,"));
+        assertThat(pool.parse("[1]")).isEqualTo(JsonParser.parse("[1]"));
+    }
+}
@@ -1,11 +1,29 @@
 package me.kecker.jsonparser;
 
+import me.kecker.jsonparser.exceptions.IllegalNumberException;
 import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.MaxDepthExceededException;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class JsonParserTest {
 
@@ -21,4 +39,183 @@ class JsonParserTest {
         assertThat(((JsonElement.JsonArray) result).get(0)).isEqualTo(new JsonElement.JsonString("someElement"));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("parse should accept UTF-8 encoded bytes")
+    void testParseBytes() throws JsonParseException {
+        byte[] source = "{\"name\": \"J\u00fcrgen \uD83D\uDE00\"}".getBytes(StandardCharsets.UTF_8);
+        JsonElement result = JsonParser.parse(source);
+        assertThat(((JsonElement.JsonObject) result).get("name")).isEqualTo(new JsonElement.JsonString("J\u00fcrgen \uD83D\uDE00"));
+    }
+
+    @Test
+    @DisplayName("parse should only read the given range of a byte array")
+    void testParseBytesRange() throws JsonParseException {
+        byte[] source = "xx[true]xx".getBytes(StandardCharsets.UTF_8);
+        JsonElement result = JsonParser.parse(source, 2, 6);
+        assertThat(((JsonElement.JsonArray) result).get(0)).isEqualTo(JsonElement.JsonBoolean.TRUE);
+    }
+
+    @Test
+    @DisplayName("parse should read a direct ByteBuffer")
+    void testParseDirectByteBuffer() throws JsonParseException {
+        byte[] bytes = "\"caf\u00e9\"".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer source = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        JsonElement result = JsonParser.parse(source);
+        assertThat(result).isEqualTo(new JsonElement.JsonString("caf\u00e9"));
+    }
+
+    @Test
+    @DisplayName("parse should read an InputStream until its end")
+    void testParseInputStream() throws JsonParseException, IOException {
+        InputStream source = new ByteArrayInputStream("[\"a\", \"b\"]".getBytes(StandardCharsets.UTF_8));
+        JsonElement result = JsonParser.parse(source);
+        assertThat(((JsonElement.JsonArray) result).elements()).hasSize(2);
+        assertThat(source.read()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("parse should read a Reader until its end")
+    void testParseReader() throws JsonParseException, IOException {
+        JsonElement result = JsonParser.parse(new StringReader(" {\"key\": null} "));
+        assertThat(((JsonElement.JsonObject) result).get("key")).isEqualTo(JsonElement.NULL);
+    }
+
+    @Test
+    @DisplayName("parse should read a ReadableByteChannel until its end")
+    void testParseChannel() throws JsonParseException, IOException {
+        byte[] bytes = "false".getBytes(StandardCharsets.UTF_8);
+        JsonElement result = JsonParser.parse(Channels.newChannel(new ByteArrayInputStream(bytes)));
+        assertThat(result).isEqualTo(JsonElement.JsonBoolean.FALSE);
+    }
+
+    @Test
+    @DisplayName("parse should map a file and read it until its end")
+    void testParseFile(@TempDir Path directory) throws JsonParseException, IOException {
+        Path file = directory.resolve("document.json");
+        Files.writeString(file, "{\"name\": \"\u00e9\", \"values\": [1, 2.5]}");
+        assertThat(JsonParser.parse(file)).isEqualTo(JsonParser.parse(Files.readString(file)));
+        assertThrows(NoSuchFileException.class, () -> JsonParser.parse(directory.resolve("missing.json")));
+    }
+
+    @Test
+    @DisplayName("parse should propagate I/O errors of the stream")
+    void testParseInputStreamIOException() {
+        InputStream source = new InputStream() {
+            private int count;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ == 0) {
+                    return '[';
+                }
+                throw new IOException("connection reset");
+            }
+        };
+        assertThrows(IOException.class, () -> JsonParser.parse(source));
+    }
+
+    @Test
+    @DisplayName("parse with lazy numbers should return the same numbers as eager parsing")
+    void testParseLazyNumbers() throws JsonParseException {
+        String source = "[0, -12, 1.50, 2.5e-3, 1E+2, 12345678901234567890123, -0.0]";
+        JsonParseOptions options = JsonParseOptions.DEFAULT.withLazyNumbers(true);
+        JsonElement expected = JsonParser.parse(source);
+        assertThat(JsonParser.parse(source, options)).isEqualTo(expected);
+        assertThat(JsonParser.parse(source.getBytes(StandardCharsets.UTF_8), options)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("parse with lazy numbers should decode numbers after non-ASCII characters of UTF-8 input")
+    void testParseLazyNumbersAfterMultiByteCharacters() throws JsonParseException {
+        byte[] source = "{\"\u00e4\u20ac\": 42.5}".getBytes(StandardCharsets.UTF_8);
+        JsonElement result = JsonParser.parse(source, JsonParseOptions.DEFAULT.withLazyNumbers(true));
+        JsonElement.JsonNumber number = (JsonElement.JsonNumber) ((JsonElement.JsonObject) result).get("\u00e4\u20ac");
+        assertThat(number.doubleValue()).isEqualTo(42.5);
+    }
+
+    @Test
+    @DisplayName("parse with lazy numbers should still reject invalid numbers")
+    void testParseLazyNumbersInvalid() {
+        JsonParseOptions options = JsonParseOptions.DEFAULT.withLazyNumbers(true);
+        assertThrows(IllegalNumberException.class, () -> JsonParser.parse("[01]", options));
+        assertThrows(IllegalNumberException.class, () -> JsonParser.parse("[1.]", options));
+        assertThrows(IllegalNumberException.class, () -> JsonParser.parse("1e99999999999", options));
+    }
+
+    @Test
+    @DisplayName("parse should share the instances of repeated member names")
+    void testParseSharesMemberNames() throws IOException, JsonParseException {
+        String source = "[{\"id\": 1, \"\u00e9t\u00e9\": 2}, {\"id\": 3, \"\u00e9t\u00e9\": 4}]";
+        for (JsonElement result : new JsonElement[]{
+                JsonParser.parse(source),
+                JsonParser.parse(source.getBytes(StandardCharsets.UTF_8)),
+                JsonParser.parse(new StringReader(source))}) {
+            JsonElement.JsonArray array = (JsonElement.JsonArray) result;
+            Map<String, JsonElement> first = ((JsonElement.JsonObject) array.get(0)).members();
+            Map<String, JsonElement> second = ((JsonElement.JsonObject) array.get(1)).members();
+            for (String name : first.keySet()) {
+                String other = second.keySet().stream().filter(name::equals).findFirst().orElseThrow();
+                assertThat(other).isSameAs(name);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("parse without key cache should still return equal member names")
+    void testParseWithoutKeyCache() throws JsonParseException {
+        String source = "[{\"id\": 1}, {\"id\": 2}]";
+        JsonElement result = JsonParser.parse(source, JsonParseOptions.DEFAULT.withKeyCacheSize(0));
+        assertThat(result).isEqualTo(JsonParser.parse(source));
+    }
+
+    @Test
+    @DisplayName("parse with a visitor should apply the given options")
+    void testParseVisitorWithOptions() throws JsonParseException {
+        JsonParseOptions options = JsonParseOptions.DEFAULT.withMaxDepth(2).withLazyNumbers(true);
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        JsonParser.parse("[[1.50]]", builder, options);
+        assertThat(builder.result()).isEqualTo(JsonParser.parse("[[1.50]]"));
+        assertThrows(MaxDepthExceededException.class, () -> JsonParser.parse("[[[1]]]", new JsonVisitor() {
+        }, options));
+        assertThrows(MaxDepthExceededException.class,
+                () -> JsonParser.parse("[[[1]]]".getBytes(StandardCharsets.UTF_8), new JsonVisitor() {
+                }, options));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "[1, {\"a\": \"\\u00e9\"}, true, null] | -1",
+            "' 1e99999999999 '                        | -1",
+            "'[1, 2'                                  | 5",
+            "'{\"a\" 1}'                              | 5",
+            "'[01]'                                   | 1",
+            "'{\"a\":01}'                               | 5",
+            "'[-.5]'                                  | 2",
+            "'[1.]'                                   | 2",
+            "'[1.e5]'                                 | 2",
+            "'[1e+]'                                  | 4",
+            "'[1e5.0]'                                | 4",
+            "'[+1]'                                   | 1",
+            "'[tru]'                                  | 4",
+            "'[trux]'                                 | 4",
+            "'[nulll]'                                | 5",
+            "'\"tab\tinside\"'                        | 4",
+            "'\"a\\x\"'                                | 3",
+            "'{} {}'                                  | 3",
+            "''                                       | 0",
+    })
+    @DisplayName("validate should return the position of the character that makes the document invalid")
+    void testValidate(String source, int expected) {
+        assertThat(JsonParser.validate(source)).isEqualTo(expected);
+        assertThat(JsonParser.validate(source.getBytes(StandardCharsets.UTF_8))).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("validate should report byte offsets relative to the given range")
+    void testValidateBytes() {
+        byte[] source = "xx[\"\u00e9\", x]".getBytes(StandardCharsets.UTF_8);
+        assertThat(JsonParser.validate(source, 2, source.length - 2)).isEqualTo(7);
+        assertThat(JsonParser.validate(source, 3, 4)).isEqualTo(JsonParser.VALID);
+        assertThat(JsonParser.validate(source)).isEqualTo(0);
+    }
+}
@@ -0,0 +1,99 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonPathTest {
+
+    // the example document of RFC 6901
+    private static final String RFC_6901_EXAMPLE = """
+            {"foo": ["bar", "baz"], "": 0, "a/b": 1, "c%d": 2, "e^f": 3, "g|h": 4, "i\\\\j": 5, "k\\"l": 6, " ": 7, "m~n": 8}
+            """;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "/foo            | [\"bar\", \"baz\"]",
+            "/foo/0          | \"bar\"",
+            "/               | 0",
+            "/a~1b           | 1",
+            "/c%d            | 2",
+            "/e^f            | 3",
+            "'/g|h'          | 4",
+            "/i\\j           | 5",
+            "/k\"l           | 6",
+            "'/ '            | 7",
+            "/m~0n           | 8",
+    })
+    @DisplayName("JSON Pointers should select the values of RFC 6901")
+    void testPointer(String pointer, String expected) throws JsonParseException {
+        JsonElement document = JsonParser.parse(RFC_6901_EXAMPLE);
+        assertThat(JsonPath.pointer(pointer).evaluate(document)).containsExactly(JsonParser.parse(expected));
+    }
+
+    @Test
+    @DisplayName("The empty JSON Pointer should select the whole document")
+    void testEmptyPointer() throws JsonParseException {
+        JsonElement document = JsonParser.parse(RFC_6901_EXAMPLE);
+        assertThat(JsonPath.pointer("").evaluate(document)).containsExactly(document);
+    }
+
+    @Test
+    @DisplayName("A pointer token that is an array index should also select the member of that name")
+    void testIndexTokenAsName() throws JsonParseException {
+        JsonPath path = JsonPath.pointer("/1");
+        assertThat(path.evaluate(JsonParser.parse("{\"1\": true}"))).containsExactly(JsonElement.JsonBoolean.TRUE);
+        assertThat(path.evaluate(JsonParser.parse("[false, true]"))).containsExactly(JsonElement.JsonBoolean.TRUE);
+        assertThat(JsonPath.pointer("/01").evaluate(JsonParser.parse("[false, true]"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JSONPaths should select members, elements and wildcards")
+    void testJsonPath() throws JsonParseException {
+        JsonElement document = JsonParser.parse("""
+                {"store": {"books": [{"title": "A", "price": 8}, {"title": "B", "price": 12}], "a.b": 1}}
+                """);
+        assertThat(JsonPath.compile("$.store.books[1].title").evaluate(document))
+                .containsExactly(new JsonElement.JsonString("B"));
+        assertThat(JsonPath.compile("$.store.books[*].price").evaluate(document))
+                .containsExactly(JsonParser.parse("8"), JsonParser.parse("12"));
+        assertThat(JsonPath.compile("$['store'][\"a.b\"]").evaluate(document)).containsExactly(JsonParser.parse("1"));
+        assertThat(JsonPath.compile("$.store.*").evaluate(document)).hasSize(2);
+        assertThat(JsonPath.compile("$").evaluate(document)).containsExactly(document);
+        assertThat(JsonPath.compile("$.store.missing[0]").evaluate(document)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("parse should tell JSON Pointers from JSONPaths")
+    void testParse() {
+        assertThat(JsonPath.parse("/a/0")).isEqualTo(JsonPath.pointer("/a/0"));
+        assertThat(JsonPath.parse("$.a[0]")).isEqualTo(JsonPath.compile("$.a[0]"));
+        assertThat(JsonPath.parse("$.a[0]").toString()).isEqualTo("$.a[0]");
+        // the pointer token 0 also selects a member named "0"
+        assertThat(JsonPath.parse("/a/0")).isNotEqualTo(JsonPath.parse("$.a[0]"));
+        assertThat(JsonPath.parse("/a/b")).isEqualTo(JsonPath.parse("$.a.b"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.parse("a.b"));
+    }
+
+    @Test
+    @DisplayName("Only paths without wildcards should be definite")
+    void testIsDefinite() {
+        assertThat(JsonPath.parse("/a/*").isDefinite()).isTrue();
+        assertThat(JsonPath.parse("$.a[3]").isDefinite()).isTrue();
+        assertThat(JsonPath.parse("$.a[*].b").isDefinite()).isFalse();
+        assertThat(JsonPath.parse("$.*").isDefinite()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "/a~", "/a~2", "$.", "$..a", "$[", "$[1", "$[-1]", "$['a]", "$[?(@.a)]", "$[1:2]", "$a"})
+    @DisplayName("Invalid or unsupported paths should be rejected")
+    void testInvalidPaths(String path) {
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.parse(path));
+    }
+}
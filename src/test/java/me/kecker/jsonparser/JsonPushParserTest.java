@@ -0,0 +1,139 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.MaxDepthExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonPushParserTest {
+
+    private static final String DOCUMENT = " {\"a\": [1, -2.5e1, \"t\\u00e9xt \\\"q\\\" \uD83D\uDE00\", true, false, null], "
+            + "\"b\": {}, \"c\": [], \"ü\": 12345678901234567890} ";
+
+    @Test
+    @DisplayName("The document should be reported like by the other parsers, no matter where the chunks are split")
+    void testEverySplit() throws JsonParseException {
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        JsonElement expected = JsonParser.parse(DOCUMENT);
+        for (int split = 0; split <= bytes.length; split++) {
+            JsonTreeBuilder builder = new JsonTreeBuilder();
+            JsonPushParser parser = new JsonPushParser(builder);
+            parser.feed(ByteBuffer.wrap(bytes, 0, split));
+            parser.feed(ByteBuffer.wrap(bytes, split, bytes.length - split));
+            parser.end();
+            assertThat(builder.result()).as("split at %d", split).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Single bytes and direct buffers should be consumed completely")
+    void testChunks() throws JsonParseException {
+        byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        JsonPushParser parser = new JsonPushParser(builder);
+        for (byte b : bytes) {
+            ByteBuffer chunk = ByteBuffer.allocateDirect(1).put(b).flip();
+            parser.feed(chunk);
+            assertThat(chunk.hasRemaining()).isFalse();
+        }
+        parser.end();
+        assertThat(builder.result()).isEqualTo(JsonParser.parse(DOCUMENT));
+    }
+
+    @Test
+    @DisplayName("Events should be reported as soon as they are complete")
+    void testEvents() throws JsonParseException {
+        StringBuilder events = new StringBuilder();
+        JsonPushParser parser = new JsonPushParser(new JsonVisitor() {
+            @Override
+            public void startArray() {
+                events.append('[');
+            }
+
+            @Override
+            public void string(String value) {
+                events.append(value);
+            }
+
+            @Override
+            public void number(JsonElement.JsonNumber value) {
+                events.append(value.longValue());
+            }
+        });
+        feed(parser, "[\"ab");
+        assertThat(events).hasToString("[");
+        feed(parser, "c\", 12");
+        assertThat(events).hasToString("[abc");
+        feed(parser, "3");
+        assertThat(events).hasToString("[abc");
+        feed(parser, "]");
+        assertThat(events).hasToString("[abc123");
+        assertThat(parser.isComplete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A top-level number should be reported at the end of the document")
+    void testTopLevelNumber() throws JsonParseException {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        JsonPushParser parser = new JsonPushParser(builder);
+        feed(parser, " 4");
+        feed(parser, "2");
+        assertThat(parser.isComplete()).isFalse();
+        parser.end();
+        assertThat(builder.result()).isEqualTo(JsonElement.JsonNumber.valueOf(42));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Invalid documents should be rejected like by the sequential parser, no matter where the chunks are split")
+    @ValueSource(strings = {"", " ", "[1,2,]", "[1,,2]", "[1,2", "[1 2]", "[1-2]", "{\"a\" 1}", "{\"a\":1,}", "{1:2}",
+            "{\"a\":1", "[tru]", "[nul", "[01]", "[1.]", "-", "\"abc", "\"a\\", "\"\\x\"", "\"\\u12\"", "[1] 2", "[}",
+            "{\"a\":1]", "[\"a\tb\"]", "x"})
+    void testInvalid(String json) {
+        JsonParseException sequential = assertThrows(JsonParseException.class, () -> JsonParser.parse(json));
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        for (int split = 0; split <= bytes.length; split++) {
+            JsonPushParser parser = new JsonPushParser(new JsonTreeBuilder());
+            int at = split;
+            JsonParseException pushed = assertThrows(JsonParseException.class, () -> {
+                parser.feed(ByteBuffer.wrap(bytes, 0, at));
+                parser.feed(ByteBuffer.wrap(bytes, at, bytes.length - at));
+                parser.end();
+            });
+            assertThat(pushed).as("split at %d", split).hasSameClassAs(sequential).hasMessage(sequential.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Nesting beyond the maximum depth should be rejected")
+    void testMaxDepthExceeded() throws JsonParseException {
+        JsonPushParser parser = new JsonPushParser(new JsonTreeBuilder(), JsonParseOptions.DEFAULT.withMaxDepth(2));
+        feed(parser, "[{\"a\": ");
+        assertThrows(MaxDepthExceededException.class, () -> feed(parser, "["));
+    }
+
+    @Test
+    @DisplayName("A parser should not be used after it has failed or ended")
+    void testUnusable() throws JsonParseException {
+        JsonPushParser failed = new JsonPushParser(new JsonTreeBuilder());
+        assertThrows(JsonParseException.class, () -> feed(failed, "]"));
+        assertThrows(IllegalStateException.class, () -> feed(failed, "1"));
+
+        JsonPushParser ended = new JsonPushParser(new JsonTreeBuilder());
+        feed(ended, "1");
+        ended.end();
+        assertThrows(IllegalStateException.class, () -> feed(ended, " "));
+        assertThrows(IllegalStateException.class, ended::end);
+    }
+
+    private static void feed(JsonPushParser parser, String chunk) throws JsonParseException {
+        parser.feed(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,106 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonQueryTest {
+
+    private static final String EVENTS = """
+            {"type": "batch", "meta": {"source": "sensor-1", "count": 3},
+             "events": [{"id": 1, "tags": ["a"]}, {"id": 2, "tags": []}, {"id": 3, "tags": ["b", "c"]}],
+             "checksum": "f00"}
+            """;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "/type", "/meta", "/meta/count", "/events/1", "$.events[*].id", "$.events[*].tags[*]",
+            "$.*", "$.events[2].tags[1]", "/missing", "/events/3", "/type/0", "$.meta.*"})
+    @DisplayName("Selecting while parsing should give the same values as navigating the parsed tree")
+    void testSameAsEvaluate(String expression) throws JsonParseException {
+        JsonPath path = JsonPath.parse(expression);
+        Map<JsonPath, List<JsonElement>> results = JsonQuery.of(path).select(EVENTS);
+        assertThat(results).containsOnlyKeys(path);
+        assertThat(results.get(path)).isEqualTo(path.evaluate(JsonParser.parse(EVENTS)));
+    }
+
+    @Test
+    @DisplayName("Several paths should be selected in one pass, including paths within selected values")
+    void testSeveralPaths() throws JsonParseException {
+        JsonQuery query = JsonQuery.of("/meta", "/meta/source", "$.events[*].id", "/checksum");
+        Map<JsonPath, List<JsonElement>> results = query.select(EVENTS.getBytes(StandardCharsets.UTF_8));
+        assertThat(results.keySet()).containsExactlyElementsOf(query.paths());
+        assertThat(results.get(JsonPath.parse("/meta/source"))).containsExactly(new JsonElement.JsonString("sensor-1"));
+        assertThat(results.get(JsonPath.parse("$.events[*].id")))
+                .containsExactly(JsonParser.parse("1"), JsonParser.parse("2"), JsonParser.parse("3"));
+        assertThat(results.get(JsonPath.parse("/checksum"))).containsExactly(new JsonElement.JsonString("f00"));
+    }
+
+    @Test
+    @DisplayName("Reading should stop once all definite paths have been found")
+    void testEarlyStop() throws JsonParseException {
+        String truncated = "{\"type\": \"batch\", \"meta\": {\"count\": 3}, \"events\": [{\"id\": 1}, ";
+        Map<JsonPath, List<JsonElement>> results = JsonQuery.of("/meta/count", "/type").select(truncated);
+        assertThat(results.values()).containsExactly(List.of(JsonParser.parse("3")), List.of(new JsonElement.JsonString("batch")));
+        // a wildcard can always match further values, so the whole document has to be read
+        assertThrows(JsonParseException.class, () -> JsonQuery.of("/type", "$.events[*].id").select(truncated));
+    }
+
+    @Test
+    @DisplayName("Repeated member names should be selected as they occur: first value for definite paths, all otherwise")
+    void testRepeatedNames() throws JsonParseException {
+        String repeated = "{\"k\": \"first\", \"k\": true, \"o\": {\"x\": 1, \"x\": 2}}";
+        JsonElement tree = JsonParser.parse(repeated);
+        JsonPath definite = JsonPath.parse("/k");
+        assertThat(JsonQuery.of(definite).select(repeated).get(definite)).containsExactly(new JsonElement.JsonString("first"));
+        assertThat(definite.evaluate(tree)).containsExactly(JsonElement.JsonBoolean.TRUE);
+
+        JsonPath wildcard = JsonPath.parse("$.*");
+        assertThat(JsonQuery.of(wildcard).select(repeated).get(wildcard))
+                .containsExactly(new JsonElement.JsonString("first"), JsonElement.JsonBoolean.TRUE, JsonParser.parse("{\"x\": 2}"));
+        assertThat(wildcard.evaluate(tree)).containsExactly(JsonElement.JsonBoolean.TRUE, JsonParser.parse("{\"x\": 2}"));
+
+        // once a value is selected, the rest of the path is evaluated on its tree
+        JsonPath nested = JsonPath.parse("$.o.*");
+        assertThat(JsonQuery.of(nested).select(repeated).get(nested)).containsExactly(JsonParser.parse("1"), JsonParser.parse("2"));
+        assertThat(JsonQuery.of(JsonPath.parse("/o"), nested).select(repeated).get(nested)).containsExactly(JsonParser.parse("2"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"other\": 1} x", "{\"other\": [1, 2,], \"type\": 1}", "{\"other\": \"\\x\", \"type\": 1}",
+            "{\"type\": tru}", "[01]"})
+    @DisplayName("Skipped values should still be validated until all paths have been found")
+    void testInvalidDocuments(String input) {
+        assertThrows(JsonParseException.class, () -> JsonQuery.of("/type").select(input));
+    }
+
+    @Test
+    @DisplayName("The maximum depth should be enforced within selected values")
+    void testMaxDepth() {
+        JsonParseOptions options = JsonParseOptions.DEFAULT.withMaxDepth(3);
+        JsonQuery query = JsonQuery.of("/a");
+        assertThrows(JsonParseException.class,
+                () -> query.select(new StringJsonInput("{\"a\": [[[1]]]}"), options));
+    }
+
+    @Test
+    @DisplayName("A query should have between 1 and 64 paths")
+    void testPathCount() throws JsonParseException {
+        assertThrows(IllegalArgumentException.class, () -> JsonQuery.of(new String[0]));
+        String[] paths = IntStream.range(0, 64).mapToObj(i -> "/" + i).toArray(String[]::new);
+        Map<JsonPath, List<JsonElement>> results = JsonQuery.of(paths).select("[0, 1]");
+        assertThat(results.get(JsonPath.parse("/63"))).isEmpty();
+        assertThat(results.get(JsonPath.parse("/1"))).containsExactly(JsonParser.parse("1"));
+        String[] tooMany = IntStream.range(0, 65).mapToObj(i -> "/" + i).toArray(String[]::new);
+        assertThrows(IllegalArgumentException.class, () -> JsonQuery.of(tooMany));
+    }
+}
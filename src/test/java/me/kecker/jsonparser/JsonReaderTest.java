@@ -0,0 +1,201 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.MaxDepthExceededException;
+import me.kecker.jsonparser.exceptions.UnexpectedCharacterException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonReaderTest {
+
+    @Test
+    @DisplayName("nextToken should report every token of the document")
+    void testNextToken() throws JsonParseException {
+        JsonReader reader = new JsonReader(" {\"a\": [1, \"two\", true, null], \"b\": {}} ");
+        List<JsonToken> tokens = new ArrayList<>();
+        JsonToken token;
+        do {
+            token = reader.nextToken();
+            tokens.add(token);
+        } while (token != JsonToken.END_DOCUMENT);
+        assertThat(tokens).containsExactly(
+                JsonToken.BEGIN_OBJECT,
+                JsonToken.NAME, JsonToken.BEGIN_ARRAY,
+                JsonToken.NUMBER, JsonToken.STRING, JsonToken.BOOLEAN, JsonToken.NULL,
+                JsonToken.END_ARRAY,
+                JsonToken.NAME, JsonToken.BEGIN_OBJECT, JsonToken.END_OBJECT,
+                JsonToken.END_OBJECT,
+                JsonToken.END_DOCUMENT);
+    }
+
+    @Test
+    @DisplayName("Typed methods should return the decoded values")
+    void testTypedValues() throws JsonParseException {
+        JsonReader reader = new JsonReader("{\"id\": 42, \"name\": \"a\\nb\", \"ratio\": 0.5, \"ok\": false, \"none\": null}");
+        reader.beginObject();
+        assertThat(reader.nextName()).isEqualTo("id");
+        assertThat(reader.nextLong()).isEqualTo(42L);
+        assertThat(reader.nextName()).isEqualTo("name");
+        assertThat(reader.nextString()).isEqualTo("a\nb");
+        assertThat(reader.nextName()).isEqualTo("ratio");
+        assertThat(reader.nextDouble()).isEqualTo(0.5);
+        assertThat(reader.nextName()).isEqualTo("ok");
+        assertThat(reader.nextBoolean()).isFalse();
+        assertThat(reader.nextName()).isEqualTo("none");
+        reader.nextNull();
+        assertThat(reader.hasNext()).isFalse();
+        reader.endObject();
+        assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    }
+
+    @Test
+    @DisplayName("hasNext should iterate array elements")
+    void testHasNext() throws JsonParseException {
+        JsonReader reader = new JsonReader("[1, 2, 3]");
+        List<Integer> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(reader.nextInt());
+        }
+        reader.endArray();
+        assertThat(values).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("skipValue should skip nested values and member names")
+    void testSkipValue() throws JsonParseException {
+        JsonReader reader = new JsonReader("{\"skip\": {\"a\": [1, {\"b\": \"\\u0041\"}]}, \"other\": [], \"keep\": \"value\"}");
+        reader.beginObject();
+        assertThat(reader.nextName()).isEqualTo("skip");
+        reader.skipValue();
+        reader.skipValue();
+        assertThat(reader.nextName()).isEqualTo("keep");
+        assertThat(reader.nextString()).isEqualTo("value");
+        reader.endObject();
+        assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    }
+
+    @Test
+    @DisplayName("nextElement should build the next value and continue after it")
+    void testNextElement() throws JsonParseException {
+        JsonReader reader = new JsonReader("{\"a\": {\"b\": [1, true]}, \"c\": \"d\"}");
+        reader.beginObject();
+        assertThat(reader.nextName()).isEqualTo("a");
+        assertThat(reader.nextElement()).isEqualTo(JsonParser.parse("{\"b\": [1, true]}"));
+        assertThat(reader.nextName()).isEqualTo("c");
+        assertThat(reader.nextElement()).isEqualTo(new JsonElement.JsonString("d"));
+        assertThrows(IllegalStateException.class, reader::nextElement);
+        reader.endObject();
+        assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    }
+
+    @Test
+    @DisplayName("skipValue should not skip past the end of a container")
+    void testSkipValueAtEndOfContainer() throws JsonParseException {
+        JsonReader reader = new JsonReader("[]");
+        reader.beginArray();
+        assertThrows(IllegalStateException.class, reader::skipValue);
+    }
+
+    @Test
+    @DisplayName("Consuming a token of the wrong type should throw IllegalStateException")
+    void testWrongTokenType() throws JsonParseException {
+        JsonReader reader = new JsonReader("[\"string\"]");
+        reader.beginArray();
+        assertThrows(IllegalStateException.class, reader::nextLong);
+        assertThat(reader.nextString()).isEqualTo("string");
+    }
+
+    @ParameterizedTest
+    @DisplayName("nextLong should reject numbers that are no long values")
+    @ValueSource(strings = {"1.5", "9223372036854775808"})
+    void testNextLongOutOfRange(String input) {
+        JsonReader reader = new JsonReader(input);
+        assertThrows(NumberFormatException.class, reader::nextLong);
+    }
+
+    @ParameterizedTest
+    @DisplayName("nextLong should accept integers in decimal and exponent notation")
+    @ValueSource(strings = {"42", "42.0", "4.2e1", "4200e-2", "0.42E2"})
+    void testNextLongNotations(String input) throws JsonParseException {
+        JsonReader reader = new JsonReader(input);
+        assertThat(reader.nextLong()).isEqualTo(42L);
+    }
+
+    @ParameterizedTest
+    @DisplayName("nextDouble should return the nearest double")
+    @ValueSource(strings = {"0.1", "-2.5e-3", "123456789.123", "9007199254740993", "1e-400", "1.7976931348623157e308",
+            "123456789012345678901234567890"})
+    void testNextDouble(String input) throws JsonParseException {
+        JsonReader reader = new JsonReader(input);
+        assertThat(reader.nextDouble()).isEqualTo(Double.parseDouble(input));
+    }
+
+    @ParameterizedTest
+    @DisplayName("nextFloat should return the nearest float rather than the float nearest to the nearest double")
+    @ValueSource(strings = {"0.1", "-2.5e-3", "16777217", "1.0000000596046447753906251", "1.00000005960464478",
+            "3.4028236e38", "1e-50"})
+    void testNextFloat(String input) throws JsonParseException {
+        JsonReader reader = new JsonReader(input);
+        assertThat(reader.nextFloat()).isEqualTo(Float.parseFloat(input));
+    }
+
+    @Test
+    @DisplayName("Missing separators should be reported")
+    void testMissingComma() throws JsonParseException {
+        JsonReader reader = new JsonReader("[1 2]");
+        reader.beginArray();
+        reader.nextLong();
+        assertThrows(UnexpectedCharacterException.class, reader::peek);
+    }
+
+    @Test
+    @DisplayName("Missing colons should be reported")
+    void testMissingColon() throws JsonParseException {
+        JsonReader reader = new JsonReader("{\"a\" 1}");
+        reader.beginObject();
+        reader.nextName();
+        assertThrows(UnexpectedCharacterException.class, reader::peek);
+    }
+
+    @Test
+    @DisplayName("Non-string member names should be reported")
+    void testNonStringName() throws JsonParseException {
+        JsonReader reader = new JsonReader("{1: 1}");
+        reader.beginObject();
+        assertThrows(UnexpectedCharacterException.class, reader::peek);
+    }
+
+    @Test
+    @DisplayName("Trailing values after the top-level value should be reported")
+    void testTrailingValue() throws JsonParseException {
+        JsonReader reader = new JsonReader("1 2");
+        reader.nextLong();
+        assertThrows(JsonParseException.class, reader::peek);
+    }
+
+    @Test
+    @DisplayName("Empty input should be reported")
+    void testEmptyInput() {
+        JsonReader reader = new JsonReader("  ");
+        assertThrows(JsonParseException.class, reader::peek);
+    }
+
+    @Test
+    @DisplayName("Nesting beyond the maximum depth should be rejected when the container is entered")
+    void testMaxDepthExceeded() throws JsonParseException {
+        JsonParseOptions options = JsonParseOptions.DEFAULT.withMaxDepth(2);
+        JsonReader reader = new JsonReader(new JsonParseState(new StringJsonInput("[[[1]]]"), options));
+        reader.beginArray();
+        reader.beginArray();
+        assertThrows(MaxDepthExceededException.class, reader::beginArray);
+    }
+}
@@ -0,0 +1,120 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonTapeTest {
+
+    private static final String DOCUMENT = " {\"a\": [1, \"two\", true, null], \"b\": {}, \"c\": -2.5e1} ";
+
+    @Test
+    @DisplayName("The tape should hold one entry per token of the document")
+    void testTokens() throws JsonParseException {
+        JsonTape tape = JsonParser.parseTape(DOCUMENT);
+        List<JsonToken> tokens = new ArrayList<>();
+        for (int i = 0; i <= tape.length(); i++) {
+            tokens.add(tape.token(i));
+        }
+        assertThat(tokens).containsExactly(
+                JsonToken.BEGIN_OBJECT,
+                JsonToken.NAME, JsonToken.BEGIN_ARRAY,
+                JsonToken.NUMBER, JsonToken.STRING, JsonToken.BOOLEAN, JsonToken.NULL,
+                JsonToken.END_ARRAY,
+                JsonToken.NAME, JsonToken.BEGIN_OBJECT, JsonToken.END_OBJECT,
+                JsonToken.NAME, JsonToken.NUMBER,
+                JsonToken.END_OBJECT,
+                JsonToken.END_DOCUMENT);
+    }
+
+    @Test
+    @DisplayName("next should jump over arrays and objects and size should count their children")
+    void testNavigation() throws JsonParseException {
+        JsonTape tape = JsonParser.parseTape(DOCUMENT);
+        assertThat(tape.next(0)).isEqualTo(tape.length());
+        assertThat(tape.size(0)).isEqualTo(3);
+        assertThat(tape.next(1)).isEqualTo(2);
+        assertThat(tape.next(2)).isEqualTo(8);
+        assertThat(tape.size(2)).isEqualTo(4);
+        assertThat(tape.next(9)).isEqualTo(11);
+        assertThat(tape.size(9)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Values should be decoded on access")
+    void testValues() throws JsonParseException {
+        JsonTape tape = JsonParser.parseTape(DOCUMENT);
+        int array = tape.find(0, "a");
+        assertThat(array).isEqualTo(2);
+        assertThat(tape.longValue(array + 1)).isEqualTo(1L);
+        assertThat(tape.stringValue(array + 2)).isEqualTo("two");
+        assertThat(tape.booleanValue(array + 3)).isTrue();
+        assertThat(tape.stringValue(1)).isEqualTo("a");
+
+        int number = tape.find(0, "c");
+        assertThat(tape.doubleValue(number)).isEqualTo(-25.0);
+        assertThat(tape.numberValue(number)).isEqualTo(new JsonElement.JsonNumber("-2.5e1"));
+        // values can be read repeatedly and in any order
+        assertThat(tape.stringValue(array + 2)).isEqualTo("two");
+        assertThat(tape.find(0, "missing")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("element should build the same tree as the parser")
+    void testElement() throws JsonParseException {
+        JsonTape tape = JsonParser.parseTape(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        assertThat(tape.element(0)).isEqualTo(JsonParser.parse(DOCUMENT));
+        assertThat(tape.element(tape.find(0, "a"))).isEqualTo(JsonParser.parse("[1, \"two\", true, null]"));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Strings should be decoded from both kinds of in-memory input")
+    @ValueSource(strings = {"\"plain\"", "\"esc\\u00e9\\n\\\"aped\"", "\"é€😀\""})
+    void testStrings(String json) throws JsonParseException {
+        String expected = ((JsonElement.JsonString) JsonParser.parse(json)).value();
+        assertThat(JsonParser.parseTape(json).stringValue(0)).isEqualTo(expected);
+        assertThat(JsonParser.parseTape(json.getBytes(StandardCharsets.UTF_8)).stringValue(0)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Accessing an entry with the wrong type is a programming error")
+    void testWrongType() throws JsonParseException {
+        JsonTape tape = JsonParser.parseTape(DOCUMENT);
+        assertThrows(IllegalStateException.class, () -> tape.longValue(0));
+        assertThrows(IllegalStateException.class, () -> tape.find(2, "a"));
+        assertThrows(IllegalStateException.class, () -> tape.booleanValue(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> tape.next(tape.length()));
+    }
+
+    @Test
+    @DisplayName("longValue should reject numbers that do not fit into a long")
+    void testLongOverflow() throws JsonParseException {
+        JsonTape tape = JsonParser.parseTape("[9223372036854775808, 1.5]");
+        assertThrows(NumberFormatException.class, () -> tape.longValue(1));
+        assertThrows(NumberFormatException.class, () -> tape.longValue(2));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Invalid documents should be rejected while recording the tape")
+    @ValueSource(strings = {"[1,]", "{\"a\" 1}", "[1] 2", "\"unterminated", "[01]"})
+    void testInvalid(String json) {
+        assertThrows(JsonParseException.class, () -> JsonParser.parseTape(json));
+    }
+
+    @Test
+    @DisplayName("Streaming inputs are rejected")
+    void testStreamingInput() {
+        JsonInput input = new ReaderJsonInput(new StringReader("[]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonParser.parseTape(input, JsonParseOptions.DEFAULT));
+    }
+}
@@ -0,0 +1,69 @@
+package me.kecker.jsonparser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonTreeBuilderTest {
+
+    @Test
+    @DisplayName("Scalar events should become the result")
+    void testScalar() {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        builder.string("value");
+        assertThat(builder.result()).isEqualTo(new JsonElement.JsonString("value"));
+    }
+
+    @Test
+    @DisplayName("Result should be null until the top-level value is complete")
+    void testIncomplete() {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        builder.startArray();
+        builder.bool(true);
+        assertThat(builder.result()).isNull();
+    }
+
+    @Test
+    @DisplayName("Nested events should be assembled into a tree")
+    void testNested() {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        builder.startObject();
+        builder.key("list");
+        builder.startArray();
+        builder.number(new JsonElement.JsonNumber("1"));
+        builder.nullValue();
+        builder.startObject();
+        builder.endObject();
+        builder.endArray();
+        builder.key("flag");
+        builder.bool(false);
+        builder.endObject();
+
+        JsonElement expected = new JsonElement.JsonObject(Map.of(
+                "list", new JsonElement.JsonArray(List.of(
+                        new JsonElement.JsonNumber("1"),
+                        JsonElement.NULL,
+                        new JsonElement.JsonObject(Map.of()))),
+                "flag", JsonElement.JsonBoolean.FALSE));
+        assertThat(builder.result()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Members should keep the order of the document")
+    void testMemberOrder() {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        builder.startObject();
+        for (String key : List.of("z", "a", "m", "b")) {
+            builder.key(key);
+            builder.nullValue();
+        }
+        builder.endObject();
+
+        JsonElement.JsonObject result = (JsonElement.JsonObject) builder.result();
+        assertThat(result.members().keySet()).containsExactly("z", "a", "m", "b");
+    }
+}
@@ -0,0 +1,167 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonWriterTest {
+
+    private static final String DOCUMENT = "{\"a\":[1,-2.5,\"t\\\"é\\\\x\\n\\u0001€😀\",true,false,null],\"b\":{},\"c\":[],"
+            + "\"d\":{\"e\":12345678901234567890123}}";
+
+    @Test
+    @DisplayName("Elements should be written as compact JSON")
+    void testCompact() throws JsonParseException {
+        assertThat(JsonWriter.toJson(JsonParser.parse(DOCUMENT))).isEqualTo(DOCUMENT);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Written documents should be parsed into equal elements, also through small buffers")
+    @ValueSource(ints = {12, 13, 17, 64, JsonWriter.DEFAULT_BUFFER_SIZE})
+    void testRoundTrip(int bufferSize) throws IOException, JsonParseException {
+        JsonElement element = JsonParser.parse(" { \"long text\" : \"" + "aé€😀\\\"".repeat(50) + "\", \"n\": [0.001, 1e3, -7] } ");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(new StreamSinkForTest(out), bufferSize)) {
+            writer.write(element);
+        }
+        assertThat(JsonParser.parse(out.toByteArray())).isEqualTo(element);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Written characters should be parsed into equal elements, also through small buffers")
+    @ValueSource(ints = {12, 13, 17, 64, JsonWriter.DEFAULT_BUFFER_SIZE})
+    void testRoundTripWriter(int bufferSize) throws IOException, JsonParseException {
+        JsonElement element = JsonParser.parse(" { \"long text\" : \"" + "aé€😀\\\"".repeat(50) + "\", \"n\": [0.001, 1e3, -7, "
+                + "1" + "0".repeat(100) + "] } ");
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out, bufferSize)) {
+            writer.write(element);
+        }
+        assertThat(out.toString()).isEqualTo(JsonWriter.toJson(element));
+    }
+
+    @Test
+    @DisplayName("Control characters and unpaired surrogates should be escaped")
+    void testEscapes() throws IOException {
+        String value = "\u0000\u001f\b\f\r\t/\u007f\uD800x\uDC00";
+        String expected = "\"\\u0000\\u001f\\b\\f\\r\\t/\u007f\\ud800x\\udc00\"";
+        assertThat(JsonWriter.toJson(new JsonElement.JsonString(value))).isEqualTo(expected);
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.string(value);
+        }
+        assertThat(out).hasToString(expected);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Numbers should be formatted like BigDecimal.toString")
+    @ValueSource(strings = {"0", "-0", "7", "-9223372036854775808", "9223372036854775807", "0.5", "-0.5", "123.45",
+            "-123.45", "0.000001", "0.0000001", "1.2e-9", "1e3", "-1.5e12", "0.00", "0e-10", "1e400", "1.5e-400",
+            "123456789012345678901234567890"})
+    void testNumbers(String number) throws JsonParseException {
+        JsonElement.JsonNumber value = (JsonElement.JsonNumber) JsonParser.parse(number);
+        assertThat(JsonWriter.toJson(value)).isEqualTo(value.value().toString());
+        assertThat(JsonWriter.toJson(new JsonElement.JsonNumber(new BigDecimal(number)))).isEqualTo(new BigDecimal(number).toString());
+    }
+
+    @Test
+    @DisplayName("Tokens should be separated like the document they describe")
+    void testTokens() throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.startObject();
+            writer.key("é");
+            writer.startArray();
+            writer.number(JsonElement.JsonNumber.valueOf(1));
+            writer.string("two");
+            writer.endArray();
+            writer.key("b");
+            writer.nullValue();
+            writer.endObject();
+        }
+        assertThat(out).hasToString("{\"é\":[1,\"two\"],\"b\":null}");
+    }
+
+    @Test
+    @DisplayName("Primitive numbers should be written without creating elements")
+    void testPrimitiveNumbers() throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.startArray();
+            writer.number(Long.MIN_VALUE);
+            writer.number(0.1);
+            writer.number(1e-7);
+            writer.number(0.1f);
+            writer.number(1.1f);
+            writer.endArray();
+            assertThrows(IllegalArgumentException.class, () -> writer.number(Double.NaN));
+            assertThrows(IllegalArgumentException.class, () -> writer.number(Float.POSITIVE_INFINITY));
+        }
+        assertThat(out).hasToString("[-9223372036854775808,0.1,1.0E-7,0.1,1.1]");
+    }
+
+    @Test
+    @DisplayName("Several top-level values should be written on separate lines")
+    void testLines() throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(64);
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.write(JsonElement.JsonNumber.valueOf(1));
+            writer.write(JsonElement.JsonBoolean.TRUE);
+            writer.startArray();
+            writer.endArray();
+        }
+        assertThat(new String(out.array(), 0, out.position(), StandardCharsets.UTF_8)).isEqualTo("1\ntrue\n[]");
+    }
+
+    @Test
+    @DisplayName("Tokens that would make the document invalid should be rejected")
+    void testInvalidTokens() {
+        JsonWriter writer = new JsonWriter(new ByteArrayOutputStream());
+        writer.startArray();
+        assertThrows(IllegalStateException.class, () -> writer.key("a"));
+        assertThrows(IllegalStateException.class, writer::endObject);
+        writer.startObject();
+        assertThrows(IllegalStateException.class, () -> writer.string("a"));
+        assertThrows(IllegalStateException.class, writer::endArray);
+        writer.key("a");
+        assertThrows(IllegalStateException.class, () -> writer.key("b"));
+        assertThrows(IllegalStateException.class, writer::endObject);
+    }
+
+    @Test
+    @DisplayName("Output exceeding a byte buffer should be reported")
+    void testBufferOverflow() {
+        JsonWriter writer = new JsonWriter(ByteBuffer.allocate(4));
+        writer.string("too long");
+        assertThrows(BufferOverflowException.class, writer::flush);
+    }
+
+    private record StreamSinkForTest(ByteArrayOutputStream out) implements JsonWriter.Sink {
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
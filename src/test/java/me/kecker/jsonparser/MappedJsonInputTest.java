@@ -0,0 +1,145 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedJsonInputTest {
+
+    private static final String DOCUMENT = "{\"name\": \"\u00e9\u20ac\uD83D\uDE00\", \"values\": [1, 2.5, -3e2, true, null]}";
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @DisplayName("Files are mapped in windows without splitting multi-byte sequences")
+    @ValueSource(ints = {1, 2, 3, 4, 7, 1000, MappedJsonInput.MAX_WINDOW_SIZE})
+    void testWindows(int windowSize) throws IOException {
+        String text = "[\"\u00e9\u20ac\uD83D\uDE00\", 12345, true]".repeat(20);
+        assertThat(readAll(new MappedJsonInput(write(text), windowSize))).isEqualTo(text);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Malformed sequences are replaced like the JDK decoder does, also across windows")
+    @ValueSource(ints = {1, 2, 3, 1000})
+    void testReplacesMalformedSequences(int windowSize) throws IOException {
+        byte[] bytes = {'a', (byte) 0xE2, (byte) 0x82, 'a', (byte) 0xF0, (byte) 0x9F, (byte) 0x98, (byte) 0xC3};
+        Path file = Files.write(directory.resolve("malformed.json"), bytes);
+        assertThat(readAll(new MappedJsonInput(file, windowSize))).isEqualTo(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Empty files have reached their end")
+    void testEmptyFile() throws IOException {
+        Path file = Files.createFile(directory.resolve("empty.json"));
+        assertThat(new MappedJsonInput(file).reachedEnd()).isEqualTo(true);
+        assertThat(new MappedJsonInput(file, 1).reachedEnd()).isEqualTo(true);
+    }
+
+    @ParameterizedTest
+    @DisplayName("stringRun should consume everything up to the next quote, backslash or control character")
+    @ValueSource(ints = {1, 3, 5, 1000})
+    void testStringRun(int windowSize) throws IOException {
+        JsonInput input = new MappedJsonInput(write("abc\u00e9\u20ac\uD83D\uDE00def\"x\\y\nz"), windowSize);
+        assertThat(input.stringRun()).isEqualTo("abc\u00e9\u20ac\uD83D\uDE00def");
+        assertThat(input.current()).isEqualTo('"');
+        input.advance();
+        assertThat(input.stringRun()).isEqualTo("x");
+        assertThat(input.current()).isEqualTo('\\');
+        input.advance();
+        StringBuilder builder = new StringBuilder(">");
+        input.appendStringRun(builder);
+        assertThat(builder.toString()).isEqualTo(">y");
+        assertThat(input.current()).isEqualTo('\n');
+        input.advance();
+        assertThat(input.stringRun()).isEqualTo("z");
+        assertThat(input.reachedEnd()).isEqualTo(true);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Documents should parse the same in any window size")
+    @ValueSource(ints = {1, 2, 5, 1000})
+    void testParse(int windowSize) throws IOException, JsonParseException {
+        JsonInput input = new MappedJsonInput(write(DOCUMENT), windowSize);
+        assertThat(JsonParser.parse(input)).isEqualTo(JsonParser.parse(DOCUMENT));
+    }
+
+    @Test
+    @DisplayName("Files mapped as a whole should expose their bytes as text")
+    void testText() throws IOException {
+        JsonInput input = new MappedJsonInput(write("[\u00e9, 12]"));
+        assertThat(input.text()).hasToString("[\u00c3\u00a9, 12]");
+        input.seek(4);
+        assertThat(input.current()).isEqualTo(' ');
+        input.advance();
+        assertThat(input.position()).isEqualTo(5);
+        assertThat(input.text().subSequence(5, 7)).hasToString("12");
+        assertThat(input.duplicate().current()).isEqualTo('1');
+    }
+
+    @Test
+    @DisplayName("Files mapped in windows should not expose text")
+    void testWindowedText() throws IOException {
+        JsonInput input = new MappedJsonInput(write(DOCUMENT), 8);
+        assertThat(input.text()).isNull();
+        assertThrows(UnsupportedOperationException.class, input::position);
+        assertThrows(IllegalArgumentException.class, () -> JsonParser.parseTape(input, JsonParseOptions.DEFAULT));
+    }
+
+    @Test
+    @DisplayName("Lazy numbers should be decoded from the mapping")
+    void testLazyNumbers() throws IOException, JsonParseException {
+        Path file = write(DOCUMENT);
+        JsonElement result = JsonParser.parse(file, JsonParseOptions.DEFAULT.withLazyNumbers(true));
+        assertThat(result).isEqualTo(JsonParser.parse(DOCUMENT));
+    }
+
+    @Test
+    @DisplayName("Tapes should be recorded from files")
+    void testTape() throws IOException, JsonParseException {
+        JsonTape tape = JsonParser.parseTape(new MappedJsonInput(write(DOCUMENT)), JsonParseOptions.DEFAULT);
+        assertThat(tape.element(0)).isEqualTo(JsonParser.parse(DOCUMENT));
+    }
+
+    @Test
+    @DisplayName("Files should be split into chunks parsed in parallel")
+    void testParallel() throws IOException, JsonParseException {
+        String json = "[" + "{\"key\": \"\u00e9\", \"value\": 1.5},".repeat(100) + "null]";
+        JsonInput input = new MappedJsonInput(write(json));
+        JsonElement result = ParallelArrayParser.parse(input, JsonParseOptions.DEFAULT, ForkJoinPool.commonPool(), 4);
+        assertThat(result).isEqualTo(JsonParser.parse(json));
+    }
+
+    @Test
+    @DisplayName("Window sizes beyond the addressable range are rejected")
+    void testIllegalWindowSize() throws IOException {
+        Path file = write(DOCUMENT);
+        assertThrows(IllegalArgumentException.class, () -> new MappedJsonInput(file, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MappedJsonInput(file, Integer.MAX_VALUE));
+    }
+
+    private Path write(String text) throws IOException {
+        return Files.write(directory.resolve("input.json"), text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readAll(JsonInput input) {
+        StringBuilder builder = new StringBuilder();
+        while (!input.reachedEnd()) {
+            builder.append(input.current());
+            input.advance();
+        }
+        return builder.toString();
+    }
+}
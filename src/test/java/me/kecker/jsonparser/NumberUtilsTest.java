@@ -4,6 +4,7 @@ import me.kecker.jsonparser.exceptions.IllegalNumberException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,4 +25,43 @@ class NumberUtilsTest {
     void testToDecimalInvalidValues(char input) {
         assertThrows(IllegalNumberException.class, () -> NumberUtils.toDecimal(input));
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @DisplayName("toDouble() should round like Double.parseDouble")
+    @CsvSource({"5, 1", "123456789, 4", "-3, -22", "9007199254740993, 0", "1, 23", "17, -300", "4, 330"})
+    void testToDouble(long significand, int scale) {
+        String decimal = significand + "E" + -scale;
+        assertThat(NumberUtils.toDouble(significand, scale)).isEqualTo(Double.parseDouble(decimal));
+    }
+
+    @ParameterizedTest
+    @DisplayName("toFloat() should round like Float.parseFloat")
+    @CsvSource({"5, 1", "16777217, 0", "-3, -10", "100000005960464478, 17", "1, 46", "34028236, -31", "17, -300"})
+    void testToFloat(long significand, int scale) {
+        String decimal = significand + "E" + -scale;
+        assertThat(NumberUtils.toFloat(significand, scale)).isEqualTo(Float.parseFloat(decimal));
+    }
+
+    @ParameterizedTest
+    @DisplayName("toLongExact() should accept integers with any representation")
+    @CsvSource({"42, 0, 42", "4200, 2, 42", "42, -2, 4200", "0, 100, 0", "-9223372036854775808, 0, -9223372036854775808"})
+    void testToLongExact(long significand, int scale, long expected) {
+        assertThat(NumberUtils.toLongExact(significand, scale)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @DisplayName("toLongExact() should throw exception for fractions and overflows")
+    @CsvSource({"15, 1", "1, -19", "-9223372036854775808, -1"})
+    void testToLongExactInvalidValues(long significand, int scale) {
+        assertThrows(ArithmeticException.class, () -> NumberUtils.toLongExact(significand, scale));
+    }
+
+    @ParameterizedTest
+    @DisplayName("parseValidNumber() should decode the number within the given range")
+    @ValueSource(strings = {"0", "-7", "1.50", "-2.5e-3", "1E+2", "9223372036854775807", "12345678901234567890.5", "1e-2147483647"})
+    void testParseValidNumber(String number) {
+        String text = "[" + number + ",";
+        JsonElement.JsonNumber result = NumberUtils.parseValidNumber(text, 1, text.length() - 1);
+        assertThat(result).isEqualTo(new JsonElement.JsonNumber(number));
+    }
+}
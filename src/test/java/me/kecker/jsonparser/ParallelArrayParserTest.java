@@ -0,0 +1,96 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import me.kecker.jsonparser.exceptions.MaxDepthExceededException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelArrayParserTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterAll
+    static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @ParameterizedTest
+    @DisplayName("Splitting the root array into chunks should yield the same elements in order")
+    @ValueSource(ints = {1, 2, 7, 50, 1000})
+    void testSameResult(int chunkCount) throws JsonParseException {
+        StringBuilder json = new StringBuilder(" [");
+        for (int i = 0; i < 200; i++) {
+            if (i > 0) {
+                json.append(i % 3 == 0 ? " ,\n" : ",");
+            }
+            json.append("{\"id\": ").append(i).append(", \"text\": \"a,b]\\\"}{[").append(i).append("\", \"list\": [1, [2, 3]]}");
+        }
+        json.append("] ");
+        String source = json.toString();
+        JsonElement expected = JsonParser.parse(source);
+
+        assertThat(parse(new StringJsonInput(source), chunkCount)).isEqualTo(expected);
+        assertThat(parse(new Utf8JsonInput(source.getBytes(StandardCharsets.UTF_8)), chunkCount)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Other documents should be parsed sequentially")
+    @ValueSource(strings = {"{\"a\": [1, 2]}", "[]", " [ ] ", "[1]", "\"[1, 2]\"", "42"})
+    void testOtherDocuments(String json) throws JsonParseException {
+        assertThat(parse(new StringJsonInput(json), 4)).isEqualTo(JsonParser.parse(json));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Invalid documents should be rejected like by the sequential parser")
+    @ValueSource(strings = {"[1,2,]", "[1,,2]", "[1,2", "[1,2] 3", "[1,{\"a\":2,},3]", "[1,\"2,3]", "[1,2}", "[1,{]},2]"})
+    void testInvalid(String json) {
+        JsonParseException sequential = assertThrows(JsonParseException.class, () -> JsonParser.parse(json));
+        JsonParseException parallel = assertThrows(JsonParseException.class, () -> parse(new StringJsonInput(json), 4));
+        assertThat(parallel).hasSameClassAs(sequential).hasMessage(sequential.getMessage());
+    }
+
+    @ParameterizedTest
+    @DisplayName("The root array should count towards the maximum depth like it does sequentially")
+    @ValueSource(ints = {0, 1, 2, 3})
+    void testMaxDepth(int maxDepth) throws JsonParseException {
+        String json = "[[[1]], [[2]], [3], 4]";
+        JsonParseOptions options = JsonParseOptions.DEFAULT.withMaxDepth(maxDepth);
+        if (maxDepth < 3) {
+            assertThrows(MaxDepthExceededException.class, () -> JsonParser.parse(json, options));
+            assertThrows(MaxDepthExceededException.class,
+                    () -> ParallelArrayParser.parse(new StringJsonInput(json), options, POOL, 4));
+        } else {
+            assertThat(ParallelArrayParser.parse(new StringJsonInput(json), options, POOL, 4))
+                    .isEqualTo(JsonParser.parse(json, options));
+        }
+    }
+
+    @Test
+    @DisplayName("Only the given range of a byte array should be parsed")
+    void testByteRange() throws JsonParseException {
+        byte[] bytes = "xx[1, 2, 3, 4]yy".getBytes(StandardCharsets.UTF_8);
+        assertThat(parse(new Utf8JsonInput(bytes, 2, 12), 4)).isEqualTo(JsonParser.parse("[1, 2, 3, 4]"));
+        assertThrows(JsonParseException.class, () -> parse(new Utf8JsonInput(bytes, 2, 11), 4));
+    }
+
+    @Test
+    @DisplayName("The parallel option should parse like the sequential parser")
+    void testOption() throws JsonParseException {
+        String json = "[" + "{\"key\": \"value\"},".repeat(ParallelArrayParser.MIN_PARALLEL_LENGTH / 16) + "null]";
+        JsonParseOptions options = JsonParseOptions.DEFAULT.withParallel(true);
+        assertThat(JsonParser.parse(json, options)).isEqualTo(JsonParser.parse(json));
+    }
+
+    private static JsonElement parse(JsonInput input, int chunkCount) throws JsonParseException {
+        return ParallelArrayParser.parse(input, JsonParseOptions.DEFAULT, POOL, chunkCount);
+    }
+}
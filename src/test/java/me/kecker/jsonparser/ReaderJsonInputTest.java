@@ -0,0 +1,90 @@
+package me.kecker.jsonparser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReaderJsonInputTest {
+
+    @Test
+    @DisplayName("Newly created input looks at first char")
+    void testCurrent() {
+        JsonInput input = new ReaderJsonInput(new StringReader("AB"));
+        assertThat(input.current()).isEqualTo('A');
+        assertThat(input.reachedEnd()).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Empty input has reached its end")
+    void testEmpty() {
+        JsonInput input = new ReaderJsonInput(new StringReader(""));
+        assertThat(input.reachedEnd()).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Input longer than the buffer is read completely")
+    void testRefill() {
+        String text = "[1, \"two\", {\"three\": null}]".repeat(100);
+        JsonInput input = new ReaderJsonInput(new StringReader(text), 7);
+        StringBuilder builder = new StringBuilder();
+        while (!input.reachedEnd()) {
+            builder.append(input.current());
+            input.advance();
+        }
+        assertThat(builder.toString()).isEqualTo(text);
+    }
+
+    @Test
+    @DisplayName("skipWhitespace should skip whitespace spanning several buffer fills")
+    void testSkipWhitespaceAcrossRefills() {
+        JsonInput input = new ReaderJsonInput(new StringReader(" \n\r\t   \n x "), 3);
+        input.skipWhitespace();
+        assertThat(input.current()).isEqualTo('x');
+        input.advance();
+        input.skipWhitespace();
+        assertThat(input.reachedEnd()).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("stringRun should consume a run spanning several buffer fills")
+    void testStringRunAcrossRefills() {
+        JsonInput input = new ReaderJsonInput(new StringReader("abcdefgh\u00e9ij\"k\\"), 3);
+        assertThat(input.stringRun()).isEqualTo("abcdefgh\u00e9ij");
+        assertThat(input.current()).isEqualTo('"');
+        input.advance();
+        assertThat(input.stringRun()).isEqualTo("k");
+        assertThat(input.current()).isEqualTo('\\');
+        input.advance();
+        assertThat(input.stringRun()).isEmpty();
+        assertThat(input.reachedEnd()).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("I/O errors are reported as UncheckedIOException")
+    void testIOException() {
+        Reader reader = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("broken");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThrows(UncheckedIOException.class, () -> new ReaderJsonInput(reader));
+    }
+
+    @Test
+    @DisplayName("Empty buffers are rejected")
+    void testIllegalBufferSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ReaderJsonInput(new StringReader(""), 0));
+    }
+}
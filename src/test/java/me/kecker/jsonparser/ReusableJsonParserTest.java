@@ -0,0 +1,63 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReusableJsonParserTest {
+
+    private static final List<String> DOCUMENTS = List.of(
+            "{\"id\": 1, \"tags\": [\"a\", \"b\"], \"score\": 1.5e3}",
+            "[[1, 2], {\"id\": 2}, null, true]",
+            "\"text\"",
+            "{\"id\": 3, \"nested\": {\"id\": -4}}");
+
+    @Test
+    @DisplayName("Documents parsed one after another should be parsed like by the static parser")
+    void testSequence() throws JsonParseException {
+        ReusableJsonParser parser = new ReusableJsonParser();
+        for (int i = 0; i < 3; i++) {
+            for (String document : DOCUMENTS) {
+                assertThat(parser.parse(document)).isEqualTo(JsonParser.parse(document));
+                assertThat(parser.parse(document.getBytes(StandardCharsets.UTF_8))).isEqualTo(JsonParser.parse(document));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A failed document should not affect the next one")
+    void testAfterFailure() throws JsonParseException {
+        ReusableJsonParser parser = new ReusableJsonParser();
+        assertThrows(JsonParseException.class, () -> parser.parse("{\"a\": [1, {\"b\": "));
+        assertThat(parser.parse("[3]")).isEqualTo(JsonParser.parse("[3]"));
+    }
+
+    @Test
+    @DisplayName("Member names should be shared across documents")
+    void testSharedNames() throws JsonParseException {
+        ReusableJsonParser parser = new ReusableJsonParser();
+        JsonElement.JsonObject first = (JsonElement.JsonObject) parser.parse("{\"name\": 1}");
+        JsonElement.JsonObject second = (JsonElement.JsonObject) parser.parse("{\"name\": 2}".getBytes(StandardCharsets.UTF_8));
+        assertThat(second.members().keySet().iterator().next()).isSameAs(first.members().keySet().iterator().next());
+    }
+
+    @Test
+    @DisplayName("The parser should not be called again by the visitor of the document it is parsing")
+    void testReentrance() throws JsonParseException {
+        ReusableJsonParser parser = new ReusableJsonParser();
+        JsonVisitor visitor = new JsonVisitor() {
+            @Override
+            public void startArray() {
+                assertThrows(IllegalStateException.class, () -> parser.parse("1"));
+            }
+        };
+        parser.parse("[1]", visitor);
+        assertThat(parser.parse("[2]")).isEqualTo(JsonParser.parse("[2]"));
+    }
+}
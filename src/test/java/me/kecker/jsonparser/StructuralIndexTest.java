@@ -0,0 +1,162 @@
+package me.kecker.jsonparser;
+
+import me.kecker.jsonparser.exceptions.JsonParseException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StructuralIndexTest {
+
+    private static final JsonParseOptions STRUCTURAL_INDEX = JsonParseOptions.DEFAULT.withStructuralIndex(true);
+
+    @Test
+    @DisplayName("Structural characters, opening quotes and scalars outside of strings should start tokens")
+    void testTokens() {
+        String json = "{\"a\": [1, \"x\\\" y,\", true]}";
+        assertThat(tokens(json)).containsExactly(0, 1, 4, 6, 7, 8, 10, 18, 20, 24, 25);
+    }
+
+    @ParameterizedTest
+    @DisplayName("The index should agree with a byte by byte scan, also across block boundaries")
+    @ValueSource(ints = {1, 2, 3, 4, 5})
+    void testRandomDocuments(int seed) {
+        String json = randomDocument(new Random(seed));
+        assertThat(tokens(json)).isEqualTo(referenceTokens(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Escapes at the end of a block should carry over to the next one")
+    void testEscapeAcrossBlocks() {
+        String json = "[\"" + "a".repeat(61) + "\\\" b\", 1]";
+        assertThat(json.charAt(63)).isEqualTo('\\');
+        assertThat(tokens(json)).containsExactly(0, 1, 68, 70, 71);
+    }
+
+    @Test
+    @DisplayName("closingQuote should find the end of strings that can be copied as they are")
+    void testClosingQuote() {
+        byte[] bytes = "[\"plain\", \"esc\\\"aped\", \"\u00e9\", \"".getBytes(StandardCharsets.UTF_8);
+        StructuralIndex index = new StructuralIndex(bytes, 0, bytes.length);
+        assertThat(index.closingQuote(2)).isEqualTo(7);
+        assertThat(index.string(2, 7)).isEqualTo("plain");
+        assertThat(index.closingQuote(11)).isEqualTo(-1);
+        assertThat(index.closingQuote(24)).isEqualTo(-1);
+        assertThat(index.closingQuote(bytes.length)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("closingQuote should look for escapes and non-ASCII characters across blocks")
+    void testClosingQuoteAcrossBlocks() {
+        String json = "\"" + "a".repeat(100) + "\u00e9" + "b".repeat(100) + "\", \"" + "c".repeat(200) + "\"";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        StructuralIndex index = new StructuralIndex(bytes, 0, bytes.length);
+        assertThat(index.closingQuote(1)).isEqualTo(-1);
+        assertThat(index.closingQuote(207)).isEqualTo(407);
+    }
+
+    @Test
+    @DisplayName("nextToken should skip whitespace in either direction, within the indexed range")
+    void testNextToken() {
+        byte[] bytes = "xx[1,   2]  yy".getBytes(StandardCharsets.UTF_8);
+        StructuralIndex index = new StructuralIndex(bytes, 2, 12);
+        assertThat(index.nextToken(5)).isEqualTo(8);
+        assertThat(index.nextToken(10)).isEqualTo(12);
+        assertThat(index.nextToken(3)).isEqualTo(3);
+        assertThat(index.nextToken(12)).isEqualTo(12);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Documents should parse the same with the index")
+    @ValueSource(strings = {"[]", " { \"a\" : [ 1 , -2.5e3 , true , null ] } ", "\"\\u00e9\\\"\\\\\"", "[\"\u00e9\u20ac\ud83d\ude00\"]", "12"})
+    void testParse(String json) throws JsonParseException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertThat(JsonParser.parse(bytes, STRUCTURAL_INDEX)).isEqualTo(JsonParser.parse(json));
+        assertThat(JsonParser.parseTape(new Utf8JsonInput(bytes), STRUCTURAL_INDEX).element(0))
+                .isEqualTo(JsonParser.parse(json));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Documents should be rejected the same with the index")
+    @ValueSource(strings = {"[1 2]", "[1x]", "{\"a\" \"b\"}", "[\"a\u0001\"]", "[\"a", "\"a\\\"", "[tru e]", "[] x"})
+    void testRejects(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertThrows(JsonParseException.class, () -> JsonParser.parse(bytes, STRUCTURAL_INDEX));
+    }
+
+    @Test
+    @DisplayName("Large random documents should parse the same with the index")
+    void testRandomValues() throws JsonParseException {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            json.append(i == 0 ? "" : ",").append(" ".repeat(random.nextInt(3)));
+            switch (random.nextInt(4)) {
+                case 0 -> json.append("{\"key").append(i % 7).append("\": \"").append("v".repeat(random.nextInt(90))).append("\"}");
+                case 1 -> json.append("\"esc\\\"").append("\\\\".repeat(random.nextInt(3))).append("\u00e9\"");
+                case 2 -> json.append(random.nextDouble());
+                default -> json.append("[true,\n\tnull ]");
+            }
+        }
+        String document = json.append("]").toString();
+        byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        assertThat(JsonParser.parse(bytes, STRUCTURAL_INDEX)).isEqualTo(JsonParser.parse(document));
+    }
+
+    private static List<Integer> tokens(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        StructuralIndex index = new StructuralIndex(bytes, 0, bytes.length);
+        List<Integer> tokens = new ArrayList<>();
+        for (int position = index.nextToken(0); position < bytes.length; position = index.nextToken(position + 1)) {
+            tokens.add(position);
+        }
+        return tokens;
+    }
+
+    private static List<Integer> referenceTokens(byte[] bytes) {
+        List<Integer> tokens = new ArrayList<>();
+        boolean inString = false;
+        boolean escaped = false;
+        boolean followsSeparator = true;
+        for (int i = 0; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                    followsSeparator = true;
+                }
+                continue;
+            }
+            boolean whitespace = " \t\n\r".indexOf(b) >= 0;
+            boolean operator = "{}[]:,".indexOf(b) >= 0;
+            if (operator || b == '"' || !whitespace && followsSeparator) {
+                tokens.add(i);
+            }
+            inString = b == '"';
+            followsSeparator = whitespace || operator;
+        }
+        return tokens;
+    }
+
+    private static String randomDocument(Random random) {
+        String[] tokens = {"{", "}", "[", "]", ":", ",", " ", "\n  ", "\t", "true", "null", "-12.5e3", "\"plain\"",
+                "\"a\\\"b\"", "\"\\\\\"", "\"\\\\\\\"\"", "\"{[,:]}\"", "\"\u00e9\u20ac\ud83d\ude00\"", "\"" + "x".repeat(70) + "\""};
+        StringBuilder json = new StringBuilder();
+        while (json.length() < 5000) {
+            json.append(tokens[random.nextInt(tokens.length)]);
+        }
+        return json.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package me.kecker.jsonparser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolTableTest {
+
+    @Test
+    @DisplayName("All lookup variants should return the same instance for equal names")
+    void testInternVariants() {
+        SymbolTable symbols = new SymbolTable(16);
+        String first = symbols.intern("{\"name\":", 2, 6);
+        assertThat(first).isEqualTo("name");
+        assertThat(symbols.intern(new String("name"))).isSameAs(first);
+        assertThat(symbols.intern("[name]".toCharArray(), 1, 5)).isSameAs(first);
+        assertThat(symbols.intern("\"name\"".getBytes(StandardCharsets.US_ASCII), 1, 5)).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Names with equal hashes should be kept apart")
+    void testHashCollision() {
+        SymbolTable symbols = new SymbolTable(16);
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        String aa = symbols.intern("Aa");
+        String bb = symbols.intern("BB");
+        assertThat(bb).isEqualTo("BB");
+        assertThat(symbols.intern("Aa".toCharArray(), 0, 2)).isSameAs(aa);
+        assertThat(symbols.intern("BB".toCharArray(), 0, 2)).isSameAs(bb);
+    }
+
+    @Test
+    @DisplayName("The table should stay bounded and evict older names")
+    void testEviction() {
+        SymbolTable symbols = new SymbolTable(2);
+        String first = symbols.intern("first");
+        for (int i = 0; i < 100; i++) {
+            symbols.intern("name" + i);
+        }
+        assertThat(symbols.intern(new String("first"))).isEqualTo(first).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Long names should not be cached")
+    void testLongNames() {
+        SymbolTable symbols = new SymbolTable(16);
+        String name = "x".repeat(SymbolTable.MAX_SYMBOL_LENGTH + 1);
+        String source = "\"" + name + "\"";
+        String first = symbols.intern(source, 1, source.length() - 1);
+        assertThat(first).isEqualTo(name);
+        assertThat(symbols.intern(source, 1, source.length() - 1)).isNotSameAs(first);
+    }
+
+    @Test
+    @DisplayName("A fixed table should return its own names and leave other names uncached")
+    void testFixedNames() {
+        String id = "id";
+        String name = "name";
+        SymbolTable symbols = new SymbolTable(List.of(id, name, "Aa", "BB"));
+        assertThat(symbols.intern("{\"id\":", 2, 4)).isSameAs(id);
+        assertThat(symbols.intern("\"name\"".getBytes(StandardCharsets.US_ASCII), 1, 5)).isSameAs(name);
+        assertThat(symbols.intern("BB".toCharArray(), 0, 2)).isEqualTo("BB");
+        String other = symbols.intern("[other]", 1, 6);
+        assertThat(other).isEqualTo("other");
+        assertThat(symbols.intern("[other]", 1, 6)).isEqualTo(other).isNotSameAs(other);
+        assertThat(symbols.intern(new String("id"))).isSameAs(id);
+    }
+}
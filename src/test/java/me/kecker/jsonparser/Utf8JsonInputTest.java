@@ -0,0 +1,199 @@
+package me.kecker.jsonparser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Utf8JsonInputTest {
+
+    @Test
+    @DisplayName("Newly created input looks at first char")
+    void testCurrent() {
+        JsonInput input = new Utf8JsonInput(bytes("AB"));
+        assertThat(input.current()).isEqualTo('A');
+        assertThat(input.reachedEnd()).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Empty input has reached its end")
+    void testEmpty() {
+        JsonInput input = new Utf8JsonInput(new byte[0]);
+        assertThat(input.reachedEnd()).isEqualTo(true);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Multi-byte sequences are decoded into UTF-16 code units")
+    @ValueSource(strings = {"a\u00e9b", "\u20ac", "x\uD83D\uDE00y", "\uFFFF\uD83D\uDE00\u0000"})
+    void testDecodesMultiByteSequences(String text) {
+        assertThat(readAll(new Utf8JsonInput(bytes(text)))).isEqualTo(text);
+    }
+
+    @ParameterizedTest
+    @DisplayName("Malformed sequences are replaced like the JDK decoder does")
+    @ValueSource(strings = {"C0AF", "E080AF", "EDA080", "EDA041", "F4908080", "FF", "E282", "F09F98", "61E28261", "C3", "80BF"})
+    void testReplacesMalformedSequences(String hex) {
+        byte[] bytes = hex(hex);
+        assertThat(readAll(new Utf8JsonInput(bytes))).isEqualTo(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Only the given range of the array is read")
+    void testOffsetAndLength() {
+        JsonInput input = new Utf8JsonInput(bytes("[1,2]"), 1, 3);
+        assertThat(readAll(input)).isEqualTo("1,2");
+    }
+
+    @Test
+    @DisplayName("Illegal ranges are rejected")
+    void testIllegalRange() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new Utf8JsonInput(new byte[4], 2, 3));
+    }
+
+    @Test
+    @DisplayName("Heap buffers are read between position and limit")
+    void testHeapByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes("[1,2]"));
+        buffer.position(1).limit(4);
+        assertThat(readAll(new Utf8JsonInput(buffer))).isEqualTo("1,2");
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Direct buffers are read in chunks without splitting multi-byte sequences")
+    void testDirectByteBuffer() {
+        String text = "\u00e9\u20ac\uD83D\uDE00".repeat(5000);
+        byte[] bytes = bytes(text);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        assertThat(readAll(new Utf8JsonInput(buffer))).isEqualTo(text);
+        assertThat(buffer.position()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Streams are read through a small buffer without splitting multi-byte sequences")
+    void testInputStreamWithSmallBuffer() {
+        String text = "[\"\u00e9\u20ac\uD83D\uDE00\", 12345, true]".repeat(50);
+        InputStream stream = new ByteArrayInputStream(bytes(text));
+        assertThat(readAll(new Utf8JsonInput(stream, 4))).isEqualTo(text);
+    }
+
+    @Test
+    @DisplayName("Streams that deliver single bytes per read are decoded correctly")
+    void testTricklingInputStream() {
+        String text = "\u00e9\u20ac\uD83D\uDE00abc";
+        InputStream delegate = new ByteArrayInputStream(bytes(text));
+        InputStream stream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                return delegate.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return delegate.read(b, off, Math.min(len, 1));
+            }
+        };
+        assertThat(readAll(new Utf8JsonInput(stream))).isEqualTo(text);
+    }
+
+    @Test
+    @DisplayName("Channels are read until their end")
+    void testChannel() {
+        String text = "{\"key\": \"\u00e9\"}".repeat(1000);
+        JsonInput input = new Utf8JsonInput(Channels.newChannel(new ByteArrayInputStream(bytes(text))), 16);
+        assertThat(readAll(input)).isEqualTo(text);
+    }
+
+    @Test
+    @DisplayName("skipWhitespace should skip whitespace spanning several buffer fills")
+    void testSkipWhitespaceAcrossRefills() {
+        InputStream stream = new ByteArrayInputStream(bytes(" \n\r\t   \n \u00e9 "));
+        JsonInput input = new Utf8JsonInput(stream, 4);
+        input.skipWhitespace();
+        assertThat(input.current()).isEqualTo('\u00e9');
+        input.advance();
+        input.skipWhitespace();
+        assertThat(input.reachedEnd()).isEqualTo(true);
+    }
+
+    @ParameterizedTest
+    @DisplayName("stringRun should consume everything up to the next quote, backslash or control character")
+    @ValueSource(ints = {4, 5, 7, 64})
+    void testStringRun(int bufferSize) {
+        String text = "abc\u00e9\u20ac\uD83D\uDE00def\"x\\y\nz";
+        JsonInput input = new Utf8JsonInput(new ByteArrayInputStream(bytes(text)), bufferSize);
+        assertThat(input.stringRun()).isEqualTo("abc\u00e9\u20ac\uD83D\uDE00def");
+        assertThat(input.current()).isEqualTo('"');
+        input.advance();
+        assertThat(input.stringRun()).isEqualTo("x");
+        assertThat(input.current()).isEqualTo('\\');
+        input.advance();
+        StringBuilder builder = new StringBuilder(">");
+        input.appendStringRun(builder);
+        assertThat(builder.toString()).isEqualTo(">y");
+        assertThat(input.current()).isEqualTo('\n');
+        input.advance();
+        assertThat(input.stringRun()).isEqualTo("z");
+        assertThat(input.reachedEnd()).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("stringRun should return an empty run at a quote")
+    void testEmptyStringRun() {
+        JsonInput input = new Utf8JsonInput(bytes("\"\""));
+        assertThat(input.stringRun()).isEmpty();
+        assertThat(input.current()).isEqualTo('"');
+    }
+
+    @Test
+    @DisplayName("I/O errors are reported as UncheckedIOException")
+    void testIOException() {
+        InputStream stream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("broken");
+            }
+        };
+        assertThrows(UncheckedIOException.class, () -> new Utf8JsonInput(stream));
+    }
+
+    @Test
+    @DisplayName("Buffers too small for a UTF-8 sequence are rejected")
+    void testBufferTooSmall() {
+        InputStream stream = new ByteArrayInputStream(new byte[0]);
+        assertThrows(IllegalArgumentException.class, () -> new Utf8JsonInput(stream, 3));
+    }
+
+    private static String readAll(JsonInput input) {
+        StringBuilder builder = new StringBuilder();
+        while (!input.reachedEnd()) {
+            builder.append(input.current());
+            input.advance();
+        }
+        return builder.toString();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] hex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+}
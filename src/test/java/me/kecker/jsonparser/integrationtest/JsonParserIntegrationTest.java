@@ -1,17 +1,29 @@
 package me.kecker.jsonparser.integrationtest;
 
+import me.kecker.jsonparser.JsonElement;
+import me.kecker.jsonparser.JsonParseOptions;
 import me.kecker.jsonparser.JsonParser;
+import me.kecker.jsonparser.JsonPushParser;
+import me.kecker.jsonparser.JsonReader;
+import me.kecker.jsonparser.JsonToken;
+import me.kecker.jsonparser.JsonTreeBuilder;
+import me.kecker.jsonparser.JsonWriter;
 import me.kecker.jsonparser.exceptions.JsonParseException;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class JsonParserIntegrationTest {
 
+    private static final JsonParseOptions STRUCTURAL_INDEX = JsonParseOptions.DEFAULT.withStructuralIndex(true);
+
     @ParameterizedTest
     @MethodSource("fileNamesToAcceptProvider")
     void testExampleFileToAccept(String fileName) {
@@ -37,6 +49,111 @@ class JsonParserIntegrationTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("fileNamesToAcceptProvider")
+    void testExampleFileToAcceptAsBytes(String fileName) {
+        byte[] input = ResourceLoader.loadBytes(fileName);
+        assertDoesNotThrow(() -> JsonParser.parse(input));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToRejectProvider")
+    void testExampleFilesToRejectAsBytes(String fileName) {
+        byte[] input = ResourceLoader.loadBytes(fileName);
+        assertThrows(JsonParseException.class, () -> JsonParser.parse(input));
+    }
+
+    @ParameterizedTest
+    @MethodSource("indifferentFileNamesProvider")
+    void testIndifferentExampleFilesAsBytes(String fileName) {
+        byte[] input = ResourceLoader.loadBytes(fileName);
+        try {
+            JsonParser.parse(input);
+        } catch (JsonParseException e) {
+            // JsonParseExceptions are allowed as the result does not matter
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToAcceptProvider")
+    void testExampleFileToAcceptWithStructuralIndex(String fileName) throws JsonParseException {
+        byte[] input = ResourceLoader.loadBytes(fileName);
+        assertEquals(JsonParser.parse(input), JsonParser.parse(input, STRUCTURAL_INDEX));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToRejectProvider")
+    void testExampleFilesToRejectWithStructuralIndex(String fileName) {
+        byte[] input = ResourceLoader.loadBytes(fileName);
+        assertThrows(JsonParseException.class, () -> JsonParser.parse(input, STRUCTURAL_INDEX));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToAcceptProvider")
+    void testExampleFileToAcceptByValidate(String fileName) {
+        assertEquals(JsonParser.VALID, JsonParser.validate(ResourceLoader.loadFile(fileName)));
+        assertEquals(JsonParser.VALID, JsonParser.validate(ResourceLoader.loadBytes(fileName)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToRejectProvider")
+    void testExampleFilesToRejectByValidate(String fileName) {
+        assertNotEquals(JsonParser.VALID, JsonParser.validate(ResourceLoader.loadFile(fileName)));
+        assertNotEquals(JsonParser.VALID, JsonParser.validate(ResourceLoader.loadBytes(fileName)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToAcceptProvider")
+    void testExampleFileToAcceptWithReader(String fileName) {
+        String input = ResourceLoader.loadFile(fileName);
+        assertDoesNotThrow(() -> readAllTokens(input));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToRejectProvider")
+    void testExampleFilesToRejectWithReader(String fileName) {
+        String input = ResourceLoader.loadFile(fileName);
+        assertThrows(JsonParseException.class, () -> readAllTokens(input));
+    }
+
+    private static void readAllTokens(String input) throws JsonParseException {
+        JsonReader reader = new JsonReader(input);
+        while (reader.nextToken() != JsonToken.END_DOCUMENT) {
+            // validate every token
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToAcceptProvider")
+    void testExampleFileToAcceptWithPushParser(String fileName) throws JsonParseException {
+        byte[] input = ResourceLoader.loadBytes(fileName);
+        assertEquals(JsonParser.parse(input), pushByteByByte(input));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToRejectProvider")
+    void testExampleFilesToRejectWithPushParser(String fileName) {
+        byte[] input = ResourceLoader.loadBytes(fileName);
+        assertThrows(JsonParseException.class, () -> pushByteByByte(input));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fileNamesToAcceptProvider")
+    void testExampleFileToAcceptRoundTrip(String fileName) throws JsonParseException {
+        JsonElement element = JsonParser.parse(ResourceLoader.loadBytes(fileName));
+        assertEquals(element, JsonParser.parse(JsonWriter.toJson(element)));
+    }
+
+    private static JsonElement pushByteByByte(byte[] input) throws JsonParseException {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        JsonPushParser parser = new JsonPushParser(builder);
+        for (int i = 0; i < input.length; i++) {
+            parser.feed(ByteBuffer.wrap(input, i, 1));
+        }
+        parser.end();
+        return builder.result();
+    }
+
     private static Stream<String> fileNamesToAcceptProvider() {
         return getFilteredExampleData("y");
     }
@@ -1,8 +1,10 @@
 package me.kecker.jsonparser.integrationtest;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -16,6 +18,14 @@ public class ResourceLoader {
         return streamFile(fileName).collect(Collectors.joining("\n"));
     }
 
+    public static byte[] loadBytes(String fileName) {
+        try (InputStream inputStream = ResourceLoader.class.getResourceAsStream(fileName)) {
+            return Objects.requireNonNull(inputStream).readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private static Stream<String> streamFile(String fileName) {
         InputStream inputStream = ResourceLoader.class.getResourceAsStream(fileName);
         return new BufferedReader(new InputStreamReader(Objects.requireNonNull(inputStream))).lines();
@@ -0,0 +1,48 @@
+package me.kecker.jsonparser;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BlockClassifier} comparing a whole vector of bytes at once, using the widest vectors the CPU supports. Created
+ * by {@link BlockClassifier#create()} through reflection, as it is only loadable if the module
+ * {@code jdk.incubator.vector} is available.
+ */
+final class VectorBlockClassifier extends BlockClassifier {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    void classify(byte[] bytes, int offset) {
+        long quotes = 0;
+        long backslashes = 0;
+        long whitespace = 0;
+        long operators = 0;
+        long specials = 0;
+        for (int i = 0; i < BLOCK_SIZE; i += SPECIES.length()) {
+            ByteVector block = ByteVector.fromArray(SPECIES, bytes, offset + i);
+            quotes |= block.eq((byte) '"').toLong() << i;
+            backslashes |= block.eq((byte) '\\').toLong() << i;
+            whitespace |= block.eq((byte) ' ')
+                    .or(block.eq((byte) '\t'))
+                    .or(block.eq((byte) '\n'))
+                    .or(block.eq((byte) '\r'))
+                    .toLong() << i;
+            // setting bit 5 maps '[' and ']' to '{' and '}' and nothing else to them
+            ByteVector folded = block.or((byte) 0x20);
+            operators |= folded.eq((byte) '{')
+                    .or(folded.eq((byte) '}'))
+                    .or(block.eq((byte) ':'))
+                    .or(block.eq((byte) ','))
+                    .toLong() << i;
+            // bytes are signed, so the bytes of non-ASCII characters are negative
+            specials |= block.compare(VectorOperators.LT, (byte) 0x20).toLong() << i;
+        }
+        this.quotes = quotes;
+        this.backslashes = backslashes;
+        this.whitespace = whitespace;
+        this.operators = operators;
+        this.specials = specials;
+    }
+}
@@ -0,0 +1,73 @@
+package me.kecker.jsonparser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VectorBlockClassifierTest {
+
+    @Test
+    @DisplayName("The vector classifier is used if its module is available")
+    void testCreate() {
+        // the tests run with the module jdk.incubator.vector
+        assertThat(BlockClassifier.create()).isInstanceOf(VectorBlockClassifier.class);
+    }
+
+    @Test
+    @DisplayName("Every byte value should be classified like the scalar classifier does")
+    void testAllBytes() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        for (int offset = 0; offset < bytes.length; offset += BlockClassifier.BLOCK_SIZE) {
+            assertClassifiedLikeScalar(bytes, offset);
+        }
+    }
+
+    @ParameterizedTest
+    @DisplayName("Random blocks should be classified like the scalar classifier does")
+    @ValueSource(ints = {1, 2, 3})
+    void testRandomBlocks(int seed) {
+        Random random = new Random(seed);
+        byte[] alphabet = "\"\\ \t\n\r{}[]:,az09\u0001\u001f\u007f".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] bytes = new byte[BlockClassifier.BLOCK_SIZE + 3];
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = random.nextBoolean() ? alphabet[random.nextInt(alphabet.length)] : (byte) random.nextInt();
+            }
+            assertClassifiedLikeScalar(bytes, random.nextInt(4));
+        }
+    }
+
+    @Test
+    @DisplayName("Documents should be indexed like with the scalar classifier")
+    void testStructuralIndex() {
+        byte[] bytes = ("{\"a\": [1, \"x\\\" y,\", true], \"" + "b".repeat(70) + "\\\\\": \"\u00e9\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        StructuralIndex vector = new StructuralIndex(bytes, 0, bytes.length, new VectorBlockClassifier());
+        StructuralIndex scalar = new StructuralIndex(bytes, 0, bytes.length, new BlockClassifier.Scalar());
+        for (int i = 0; i < bytes.length; i++) {
+            assertThat(vector.nextToken(i)).isEqualTo(scalar.nextToken(i));
+            assertThat(vector.closingQuote(i)).isEqualTo(scalar.closingQuote(i));
+        }
+    }
+
+    private static void assertClassifiedLikeScalar(byte[] bytes, int offset) {
+        BlockClassifier vector = new VectorBlockClassifier();
+        BlockClassifier scalar = new BlockClassifier.Scalar();
+        vector.classify(bytes, offset);
+        scalar.classify(bytes, offset);
+        assertThat(vector.quotes).isEqualTo(scalar.quotes);
+        assertThat(vector.backslashes).isEqualTo(scalar.backslashes);
+        assertThat(vector.whitespace).isEqualTo(scalar.whitespace);
+        assertThat(vector.operators).isEqualTo(scalar.operators);
+        assertThat(vector.specials).isEqualTo(scalar.specials);
+    }
+}